@@ -0,0 +1,78 @@
+package com.example.bank.bench;
+
+import com.example.bank.BankRestApplication;
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.account.AccountRepository;
+import com.example.bank.rest.account.AccountService;
+import com.example.bank.rest.account.dto.AmountRequest;
+import com.example.bank.rest.account.dto.TransactionDto;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full deposit through the real AccountService bean on H2 (profile=h2):
+ * metrics aspect, transaction, account row update, transaction row, daily rollup upsert,
+ * search terms, balance read model, commit. No HTTP in front of it.
+ * History grows during the run (one row per op), like on a busy account.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class DepositBenchmark {
+
+    ConfigurableApplicationContext ctx;
+    AccountService service;
+    long customerId;
+    long accountId;
+    AmountRequest req;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // as command line args: they must win over application.yml (profile mysql) and application-h2.yml
+        ctx = new SpringApplicationBuilder(BankRestApplication.class).run(
+                "--spring.profiles.active=h2",
+                "--spring.datasource.url=jdbc:h2:mem:bank_bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--bank.db.stats.enabled=false",   // measure the production path, not the dev instrumentation
+                "--server.port=0",
+                "--logging.level.root=WARN");
+        service = ctx.getBean(AccountService.class);
+
+        var c = new CustomerEntity();
+        c.setFirstName("Bench");
+        c.setLastName("Mark");
+        c.setEmail("bench@x");
+        customerId = ctx.getBean(CustomerRepository.class).save(c).getId();
+
+        var a = new AccountEntity();
+        a.setCustomerId(customerId);
+        a.setNumber("BENCH-1");
+        a.setCurrency("PLN");
+        a.setBalance(BigDecimal.ZERO);
+        accountId = ctx.getBean(AccountRepository.class).save(a).getId();
+
+        req = new AmountRequest();
+        req.setAmount(new BigDecimal("1.00"));
+        req.setDescription("bench");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public TransactionDto deposit() {
+        return service.deposit(customerId, accountId, req);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.bank.bench;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.account.AccountService;
+import com.example.bank.rest.account.dto.AccountDto;
+import com.example.bank.rest.account.dto.TransactionDto;
+import com.example.bank.rest.transaction.TransactionEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Entity → DTO mapping as done for every account list and history page (AccountService.toDto). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "200"})
+    int rows;
+
+    List<AccountEntity> accounts;
+    List<TransactionEntity> transactions;
+
+    @Setup
+    public void setUp() {
+        accounts = Fixtures.accounts(rows);
+        transactions = Fixtures.transactions(accounts.get(0), rows);
+    }
+
+    @Benchmark
+    public List<AccountDto> accounts() {
+        return accounts.stream().map(AccountService::toDto).toList();
+    }
+
+    // Includes Instant → OffsetDateTime (UTC) per row
+    @Benchmark
+    public List<TransactionDto> transactions() {
+        return transactions.stream().map(AccountService::toDto).toList();
+    }
+}
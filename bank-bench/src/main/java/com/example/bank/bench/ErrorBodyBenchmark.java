@@ -0,0 +1,60 @@
+package com.example.bank.bench;
+
+import com.example.bank.rest.account.dto.AmountRequest;
+import com.example.bank.rest.common.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GlobalExceptionHandler building error bodies. Exceptions are created per call, as in a real
+ * request: the stack trace capture of ResponseStatusException is part of what a refusal costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorBodyBenchmark {
+
+    GlobalExceptionHandler handler;
+    MethodParameter param;
+    ResponseStatusException prebuilt;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        param = new MethodParameter(ErrorBodyBenchmark.class.getDeclaredMethod("target", AmountRequest.class), 0);
+        prebuilt = new ResponseStatusException(HttpStatus.BAD_REQUEST, "insufficient funds");
+    }
+
+    // Signature the validation exception points at (like AccountsController.deposit)
+    @SuppressWarnings("unused")
+    void target(AmountRequest req) { }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> notFound() {
+        return handler.handleRse(new ResponseStatusException(HttpStatus.NOT_FOUND, "account not found"));
+    }
+
+    // Handler only (exception already exists)
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> bodyOnly() {
+        return handler.handleRse(prebuilt);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> validation() {
+        var result = new BeanPropertyBindingResult(new AmountRequest(), "amountRequest");
+        result.rejectValue("amount", "NotNull", "must not be null");
+        return handler.handleValidation(new MethodArgumentNotValidException(param, result));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bank.bench;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.transaction.TransactionEntity;
+import com.example.bank.rest.transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Detached entities shaped like real rows (scale-2 amounts, ~one page of history). */
+final class Fixtures {
+
+    private Fixtures() { }
+
+    static AccountEntity account(long id) {
+        AccountEntity a = new AccountEntity();
+        a.setId(id);
+        a.setCustomerId(1_000 + id % 97);
+        a.setNumber("PL" + (61_1090_1014_0000_0712L + id));
+        a.setCurrency(id % 3 == 0 ? "EUR" : "PLN");
+        a.setBalance(BigDecimal.valueOf(1_250_000 + id * 137, 2));
+        a.setVersion(id % 11);
+        return a;
+    }
+
+    static List<AccountEntity> accounts(int n) {
+        List<AccountEntity> list = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) list.add(account(i));
+        return list;
+    }
+
+    static List<TransactionEntity> transactions(AccountEntity account, int n) {
+        TransactionType[] types = TransactionType.values();
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+        List<TransactionEntity> list = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            TransactionEntity t = new TransactionEntity();
+            t.setId((long) i);
+            t.setAccount(account);
+            t.setType(types[i % types.length]);
+            t.setAmount(BigDecimal.valueOf(1_000 + i * 31L, 2));
+            t.setDescription(i % 4 == 0 ? null : "payment #" + i);
+            t.setCreatedAt(t0.plusSeconds(i * 3_600L));
+            list.add(t);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bank.bench;
+
+import com.example.bank.rest.account.AccountService;
+import com.example.bank.rest.account.dto.AccountDto;
+import com.example.bank.rest.account.dto.TransactionDto;
+import com.example.bank.rest.config.WireFormatConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies of the account list and history endpoints, in both wire formats:
+ * JSON (Boot's mapper: ISO dates) and CBOR (WireFormatConfig: decimal fractions, epoch dates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "200"})
+    int rows;
+
+    ObjectMapper json;
+    ObjectMapper cbor;
+    List<AccountDto> accounts;
+    List<TransactionDto> transactions;
+
+    @Setup
+    public void setUp() {
+        json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cbor = WireFormatConfig.cborMapper(Jackson2ObjectMapperBuilder.json());
+        var entities = Fixtures.accounts(rows);
+        accounts = entities.stream().map(AccountService::toDto).toList();
+        transactions = Fixtures.transactions(entities.get(0), rows).stream().map(AccountService::toDto).toList();
+    }
+
+    @Benchmark
+    public byte[] accountsJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(accounts);
+    }
+
+    @Benchmark
+    public byte[] transactionsJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] accountsCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(accounts);
+    }
+
+    @Benchmark
+    public byte[] transactionsCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(transactions);
+    }
+}
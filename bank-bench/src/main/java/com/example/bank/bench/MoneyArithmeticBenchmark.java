@@ -0,0 +1,59 @@
+package com.example.bank.bench;
+
+import com.example.bank.rest.account.MoneyRules;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BigDecimal work of one deposit / withdraw / transfer in AccountService
+ * (positive check, funds check incl. fee, new balances), without the DB around it.
+ * Calls the same MoneyRules the service does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyArithmeticBenchmark {
+
+    BigDecimal balance;
+    BigDecimal target;
+    BigDecimal amount;
+
+    @Setup
+    public void setUp() {
+        balance = new BigDecimal("12500.37");
+        target = new BigDecimal("830.05");
+        amount = new BigDecimal("42.10");
+    }
+
+    @Benchmark
+    public BigDecimal deposit() {
+        MoneyRules.requirePositive(amount);
+        return MoneyRules.afterDeposit(balance, amount);
+    }
+
+    @Benchmark
+    public BigDecimal withdraw() {
+        MoneyRules.requirePositive(amount);
+        return MoneyRules.afterWithdraw(balance, amount);
+    }
+
+    @Benchmark
+    public void transfer(Blackhole bh) {
+        MoneyRules.requirePositive(amount);
+        if (!MoneyRules.covers(balance, MoneyRules.transferTotal(amount))) throw new IllegalStateException();
+        bh.consume(MoneyRules.afterTransferOut(balance, amount));
+        bh.consume(MoneyRules.afterDeposit(target, amount));
+    }
+
+    // Amount as it arrives from JSON (parsed text), then the deposit
+    @Benchmark
+    public BigDecimal depositFromText() {
+        return MoneyRules.afterDeposit(balance, new BigDecimal("42.10"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.bank.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency + outcome counts of one operation. Latency is measured from the call's intended
+ * start (its arrival slot), so time spent queued behind a slow server counts too
+ * (no coordinated omission).
+ */
+final class LatencyStats {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Histogram all = new ConcurrentHistogram(MAX_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder ioErrors = new LongAdder();
+
+    void record(int status, long latencyNanos) {
+        all.recordValue(Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+    }
+
+    // No response at all (connect refused, reset, timeout)
+    void failed(long latencyNanos) {
+        all.recordValue(Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        ioErrors.increment();
+    }
+
+    void addTo(LatencyStats total) {
+        total.all.add(all);
+        statuses.forEach((s, n) -> total.statuses.computeIfAbsent(s, k -> new LongAdder()).add(n.sum()));
+        total.ioErrors.add(ioErrors.sum());
+    }
+
+    long count() { return all.getTotalCount(); }
+
+    long ok() {
+        return statuses.entrySet().stream()
+                .filter(e -> e.getKey() >= 200 && e.getKey() < 300)
+                .mapToLong(e -> e.getValue().sum()).sum();
+    }
+
+    Map<String, Object> summary(double seconds) {
+        Map<String, Object> latency = new java.util.LinkedHashMap<>();
+        latency.put("mean", ms(all.getMean()));
+        for (double p : new double[] {50, 90, 99, 99.9}) {
+            latency.put("p" + (p == Math.rint(p) ? String.valueOf((int) p) : String.valueOf(p)), ms(all.getValueAtPercentile(p)));
+        }
+        latency.put("max", ms(all.getMaxValue()));
+
+        Map<String, Long> byStatus = new TreeMap<>();
+        statuses.forEach((s, n) -> byStatus.put(String.valueOf(s), n.sum()));
+
+        Map<String, Object> m = new java.util.LinkedHashMap<>();
+        m.put("count", count());
+        m.put("ok", ok());
+        m.put("throughputPerSec", Math.round(ok() / seconds * 10) / 10.0);
+        m.put("statuses", byStatus);
+        m.put("ioErrors", ioErrors.sum());
+        m.put("latencyMs", latency);
+        return m;
+    }
+
+    private static double ms(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.bank.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Run settings from --key=value (or key=value) arguments, all optional:
+ *   --customers=500 --accounts-per-customer=2        seed size (accounts in PLN, 1 000 000.00 each)
+ *   --rate=200                                       arrivals per second (open model: not slowed by the server)
+ *   --duration=30s --warmup=5s                       measured phase after a discarded warm-up (ms / s / m)
+ *   --mix=read:60,deposit:20,withdraw:10,transfer:10 operation weights
+ *   --skew=0.8                                       Zipf exponent of account choice (0 = uniform, 1+ = few hot accounts)
+ *   --max-in-flight=2000                             arrivals beyond this are dropped (and counted)
+ *   --seed=42 --report=target/load-report.json
+ */
+record LoadConfig(int customers, int accountsPerCustomer, int rate, Duration duration, Duration warmup,
+                  Map<Op, Integer> mix, double skew, int maxInFlight, long seed, Path report) {
+
+    static LoadConfig parse(String[] args) {
+        Map<String, String> a = new java.util.HashMap<>();
+        for (String arg : args) {
+            String kv = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = kv.indexOf('=');
+            if (eq < 1) throw new IllegalArgumentException("expected key=value, got: " + arg);
+            a.put(kv.substring(0, eq), kv.substring(eq + 1));
+        }
+        LoadConfig c = new LoadConfig(
+                Integer.parseInt(a.getOrDefault("customers", "500")),
+                Integer.parseInt(a.getOrDefault("accounts-per-customer", "2")),
+                Integer.parseInt(a.getOrDefault("rate", "200")),
+                duration(a.getOrDefault("duration", "30s")),
+                duration(a.getOrDefault("warmup", "5s")),
+                mix(a.getOrDefault("mix", "read:60,deposit:20,withdraw:10,transfer:10")),
+                Double.parseDouble(a.getOrDefault("skew", "0.8")),
+                Integer.parseInt(a.getOrDefault("max-in-flight", "2000")),
+                Long.parseLong(a.getOrDefault("seed", "42")),
+                Path.of(a.getOrDefault("report", "target/load-report.json")));
+        if (c.customers < 1 || c.accountsPerCustomer < 1 || c.rate < 1 || c.maxInFlight < 1 || c.skew < 0) {
+            throw new IllegalArgumentException("customers, accounts-per-customer, rate, max-in-flight must be > 0, skew >= 0");
+        }
+        if (c.customers * c.accountsPerCustomer < 2 && c.mix.getOrDefault(Op.TRANSFER, 0) > 0) {
+            throw new IllegalArgumentException("transfers need at least 2 accounts");
+        }
+        return c;
+    }
+
+    int accounts() { return customers * accountsPerCustomer; }
+
+    private static Duration duration(String s) {
+        if (s.endsWith("ms")) return Duration.ofMillis(Long.parseLong(s.substring(0, s.length() - 2)));
+        if (s.endsWith("s")) return Duration.ofSeconds(Long.parseLong(s.substring(0, s.length() - 1)));
+        if (s.endsWith("m")) return Duration.ofMinutes(Long.parseLong(s.substring(0, s.length() - 1)));
+        return Duration.ofSeconds(Long.parseLong(s));
+    }
+
+    private static Map<Op, Integer> mix(String s) {
+        Map<Op, Integer> m = new EnumMap<>(Op.class);
+        for (String part : s.split(",")) {
+            String[] kv = part.trim().split(":");
+            int w = Integer.parseInt(kv[1]);
+            if (w < 0) throw new IllegalArgumentException("negative weight: " + part);
+            m.put(Op.valueOf(kv[0].trim().toUpperCase(java.util.Locale.ROOT)), w);
+        }
+        if (m.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("mix has no weight");
+        }
+        return m;
+    }
+}
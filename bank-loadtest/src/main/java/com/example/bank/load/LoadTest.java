@@ -0,0 +1,226 @@
+package com.example.bank.load;
+
+import com.example.bank.BankRestApplication;
+import com.example.bank.core.dto.CustomerDto;
+import com.example.bank.rest.account.AccountService;
+import com.example.bank.rest.account.dto.NewAccountRequest;
+import com.example.bank.rest.customer.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test: bank-rest on H2 in this JVM, seeded with customers/accounts,
+ * driven over real HTTP by an open-model arrival loop (fixed rate, one virtual thread per call).
+ * Prints a per-endpoint table and writes the same numbers as JSON (--report).
+ */
+public final class LoadTest {
+
+    private static final String AUTH = "Basic " + Base64.getEncoder()
+            .encodeToString("api:secret".getBytes(StandardCharsets.UTF_8));
+
+    // Seeded account → owner (REST paths are nested under the customer)
+    private record Account(long customerId, long id) { }
+
+    private LoadTest() { }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig cfg = LoadConfig.parse(args);
+        ConfigurableApplicationContext ctx = startServer();
+        try {
+            int port = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+            Account[] accounts = seed(ctx, cfg);
+            Map<String, Object> report = run(cfg, "http://localhost:" + port, accounts);
+            print(report);
+            Files.createDirectories(cfg.report().toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(cfg.report().toFile(), report);
+            System.out.println("report: " + cfg.report().toAbsolutePath());
+        } finally {
+            ctx.close();
+        }
+    }
+
+    // Same settings as profile=h2, minus SQL logging; args win over application*.yml
+    private static ConfigurableApplicationContext startServer() {
+        return new SpringApplicationBuilder(BankRestApplication.class).run(
+                "--spring.profiles.active=h2",
+                "--spring.datasource.url=jdbc:h2:mem:bank_load;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--bank.db.stats.enabled=false",   // measure the production path, not the dev instrumentation
+                "--server.port=0",
+                "--logging.level.root=WARN");
+    }
+
+    // Through the services (not repositories) so read models and indexes see the accounts too
+    private static Account[] seed(ConfigurableApplicationContext ctx, LoadConfig cfg) {
+        long started = System.nanoTime();
+        CustomerService customers = ctx.getBean(CustomerService.class);
+        AccountService accountService = ctx.getBean(AccountService.class);
+        Account[] accounts = new Account[cfg.accounts()];
+        int n = 0;
+        for (int c = 0; c < cfg.customers(); c++) {
+            long cid = customers.create(new CustomerDto(null, "Load", "User" + c, "load" + c + "@bank.test")).getId();
+            for (int a = 0; a < cfg.accountsPerCustomer(); a++) {
+                NewAccountRequest req = new NewAccountRequest();
+                req.setNumber("LOAD-" + c + "-" + a);
+                req.setCurrency("PLN"); // one currency: every transfer pair is valid
+                req.setBalance(new BigDecimal("1000000.00"));
+                accounts[n++] = new Account(cid, accountService.create(cid, req).getId());
+            }
+        }
+        System.out.printf("seeded %d customers / %d accounts in %d ms%n",
+                cfg.customers(), accounts.length, (System.nanoTime() - started) / 1_000_000);
+        return accounts;
+    }
+
+    private static Map<String, Object> run(LoadConfig cfg, String base, Account[] accounts) throws InterruptedException {
+        Workload workload = new Workload(cfg.mix(), accounts.length, cfg.skew(), cfg.seed());
+        Map<Op, LatencyStats> measured = new EnumMap<>(Op.class);
+        Map<Op, LatencyStats> warm = new EnumMap<>(Op.class);
+        for (Op op : Op.values()) {
+            measured.put(op, new LatencyStats());
+            warm.put(op, new LatencyStats());
+        }
+        Semaphore inFlight = new Semaphore(cfg.maxInFlight());
+        long dropped = 0;
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(clients)
+                    .build();
+
+            long interval = TimeUnit.SECONDS.toNanos(1) / cfg.rate();
+            long start = System.nanoTime();
+            long measureFrom = start + cfg.warmup().toNanos();
+            long end = measureFrom + cfg.duration().toNanos();
+            System.out.printf("load: %d/s for %s (+%s warm-up), mix %s, skew %.2f%n",
+                    cfg.rate(), cfg.duration(), cfg.warmup(), cfg.mix(), cfg.skew());
+
+            for (long i = 0; ; i++) {
+                long intended = start + i * interval;
+                if (intended >= end) break;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+
+                Workload.Call call = workload.next();
+                LatencyStats stats = (intended >= measureFrom ? measured : warm).get(call.op());
+                if (!inFlight.tryAcquire()) {
+                    if (intended >= measureFrom) dropped++;
+                    continue;
+                }
+                HttpRequest req = request(base, call, accounts);
+                clients.execute(() -> {
+                    try {
+                        HttpResponse<Void> resp = http.send(req, HttpResponse.BodyHandlers.discarding());
+                        stats.record(resp.statusCode(), System.nanoTime() - intended);
+                    } catch (java.io.IOException ex) {
+                        stats.failed(System.nanoTime() - intended);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            // let the last calls finish (they belong to the measured window); each one ends
+            // within the 30 s request timeout, and a timed-out call is recorded as failed
+            inFlight.acquire(cfg.maxInFlight());
+        }
+        return report(cfg, measured, dropped);
+    }
+
+    private static HttpRequest request(String base, Workload.Call call, Account[] accounts) {
+        Account a = accounts[call.account()];
+        String path = base + "/api/customers/" + a.customerId() + "/accounts/" + a.id();
+        HttpRequest.Builder b = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        return switch (call.op()) {
+            case READ -> b.uri(URI.create(path)).GET().build();
+            case DEPOSIT -> post(b, path + "/deposit", "{\"amount\":1.00,\"description\":\"load\"}");
+            case WITHDRAW -> post(b, path + "/withdraw", "{\"amount\":1.00,\"description\":\"load\"}");
+            case TRANSFER -> post(b, path + "/transfer",
+                    "{\"toAccountId\":" + accounts[call.target()].id() + ",\"amount\":1.00,\"description\":\"load\"}");
+        };
+    }
+
+    private static HttpRequest post(HttpRequest.Builder b, String url, String json) {
+        return b.uri(URI.create(url))
+                .header("Authorization", AUTH)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static Map<String, Object> report(LoadConfig cfg, Map<Op, LatencyStats> measured, long dropped) {
+        double seconds = cfg.duration().toMillis() / 1000.0;
+        LatencyStats total = new LatencyStats();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        measured.forEach((op, s) -> {
+            if (s.count() == 0) return;
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("endpoint", op.endpoint);
+            m.putAll(s.summary(seconds));
+            endpoints.put(op.name().toLowerCase(java.util.Locale.ROOT), m);
+            s.addTo(total);
+        });
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("customers", cfg.customers());
+        config.put("accounts", cfg.accounts());
+        config.put("ratePerSec", cfg.rate());
+        config.put("durationSec", seconds);
+        config.put("warmupSec", cfg.warmup().toMillis() / 1000.0);
+        config.put("mix", cfg.mix());
+        config.put("skew", cfg.skew());
+        config.put("maxInFlight", cfg.maxInFlight());
+        config.put("seed", cfg.seed());
+
+        Map<String, Object> r = new LinkedHashMap<>();
+        r.put("finishedAt", Instant.now().toString());
+        r.put("jvm", System.getProperty("java.version") + ", " + Runtime.getRuntime().availableProcessors() + " cpu");
+        r.put("config", config);
+        r.put("dropped", dropped);
+        r.put("total", total.summary(seconds));
+        r.put("endpoints", endpoints);
+        return r;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        System.out.printf("%n%-10s %8s %8s %9s %8s %8s %8s %8s %8s%n",
+                "op", "count", "ok", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        Map<String, Object> rows = new LinkedHashMap<>((Map<String, Object>) report.get("endpoints"));
+        rows.put("total", report.get("total"));
+        rows.forEach((name, v) -> {
+            Map<String, Object> m = (Map<String, Object>) v;
+            Map<String, Object> l = (Map<String, Object>) m.get("latencyMs");
+            System.out.printf("%-10s %8d %8d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n", name,
+                    m.get("count"), m.get("ok"), m.get("throughputPerSec"),
+                    l.get("p50"), l.get("p90"), l.get("p99"), l.get("p99.9"), l.get("max"));
+        });
+        System.out.println("dropped (over max-in-flight): " + report.get("dropped"));
+    }
+}
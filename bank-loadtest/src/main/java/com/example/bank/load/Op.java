@@ -0,0 +1,13 @@
+package com.example.bank.load;
+
+/** Operations of the workload mix and the REST endpoint each one hits. */
+enum Op {
+    READ("GET /api/customers/{c}/accounts/{a}"),
+    DEPOSIT("POST /api/customers/{c}/accounts/{a}/deposit"),
+    WITHDRAW("POST /api/customers/{c}/accounts/{a}/withdraw"),
+    TRANSFER("POST /api/customers/{c}/accounts/{a}/transfer");
+
+    final String endpoint;
+
+    Op(String endpoint) { this.endpoint = endpoint; }
+}
@@ -0,0 +1,60 @@
+package com.example.bank.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Next operation + account(s) to hit: weighted mix, Zipf-skewed account choice.
+ * Used by the single arrival thread only (not thread-safe).
+ */
+final class Workload {
+
+    record Call(Op op, int account, int target) { }
+
+    private final Op[] ops;
+    private final int[] opCdf;
+    private final double[] accountCdf;   // Zipf CDF over account ranks (rank 0 = hottest)
+    private final int[] rankToAccount;   // hot accounts spread over customers, not just the first ones
+    private final SplittableRandom rnd;
+
+    Workload(Map<Op, Integer> mix, int accounts, double skew, long seed) {
+        this.rnd = new SplittableRandom(seed);
+        this.ops = mix.keySet().toArray(Op[]::new);
+        this.opCdf = new int[ops.length];
+        int sum = 0;
+        for (int i = 0; i < ops.length; i++) opCdf[i] = sum += mix.get(ops[i]);
+
+        this.accountCdf = new double[accounts];
+        double total = 0;
+        for (int r = 0; r < accounts; r++) accountCdf[r] = total += 1.0 / Math.pow(r + 1, skew);
+        for (int r = 0; r < accounts; r++) accountCdf[r] /= total;
+
+        this.rankToAccount = new int[accounts];
+        for (int i = 0; i < accounts; i++) rankToAccount[i] = i;
+        for (int i = accounts - 1; i > 0; i--) { // seeded shuffle → same hot set every run
+            int j = rnd.nextInt(i + 1);
+            int t = rankToAccount[i]; rankToAccount[i] = rankToAccount[j]; rankToAccount[j] = t;
+        }
+    }
+
+    Call next() {
+        int x = rnd.nextInt(opCdf[opCdf.length - 1]);
+        Op op = ops[0];
+        for (int i = 0; i < ops.length; i++) {
+            if (x < opCdf[i]) { op = ops[i]; break; }
+        }
+        int account = account();
+        int target = -1;
+        if (op == Op.TRANSFER) {
+            do { target = account(); } while (target == account);
+        }
+        return new Call(op, account, target);
+    }
+
+    private int account() {
+        int r = Arrays.binarySearch(accountCdf, rnd.nextDouble());
+        if (r < 0) r = -r - 1;
+        return rankToAccount[Math.min(r, rankToAccount.length - 1)];
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.bank.mvc.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * What REST calls of one MVC request need from it: the request memo, the "served stale data" flag
+ * and the X-Session-Id token. Kept as a request attribute on the request thread.
+ * Fan-out threads get a snapshot (FanOutConfig), never the RequestAttributes: a call that outlives
+ * its request (timed out) then only touches these objects, not a servlet request Tomcat has recycled.
+ */
+public final class ApiCallContext {
+
+    private static final String ATTR = ApiCallContext.class.getName();
+    private static final ThreadLocal<ApiCallContext> BOUND = new ThreadLocal<>();
+
+    private final Map<String, Object> memo;
+    private final AtomicBoolean stale;
+    private final String sessionToken;            // snapshot only; the request thread reads the live session
+
+    private ApiCallContext(Map<String, Object> memo, AtomicBoolean stale, String sessionToken) {
+        this.memo = memo;
+        this.stale = stale;
+        this.sessionToken = sessionToken;
+    }
+
+    // Context bound to this fan-out thread, else the current request's (created on first use); null → neither
+    public static ApiCallContext current() {
+        ApiCallContext bound = BOUND.get();
+        if (bound != null) return bound;
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs == null) return null;
+        synchronized (attrs) {
+            Object c = attrs.getAttribute(ATTR, RequestAttributes.SCOPE_REQUEST);
+            if (c == null) {
+                c = new ApiCallContext(new ConcurrentHashMap<>(), new AtomicBoolean(), null);
+                attrs.setAttribute(ATTR, c, RequestAttributes.SCOPE_REQUEST);
+            }
+            return (ApiCallContext) c;
+        }
+    }
+
+    // Context of a finished handler's request (interceptors); null → no REST call touched it
+    public static ApiCallContext of(HttpServletRequest request) {
+        return request.getAttribute(ATTR) instanceof ApiCallContext c ? c : null;
+    }
+
+    // Copy for another thread: shares memo and stale flag, carries the session token read now
+    static ApiCallContext snapshot() {
+        ApiCallContext c = current();
+        if (c == null) return null;
+        return new ApiCallContext(c.memo, c.stale, SessionIdInterceptor.currentToken(false));
+    }
+
+    // Runs task with ctx bound (null → nothing bound); always unbinds, pool threads are reused
+    static void runBound(ApiCallContext ctx, Runnable task) {
+        ApiCallContext previous = BOUND.get();
+        BOUND.set(ctx);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) BOUND.remove();
+            else BOUND.set(previous);
+        }
+    }
+
+    static ApiCallContext bound() { return BOUND.get(); }
+
+    public Map<String, Object> memo() { return memo; }
+
+    public void markStale() { stale.set(true); }
+
+    public boolean isStale() { return stale.get(); }
+
+    String sessionToken() { return sessionToken; }
+}
@@ -0,0 +1,51 @@
+package com.example.bank.mvc.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class FanOutConfig {
+
+    // Executor for parallel REST calls of one page (see ApiFanOut).
+    // JDK 21+ and bank.api.fanout.virtual-threads=true → one virtual thread per call (limited);
+    // otherwise a bounded pool; queue full → the request thread makes the call itself.
+    @Bean
+    public AsyncTaskExecutor apiExecutor(
+            @Value("${bank.api.fanout.threads:32}") int threads,
+            @Value("${bank.api.fanout.queue:200}") int queue,
+            @Value("${bank.api.fanout.virtual-threads:true}") boolean virtual
+    ) {
+        if (virtual && Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor ex = new SimpleAsyncTaskExecutor("api-");
+            ex.setVirtualThreads(true);
+            ex.setConcurrencyLimit(threads + queue);
+            ex.setTaskDecorator(requestContext());
+            return ex;
+        }
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setThreadNamePrefix("api-");
+        ex.setCorePoolSize(threads);
+        ex.setMaxPoolSize(threads);
+        ex.setQueueCapacity(queue);
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        ex.setTaskDecorator(requestContext());
+        ex.initialize();
+        return ex;
+    }
+
+    // Calls see a snapshot of the caller's request state (memo, stale flag, session token), not the
+    // RequestAttributes themselves; see ApiCallContext
+    static TaskDecorator requestContext() {
+        return task -> {
+            ApiCallContext ctx = ApiCallContext.snapshot();
+            return () -> ApiCallContext.runBound(ctx, task);
+        };
+    }
+}
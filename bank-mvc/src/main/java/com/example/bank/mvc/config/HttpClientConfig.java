@@ -0,0 +1,64 @@
+package com.example.bank.mvc.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Pooled keep-alive HTTP client for calls to the REST API (bank.api.http.*).
+ * - connect / read (socket) timeouts: a slow backend fails the call instead of hanging the page
+ * - pool lease timeout: a saturated pool fails fast instead of queueing forever
+ * - idle/expired connections are evicted in the background, keep-alive has a default TTL
+ * HttpClient also asks for gzip and unpacks it (no extra interceptor needed).
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager apiConnectionManager(
+            @Value("${bank.api.http.max-total:100}") int maxTotal,
+            @Value("${bank.api.http.max-per-route:50}") int maxPerRoute,
+            @Value("${bank.api.http.connect-timeout-ms:1000}") long connectTimeoutMs,
+            @Value("${bank.api.http.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${bank.api.http.connection-ttl-s:300}") long ttlSeconds
+    ) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute) // one route here: the REST API
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofSeconds(ttlSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2)) // stale check before reuse
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient apiHttpClient(
+            PoolingHttpClientConnectionManager apiConnectionManager,
+            @Value("${bank.api.http.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${bank.api.http.lease-timeout-ms:500}") long leaseTimeoutMs,
+            @Value("${bank.api.http.keep-alive-s:30}") long keepAliveSeconds,
+            @Value("${bank.api.http.idle-evict-s:30}") long idleEvictSeconds
+    ) {
+        return HttpClients.custom()
+                .setConnectionManager(apiConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(leaseTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setConnectionKeepAlive(TimeValue.ofSeconds(keepAliveSeconds)) // when the server sends no Keep-Alive
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .evictExpiredConnections()
+                .build();
+    }
+}
@@ -1,25 +1,40 @@
 package com.example.bank.mvc.config;
 
+import com.example.bank.mvc.metrics.RestCallMetrics;
+import com.example.bank.mvc.metrics.RestCallMetricsInterceptor;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestClientConfig {
 
-    // RestTemplate with optional auth (basic/bearer) + simple request logging
+    // RestTemplate on the pooled HttpClient (see HttpClientConfig) with optional auth (basic/bearer)
+    // + latency metrics / sampled call log + CBOR preferred for responses (bank.api.cbor=false → plain JSON)
     @Bean
     public RestTemplate restTemplate(
             RestTemplateBuilder builder,
+            CloseableHttpClient apiHttpClient,
+            RestCallMetrics restCallMetrics,
+            @Value("${bank.api.log.sample-every:100}") int logSampleEvery,
+            @Value("${bank.api.log.slow-ms:1000}") long logSlowMs,
+            Jackson2ObjectMapperBuilder mapperBuilder,
+            @Value("${bank.api.cbor:true}") boolean cbor,
             @Value("${bank.api.auth.type:none}") String type,
             @Value("${bank.api.auth.username:}") String username,
             @Value("${bank.api.auth.password:}") String password,
             @Value("${bank.api.auth.token:}") String token
     ) {
-        RestTemplateBuilder b = builder;
+        RestTemplateBuilder b = builder.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(apiHttpClient));
 
         // Add auth if configured
         if ("basic".equalsIgnoreCase(type)) {
@@ -32,12 +47,27 @@ public class RestClientConfig {
             });
         }
 
-        // Tiny debug logger for outgoing requests (use proper logger in prod)
-        b = b.additionalInterceptors((req, body, ex) -> {
-            System.out.println("RestTemplate → " + req.getMethod() + " " + req.getURI());
-            return ex.execute(req, body);
-        });
+        // Latency histograms per method/URI template/status (/metrics/rest-calls) + sampled call log
+        b = b.additionalInterceptors(new RestCallMetricsInterceptor(restCallMetrics, logSampleEvery, logSlowMs));
 
-        return b.build();
+        // Read-your-writes on the REST side (replica routing)
+        b = b.additionalInterceptors(new SessionIdInterceptor());
+
+        RestTemplate rest = b.build();
+        if (cbor) {
+            // First in the list → "Accept: application/cbor, application/json, ..." on every GET
+            rest.getMessageConverters().removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter);
+            rest.getMessageConverters().add(0, cborReader(mapperBuilder));
+        }
+        return rest;
+    }
+
+    // Reads CBOR responses only; request bodies stay JSON (works against any API version)
+    private static MappingJackson2CborHttpMessageConverter cborReader(Jackson2ObjectMapperBuilder mapperBuilder) {
+        var mapper = mapperBuilder.createXmlMapper(false).factory(new CBORFactory()).build();
+        return new MappingJackson2CborHttpMessageConverter(mapper) {
+            @Override
+            public boolean canWrite(Class<?> clazz, MediaType mediaType) { return false; }
+        };
     }
 }
@@ -0,0 +1,53 @@
+package com.example.bank.mvc.config;
+
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Sends X-Session-Id (random token per browser session, not the session id itself)
+ * so the REST API can serve this user's reads from the primary right after their writes.
+ * Reads don't create a session; the first write does.
+ */
+public class SessionIdInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String HEADER = "X-Session-Id";
+    private static final String ATTR = SessionIdInterceptor.class.getName() + ".token";
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest req, byte[] body, ClientHttpRequestExecution ex) throws IOException {
+        String token = currentToken(req.getMethod() != HttpMethod.GET);
+        if (token != null) {
+            req.getHeaders().set(HEADER, token);
+        }
+        return ex.execute(req, body);
+    }
+
+    // Token of the current MVC request's session (null → no request bound or no session yet).
+    // On a fan-out thread: the token snapshotted when the call was forked.
+    // Also used by ReactiveBankApiClient, which must call it on the request thread.
+    public static String currentToken(boolean createSession) {
+        ApiCallContext bound = ApiCallContext.bound();
+        if (bound != null) return bound.sessionToken();
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs) {
+            HttpSession session = attrs.getRequest().getSession(createSession);
+            if (session != null) {
+                Object token = session.getAttribute(ATTR);
+                if (token == null) {
+                    token = UUID.randomUUID().toString();
+                    session.setAttribute(ATTR, token);
+                }
+                return token.toString();
+            }
+        }
+        return null;
+    }
+}
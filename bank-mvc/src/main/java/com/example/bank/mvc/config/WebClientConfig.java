@@ -0,0 +1,114 @@
+package com.example.bank.mvc.config;
+
+import com.example.bank.mvc.metrics.RestCallMetrics;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunctions;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * WebClient behind ReactiveBankApiClient (bank.api.client=reactive).
+ * Same concerns as RestClientConfig: auth, CBOR responses, call metrics + sampled log.
+ * A call waiting for the REST API holds a pooled connection, not a thread.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bank.api.client", havingValue = "reactive")
+public class WebClientConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(WebClientConfig.class);
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider apiConnectionProvider(
+            @Value("${bank.api.reactive.max-connections:500}") int maxConnections,
+            @Value("${bank.api.reactive.pending-acquire-max:5000}") int pendingAcquireMax,
+            @Value("${bank.api.http.lease-timeout-ms:500}") long leaseTimeoutMs,
+            @Value("${bank.api.http.idle-evict-s:30}") long idleEvictSeconds
+    ) {
+        return ConnectionProvider.builder("bank-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)       // waiting calls cost memory, not threads
+                .pendingAcquireTimeout(Duration.ofMillis(leaseTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(idleEvictSeconds))
+                .evictInBackground(Duration.ofSeconds(idleEvictSeconds))
+                .build();
+    }
+
+    @Bean
+    public WebClient apiWebClient(
+            WebClient.Builder builder,
+            ConnectionProvider apiConnectionProvider,
+            RestCallMetrics restCallMetrics,
+            @Value("${bank.api.log.sample-every:100}") int logSampleEvery,
+            @Value("${bank.api.log.slow-ms:1000}") long logSlowMs,
+            @Value("${bank.api.http.connect-timeout-ms:1000}") int connectTimeoutMs,
+            @Value("${bank.api.http.read-timeout-ms:5000}") long readTimeoutMs,
+            Jackson2ObjectMapperBuilder mapperBuilder,
+            @Value("${bank.api.cbor:true}") boolean cbor,
+            @Value("${bank.api.auth.type:none}") String type,
+            @Value("${bank.api.auth.username:}") String username,
+            @Value("${bank.api.auth.password:}") String password,
+            @Value("${bank.api.auth.token:}") String token
+    ) {
+        HttpClient http = HttpClient.create(apiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs))
+                .compress(true);
+        WebClient.Builder b = builder.clientConnector(new ReactorClientHttpConnector(http));
+
+        // Add auth if configured
+        if ("basic".equalsIgnoreCase(type)) {
+            b = b.filter(ExchangeFilterFunctions.basicAuthentication(username, password));
+        } else if ("bearer".equalsIgnoreCase(type)) {
+            b = b.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+
+        b = b.filter(metrics(restCallMetrics, logSampleEvery, logSlowMs * 1_000_000));
+
+        if (cbor) {
+            // Responses may come as CBOR; request bodies stay JSON (as with RestTemplate)
+            var mapper = mapperBuilder.createXmlMapper(false).factory(new CBORFactory()).build();
+            b = b.codecs(c -> c.customCodecs().register(new Jackson2CborDecoder(mapper)))
+                    .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE, MediaType.APPLICATION_JSON_VALUE);
+        }
+        return b.build();
+    }
+
+    // Reactive twin of RestCallMetricsInterceptor (same histograms, same log line)
+    private static ExchangeFilterFunction metrics(RestCallMetrics metrics, int sampleEvery, long slowNanos) {
+        return (req, next) -> {
+            long started = System.nanoTime();
+            String method = req.method().name();
+            String path = req.url().getRawPath();
+            return next.exchange(req)
+                    .doOnSuccess(resp -> done(metrics, method, path, resp.statusCode().value(), started, sampleEvery, slowNanos))
+                    .doOnError(ex -> done(metrics, method, path, 0, started, sampleEvery, slowNanos));
+        };
+    }
+
+    private static void done(RestCallMetrics metrics, String method, String path, int status,
+                             long started, int sampleEvery, long slowNanos) {
+        long took = System.nanoTime() - started;
+        metrics.record(method, path, status, took);
+        if (status == 0 || status >= 500 || took >= slowNanos
+                || (sampleEvery > 0 && ThreadLocalRandom.current().nextInt(sampleEvery) == 0)) {
+            log.info("rest_call method={} uri={} status={} ms={}", method, metrics.template(path), status, took / 100_000 / 10.0);
+        }
+    }
+}
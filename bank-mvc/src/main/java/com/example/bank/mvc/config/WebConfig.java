@@ -0,0 +1,16 @@
+package com.example.bank.mvc.config;
+
+import com.example.bank.mvc.web.StaleDataInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // "Data may be out of date" banner when BankApiClient served a fallback
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StaleDataInterceptor());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.bank.mvc.dto;
+
+// One slot of REST multi-get /api/accounts?ids=…: requested id + account, or found=false
+public class AccountLookupDto {
+    private Long id;
+    private boolean found;
+    private AccountDto account;          // null when not found
+
+    // Getters/Setters only, no extra logic
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public boolean isFound() { return found; }
+    public void setFound(boolean found) { this.found = found; }
+    public AccountDto getAccount() { return account; }
+    public void setAccount(AccountDto account) { this.account = account; }
+}
@@ -0,0 +1,28 @@
+package com.example.bank.mvc.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Customers list row: customer + number of accounts + balance per currency (one REST aggregate)
+public class CustomerOverviewDto extends CustomerDto {
+    private int accountCount;
+    private List<Balance> balances = new ArrayList<>(); // only currencies the customer holds
+
+    public static class Balance {
+        private String currency;
+        private BigDecimal total;
+
+        public String getCurrency() { return currency; }
+        public void setCurrency(String currency) { this.currency = currency; }
+
+        public BigDecimal getTotal() { return total; }
+        public void setTotal(BigDecimal total) { this.total = total; }
+    }
+
+    public int getAccountCount() { return accountCount; }
+    public void setAccountCount(int accountCount) { this.accountCount = accountCount; }
+
+    public List<Balance> getBalances() { return balances; }
+    public void setBalances(List<Balance> balances) { this.balances = balances; }
+}
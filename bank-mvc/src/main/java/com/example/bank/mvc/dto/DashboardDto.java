@@ -0,0 +1,24 @@
+package com.example.bank.mvc.dto;
+
+import java.util.List;
+
+// DTO used on MVC side: customer + accounts + recent transactions from one REST call
+public class DashboardDto {
+    private CustomerDto customer;
+    private List<AccountDto> accounts;
+    private Long accountId;                    // selected account (null = all accounts)
+    private List<TransactionDto> transactions; // newest first
+
+    // Getters/Setters only, no extra logic
+    public CustomerDto getCustomer() { return customer; }
+    public void setCustomer(CustomerDto customer) { this.customer = customer; }
+
+    public List<AccountDto> getAccounts() { return accounts; }
+    public void setAccounts(List<AccountDto> accounts) { this.accounts = accounts; }
+
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public List<TransactionDto> getTransactions() { return transactions; }
+    public void setTransactions(List<TransactionDto> transactions) { this.transactions = transactions; }
+}
@@ -0,0 +1,52 @@
+package com.example.bank.mvc.dto;
+
+import java.math.BigDecimal;
+
+// Answer of REST transfer/quote: would the transfer go through (checked server-side in one read)
+public class TransferQuoteDto {
+    private boolean allowed;
+    private String reason;               // why not, null if allowed
+    private Long fromAccountId;
+    private Long toAccountId;
+    private BigDecimal amount;
+    private String currency;             // source account currency
+    private String toCurrency;           // null when the target does not exist
+    private boolean currencyMatch;
+    private BigDecimal availableBalance;
+    private BigDecimal fee;
+    private BigDecimal total;            // amount + fee
+
+    // Getters/Setters only, no extra logic
+    public boolean isAllowed() { return allowed; }
+    public void setAllowed(boolean allowed) { this.allowed = allowed; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+
+    public Long getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(Long fromAccountId) { this.fromAccountId = fromAccountId; }
+
+    public Long getToAccountId() { return toAccountId; }
+    public void setToAccountId(Long toAccountId) { this.toAccountId = toAccountId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getToCurrency() { return toCurrency; }
+    public void setToCurrency(String toCurrency) { this.toCurrency = toCurrency; }
+
+    public boolean isCurrencyMatch() { return currencyMatch; }
+    public void setCurrencyMatch(boolean currencyMatch) { this.currencyMatch = currencyMatch; }
+
+    public BigDecimal getAvailableBalance() { return availableBalance; }
+    public void setAvailableBalance(BigDecimal availableBalance) { this.availableBalance = availableBalance; }
+
+    public BigDecimal getFee() { return fee; }
+    public void setFee(BigDecimal fee) { this.fee = fee; }
+
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+}
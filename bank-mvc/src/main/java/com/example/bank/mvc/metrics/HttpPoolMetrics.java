@@ -0,0 +1,34 @@
+package com.example.bank.mvc.metrics;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Saturation of the REST API connection pool.
+ * leased == max and pending > 0 → pages wait for a connection (raise max-per-route or fix the slow backend).
+ */
+@Component
+public class HttpPoolMetrics {
+
+    private final PoolingHttpClientConnectionManager pool;
+
+    public HttpPoolMetrics(PoolingHttpClientConnectionManager apiConnectionManager) {
+        this.pool = apiConnectionManager;
+    }
+
+    public Map<String, Object> snapshot() {
+        PoolStats s = pool.getTotalStats();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("leased", s.getLeased());
+        m.put("pending", s.getPending());
+        m.put("available", s.getAvailable());
+        m.put("max", s.getMax());
+        m.put("maxPerRoute", pool.getDefaultMaxPerRoute());
+        m.put("utilization", s.getMax() == 0 ? 0.0 : (double) s.getLeased() / s.getMax());
+        return m;
+    }
+}
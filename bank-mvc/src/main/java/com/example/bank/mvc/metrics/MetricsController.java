@@ -0,0 +1,51 @@
+package com.example.bank.mvc.metrics;
+
+import com.example.bank.mvc.service.BankApiClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operational JSON for the MVC tier (not linked from the UI).
+ */
+@RestController
+@RequestMapping("/metrics")
+public class MetricsController {
+
+    private final HttpPoolMetrics httpPool;
+    private final BankApiClient api;
+    private final RestCallMetrics restCalls;
+
+    public MetricsController(HttpPoolMetrics httpPool, BankApiClient api, RestCallMetrics restCalls) {
+        this.httpPool = httpPool;
+        this.api = api;
+        this.restCalls = restCalls;
+    }
+
+    // GET /metrics/rest-calls → latency (count, mean, p50/p90/p99, max in ms) per method / URI template / status
+    @GetMapping("/rest-calls")
+    public List<Map<String, Object>> restCalls() {
+        return restCalls.snapshot();
+    }
+
+    // GET /metrics/http-pool → leased/pending/available connections to the REST API
+    @GetMapping("/http-pool")
+    public Map<String, Object> httpPool() {
+        return httpPool.snapshot();
+    }
+
+    // GET /metrics/api-calls → backend GETs made vs. saved by coalescing / per-request memo
+    @GetMapping("/api-calls")
+    public Map<String, Long> apiCalls() {
+        return api.callStats().snapshot();
+    }
+
+    // GET /metrics/api-guard → circuit state and in-flight calls per endpoint group
+    @GetMapping("/api-guard")
+    public Map<String, Object> apiGuard() {
+        return api.guardState();
+    }
+}
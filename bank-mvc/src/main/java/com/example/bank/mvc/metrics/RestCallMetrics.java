@@ -0,0 +1,149 @@
+package com.example.bank.mvc.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Latency of outgoing REST calls per (method, URI template, status).
+ * URI template = path with numeric segments replaced by {id} (/api/customers/{id}/accounts/{id}),
+ * so ids don't explode the series. Status 0 = no response (I/O error / timeout).
+ */
+@Component
+public class RestCallMetrics {
+
+    private static final String ID = "{id}";
+
+    private record Series(String method, String uri, int uriHash, AtomicReferenceArray<LatencyHistogram> byStatus) { }
+
+    // Templates seen for one method; copy-on-write, a new template is rare (one per endpoint)
+    private static final class Templates {
+        volatile Series[] series = new Series[0];
+    }
+
+    // method → its templates. The raw path is matched against templates in place (hash, then a
+    // segment walk), so recording allocates nothing and any number of distinct ids is fine.
+    private final Map<String, Templates> byMethod = new ConcurrentHashMap<>();
+
+    public void record(String method, String rawPath, int status, long nanos) {
+        Series s = series(method, rawPath == null || rawPath.isEmpty() ? "/" : rawPath);
+        int slot = status >= 0 && status < 600 ? status : 0;
+        LatencyHistogram h = s.byStatus().get(slot);
+        if (h == null) {
+            s.byStatus().compareAndSet(slot, null, new LatencyHistogram());
+            h = s.byStatus().get(slot);
+        }
+        h.recordNanos(nanos);
+    }
+    public List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> out = new ArrayList<>();
+        byMethod.values().forEach(t -> Arrays.stream(t.series).forEach(s -> {
+            for (int status = 0; status < 600; status++) {
+                LatencyHistogram h = s.byStatus().get(status);
+                if (h == null) continue;
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("method", s.method());
+                m.put("uri", s.uri());
+                m.put("status", status);
+                m.put("count", h.count());
+                m.put("meanMs", round(h.meanMillis()));
+                m.put("p50Ms", round(h.quantileMillis(0.50)));
+                m.put("p90Ms", round(h.quantileMillis(0.90)));
+                m.put("p99Ms", round(h.quantileMillis(0.99)));
+                m.put("maxMs", round(h.maxMillis()));
+                out.add(m);
+            }
+        }));
+        return out;
+    }
+
+    // For log lines (sampled / slow calls only)
+    public String template(String rawPath) {
+        if (rawPath == null || rawPath.isEmpty()) return "/";
+        StringBuilder sb = new StringBuilder(rawPath.length());
+        for (int start = 0, end; ; start = end + 1) {
+            end = segmentEnd(rawPath, start);
+            if (isId(rawPath, start, end)) sb.append(ID);
+            else sb.append(rawPath, start, end);
+            if (end == rawPath.length()) return sb.toString();
+            sb.append('/');
+        }
+    }
+
+    private Series series(String method, String path) {
+        Templates t = byMethod.computeIfAbsent(method, m -> new Templates());
+        int hash = templateHash(path);
+        Series s = find(t.series, path, hash);
+        if (s != null) return s;
+        synchronized (t) {
+            s = find(t.series, path, hash);
+            if (s == null) {
+                s = new Series(method, template(path), hash, new AtomicReferenceArray<>(600));
+                Series[] grown = Arrays.copyOf(t.series, t.series.length + 1);
+                grown[grown.length - 1] = s;
+                t.series = grown;
+            }
+        }
+        return s;
+    }
+
+    private static Series find(Series[] series, String path, int hash) {
+        for (Series s : series) {
+            if (s.uriHash() == hash && matches(path, s.uri())) return s;
+        }
+        return null;
+    }
+
+    // String.hashCode() of template(path), computed without building it
+    static int templateHash(String path) {
+        int h = 0;
+        for (int start = 0, end; ; start = end + 1) {
+            end = segmentEnd(path, start);
+            if (isId(path, start, end)) {
+                for (int i = 0; i < ID.length(); i++) h = 31 * h + ID.charAt(i);
+            } else {
+                for (int i = start; i < end; i++) h = 31 * h + path.charAt(i);
+            }
+            if (end == path.length()) return h;
+            h = 31 * h + '/';
+        }
+    }
+
+    // template(path).equals(uri), segment by segment
+    private static boolean matches(String path, String uri) {
+        int u = 0;
+        for (int start = 0, end; ; start = end + 1) {
+            end = segmentEnd(path, start);
+            boolean id = isId(path, start, end);
+            int len = id ? ID.length() : end - start;
+            if (id ? !uri.startsWith(ID, u) : !uri.regionMatches(u, path, start, len)) return false;
+            u += len;
+            if (end == path.length()) return u == uri.length();
+            if (u >= uri.length() || uri.charAt(u) != '/') return false;
+            u++;
+        }
+    }
+
+    private static int segmentEnd(String path, int start) {
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.length() : end;
+    }
+
+    private static boolean isId(String path, int start, int end) {
+        if (start == end) return false;
+        for (int i = start; i < end; i++) {
+            if (!Character.isDigit(path.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static double round(double ms) {
+        return Math.round(ms * 100) / 100.0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bank.mvc.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Times every outgoing REST call into RestCallMetrics.
+ * Logging is sampled: 1 call in N, plus every slow call and every failure (no response / 5xx),
+ * as one key=value line (rest_call method=GET uri=/api/customers/{id} status=200 ms=12.3).
+ */
+public class RestCallMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RestCallMetricsInterceptor.class);
+
+    private final RestCallMetrics metrics;
+    private final int sampleEvery;     // 0 → only slow/failed calls
+    private final long slowNanos;
+
+    public RestCallMetricsInterceptor(RestCallMetrics metrics, int sampleEvery, long slowMillis) {
+        this.metrics = metrics;
+        this.sampleEvery = sampleEvery;
+        this.slowNanos = slowMillis * 1_000_000;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest req, byte[] body, ClientHttpRequestExecution ex) throws IOException {
+        long started = System.nanoTime();
+        int status = 0;
+        try {
+            ClientHttpResponse resp = ex.execute(req, body);
+            status = resp.getStatusCode().value();
+            return resp;
+        } finally {
+            long took = System.nanoTime() - started;
+            String path = req.getURI().getRawPath();
+            metrics.record(req.getMethod().name(), path, status, took);
+            if (status == 0 || status >= 500 || took >= slowNanos
+                    || (sampleEvery > 0 && ThreadLocalRandom.current().nextInt(sampleEvery) == 0)) {
+                log.info("rest_call method={} uri={} status={} ms={}",
+                        req.getMethod().name(), metrics.template(path), status, took / 100_000 / 10.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.bank.mvc.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How many GETs actually reached the REST API, how many were saved
+ * by single-flight coalescing and per-request memoization, and how many were
+ * answered from last-known-good data.
+ */
+public class ApiCallStats {
+
+    private final LongAdder backendCalls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder memoHits = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+
+    void backendCall() { backendCalls.increment(); }
+    void coalesced() { coalesced.increment(); }
+    void memoHit() { memoHits.increment(); }
+    void staleServed() { staleServed.increment(); }
+
+    public Map<String, Long> snapshot() {
+        long calls = backendCalls.sum(), joined = coalesced.sum(), memo = memoHits.sum();
+        Map<String, Long> m = new LinkedHashMap<>();
+        m.put("backendCalls", calls);
+        m.put("coalesced", joined);
+        m.put("memoHits", memo);
+        m.put("saved", joined + memo);
+        m.put("staleServed", staleServed.sum()); // last-known-good answers while the backend was down
+        return m;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.bank.mvc.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Starts independent REST calls of one page at once, so the page waits for the slowest
+ * call instead of the sum of all of them.
+ * Each call has its own timeout; join() rethrows the call's own exception (same as a direct
+ * call), joinOr() turns a failure into a fallback value.
+ */
+@Component
+public class ApiFanOut {
+
+    private final Executor executor;
+    private final long timeoutMs;
+
+    public ApiFanOut(@Qualifier("apiExecutor") Executor executor,
+                     @Value("${bank.api.fanout.timeout-ms:5000}") long timeoutMs) {
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public <T> Call<T> fork(Supplier<T> call) {
+        return new Call<>(CompletableFuture.supplyAsync(call, executor).orTimeout(timeoutMs, TimeUnit.MILLISECONDS));
+    }
+
+    public static final class Call<T> {
+        private final CompletableFuture<T> future;
+
+        private Call(CompletableFuture<T> future) { this.future = future; }
+
+        public T join() {
+            try {
+                return future.join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof TimeoutException) {
+                    throw new ResourceAccessException("REST call timed out");
+                }
+                if (cause instanceof RuntimeException re) throw re;
+                if (cause instanceof Error err) throw err;
+                throw ex;
+            }
+        }
+
+        // Failure or timeout → fallback (e.g. empty transaction list)
+        public T joinOr(T fallback) {
+            try {
+                return join();
+            } catch (RuntimeException ex) {
+                return fallback;
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.bank.mvc.service;
+
+// Endpoint groups of the REST API: each gets its own bulkhead and circuit breaker,
+// so a slow transactions endpoint can't take customer pages down with it.
+public enum ApiGroup {
+    CUSTOMERS, ACCOUNTS, TRANSACTIONS, WRITES
+}
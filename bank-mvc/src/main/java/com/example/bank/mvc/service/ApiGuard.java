@@ -0,0 +1,91 @@
+package com.example.bank.mvc.service;
+
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead + circuit breaker per endpoint group around every REST call.
+ * - bulkhead: at most maxConcurrent calls of a group in flight; a caller waits up to waitMs, then is rejected
+ * - breaker: fails fast once a group errors or is slow too often (see CircuitBreaker)
+ * Only I/O failures/timeouts and 5xx count as failures; 4xx are normal answers.
+ */
+class ApiGuard {
+
+    record Settings(int maxConcurrent, long waitMs, CircuitBreaker.Settings breaker) {
+        static Settings defaults() { return new Settings(20, 50, CircuitBreaker.Settings.defaults()); }
+    }
+
+    private record Group(Semaphore bulkhead, CircuitBreaker breaker) { }
+
+    private final Settings settings;
+    private final Map<ApiGroup, Group> groups = new EnumMap<>(ApiGroup.class);
+    private final LongSupplier clockMs;           // breaker time (open period); tests step it by hand
+
+    ApiGuard(Settings settings) { this(settings, System::currentTimeMillis); }
+
+    ApiGuard(Settings settings, LongSupplier clockMs) {
+        this.settings = settings;
+        this.clockMs = clockMs;
+        for (ApiGroup g : ApiGroup.values()) {
+            groups.put(g, new Group(new Semaphore(settings.maxConcurrent()), new CircuitBreaker(settings.breaker())));
+        }
+    }
+
+    <T> T call(ApiGroup group, Supplier<T> call) {
+        Group g = groups.get(group);
+        if (!acquire(g.bulkhead())) {
+            throw new BackendUnavailableException("REST API busy (" + name(group) + " bulkhead full)");
+        }
+        // Breaker after the bulkhead: a half-open trial slot is only taken by a call that really runs
+        if (!g.breaker().tryAcquire(clockMs.getAsLong())) {
+            g.bulkhead().release();
+            throw new BackendUnavailableException("REST API unavailable (" + name(group) + " circuit open)");
+        }
+        long started = System.nanoTime();
+        boolean failed = false;
+        try {
+            return call.get();
+        } catch (RuntimeException ex) {
+            failed = isBackendFailure(ex);
+            throw ex;
+        } finally {
+            g.bulkhead().release();
+            g.breaker().record(failed, (System.nanoTime() - started) / 1_000_000, clockMs.getAsLong());
+        }
+    }
+
+    // Backend down/slow/broken (vs. a business answer like 404/409)
+    static boolean isBackendFailure(RuntimeException ex) {
+        return ex instanceof ResourceAccessException || ex instanceof HttpServerErrorException;
+    }
+
+    Map<String, Object> snapshot() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        groups.forEach((name, g) -> m.put(name(name), Map.of(
+                "circuit", g.breaker().state().name(),
+                "inFlight", settings.maxConcurrent() - g.bulkhead().availablePermits(),
+                "maxConcurrent", settings.maxConcurrent())));
+        return m;
+    }
+
+    private boolean acquire(Semaphore bulkhead) {
+        try {
+            return bulkhead.tryAcquire(settings.waitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String name(ApiGroup g) {
+        return g.name().toLowerCase();
+    }
+}
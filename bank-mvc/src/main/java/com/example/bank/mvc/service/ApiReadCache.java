@@ -0,0 +1,178 @@
+package com.example.bank.mvc.service;
+
+import com.example.bank.mvc.dto.AccountDto;
+import com.example.bank.mvc.dto.CustomerDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Short-TTL, size-bounded cache of the REST reads almost every page repeats
+ * (customer, account list of a customer, single account).
+ * Writes made through BankApiClient drop the affected entries right away;
+ * the TTL only bounds staleness from writes made elsewhere (other MVC nodes, API clients).
+ * <p>
+ * The cache is shared by all sessions, but only the writer's session is pinned to the primary
+ * (bank.db.sticky-ms). A read by any other session within that window after a write may come
+ * from a lagging replica, so it is returned but not kept; otherwise the writer would be served it.
+ */
+class ApiReadCache {
+
+    record AccountKey(long customerId, long accountId) { }
+
+    // Value + the generation stamp it was loaded under; a stamp that no longer matches is a miss
+    private record Stamped<V>(V value, long stamp) { }
+
+    // Write → bump the generation of its id's stripe (O(1), no scan). The stamp is taken before the
+    // loader runs, so a load still in flight during the write is stored already outdated.
+    // Fixed memory; two ids sharing a stripe only cost an extra reload.
+    private static final int STRIPES = 1024;
+
+    // Generation + time of the last write per stripe
+    private static final class Stripes {
+        private final AtomicLongArray gens = new AtomicLongArray(STRIPES);
+        private final AtomicLongArray writtenAt = new AtomicLongArray(STRIPES);
+
+        long gen(long id) { return gens.get(index(id)); }
+
+        long writtenAt(long id) { return writtenAt.get(index(id)); }
+
+        void bump(long id, long nowMs) {
+            writtenAt.set(index(id), nowMs);
+            gens.incrementAndGet(index(id));
+        }
+
+        private static int index(long id) { return Long.hashCode(id) & (STRIPES - 1); }
+    }
+
+    private final boolean enabled;
+    private final Cache<Long, Stamped<CustomerDto>> customers;
+    private final Cache<Long, Stamped<List<AccountDto>>> accountLists;  // by customer id
+    private final Cache<AccountKey, Stamped<AccountDto>> accounts;      // nested (owner-checked) reads
+    private final Cache<Long, Stamped<AccountDto>> publicAccounts;      // /api/accounts/{id}
+
+    private final Stripes customerGens = new Stripes();
+    private final Stripes listGens = new Stripes();      // account list + nested reads of a customer
+    private final Stripes accountGens = new Stripes();
+    private final AtomicLong accountWrites = new AtomicLong();   // every accountChanged, owner known or not
+
+    private final long stickyMs;
+    private final LongSupplier clockMs;
+
+    ApiReadCache(boolean enabled, Duration customerTtl, Duration accountTtl, long maxEntries,
+                 Duration sticky, LongSupplier clockMs) {
+        this.enabled = enabled;
+        this.stickyMs = sticky.toMillis();
+        this.clockMs = clockMs;
+        this.customers = Caffeine.newBuilder().expireAfterWrite(customerTtl).maximumSize(maxEntries).build();
+        this.accountLists = Caffeine.newBuilder().expireAfterWrite(accountTtl).maximumSize(maxEntries).build();
+        this.accounts = Caffeine.newBuilder().expireAfterWrite(accountTtl).maximumSize(maxEntries).build();
+        this.publicAccounts = Caffeine.newBuilder().expireAfterWrite(accountTtl).maximumSize(maxEntries).build();
+    }
+
+    // ---------- reads (loader runs on a miss; null results are not cached) ----------
+
+    CustomerDto customer(long id, Supplier<CustomerDto> loader) {
+        if (!enabled) return loader.get();
+        return cached(customers, id, customerGens.gen(id), loader, () -> settled(customerGens, id));
+    }
+
+    // A list is valid while its customer's generation and those of all accounts in it are unchanged.
+    // Which accounts it holds is known only after the load, so a load that overlapped any account
+    // write is returned but not kept.
+    List<AccountDto> accountList(long customerId, Supplier<List<AccountDto>> loader) {
+        if (!enabled) return loader.get();
+        long listGen = listGens.gen(customerId);
+        Stamped<List<AccountDto>> hit = accountLists.getIfPresent(customerId);
+        if (hit != null && hit.stamp() == listStamp(listGen, hit.value())) return hit.value();
+        long writes = accountWrites.get();
+        List<AccountDto> list = loader.get();
+        if (list != null && accountWrites.get() == writes && settled(customerId, list)) {
+            accountLists.put(customerId, new Stamped<>(list, listStamp(listGen, list)));
+        }
+        return list;
+    }
+
+    AccountDto account(long customerId, long accountId, Supplier<AccountDto> loader) {
+        if (!enabled) return loader.get();
+        // both only grow, so the sum changes whenever either does
+        long stamp = listGens.gen(customerId) + accountGens.gen(accountId);
+        return cached(accounts, new AccountKey(customerId, accountId), stamp, loader,
+                () -> settled(listGens, customerId) && settled(accountGens, accountId));
+    }
+
+    AccountDto publicAccount(long accountId, Supplier<AccountDto> loader) {
+        if (!enabled) return loader.get();
+        return cached(publicAccounts, accountId, accountGens.gen(accountId), loader,
+                () -> settled(accountGens, accountId));
+    }
+
+    // ---------- invalidation ----------
+
+    void customerChanged(long customerId) {
+        customerGens.bump(customerId, clockMs.getAsLong());
+        customers.invalidate(customerId);
+    }
+
+    // Customer gone: its data and everything of its accounts (nested reads carry the list generation)
+    void customerDeleted(long customerId) {
+        long now = clockMs.getAsLong();
+        customerGens.bump(customerId, now);
+        listGens.bump(customerId, now);
+        customers.invalidate(customerId);
+        accountLists.invalidate(customerId);
+    }
+
+    // Balance (or existence) of one account changed. The owner may be unknown (external transfer
+    // target); every view of the account id carries its generation, lists included.
+    void accountChanged(long accountId) {
+        accountGens.bump(accountId, clockMs.getAsLong());
+        accountWrites.incrementAndGet();
+        publicAccounts.invalidate(accountId);
+    }
+
+    // Accounts added/removed for a customer
+    void accountListChanged(long customerId) {
+        listGens.bump(customerId, clockMs.getAsLong());
+        accountLists.invalidate(customerId);
+    }
+
+    // ---------- internals ----------
+
+    private static <K, V> V cached(Cache<K, Stamped<V>> cache, K key, long stamp, Supplier<V> loader,
+                                   BooleanSupplier keep) {
+        Stamped<V> hit = cache.getIfPresent(key);
+        if (hit != null && hit.stamp() == stamp) return hit.value();
+        V value = loader.get();
+        if (value != null && keep.getAsBoolean()) cache.put(key, new Stamped<>(value, stamp));
+        return value;
+    }
+
+    // No write to the id within the sticky window, checked once the load is done
+    private boolean settled(Stripes stripes, long id) {
+        return clockMs.getAsLong() - stripes.writtenAt(id) >= stickyMs;
+    }
+
+    private boolean settled(long customerId, List<AccountDto> list) {
+        if (!settled(listGens, customerId)) return false;
+        for (AccountDto a : list) {
+            if (a.getId() != null && !settled(accountGens, a.getId())) return false;
+        }
+        return true;
+    }
+
+    private long listStamp(long listGen, List<AccountDto> list) {
+        long stamp = listGen;
+        for (AccountDto a : list) {
+            if (a.getId() != null) stamp += accountGens.gen(a.getId());
+        }
+        return stamp;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.bank.mvc.service;
+
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Call not even attempted: circuit open or bulkhead full.
+ * A ResourceAccessException, so callers treat it like any other I/O failure.
+ */
+public class BackendUnavailableException extends ResourceAccessException {
+    public BackendUnavailableException(String msg) { super(msg); }
+}
@@ -1,13 +1,24 @@
 package com.example.bank.mvc.service;
 
 import com.example.bank.mvc.dto.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * Thin REST client for the backend API (used by MVC layer).
@@ -22,24 +33,184 @@ public class BankApiClient {
     @Value("${bank.api.customers-path:/api/customers}")
     private String customersPath;
 
+    // Ids per multi-get call (keep ≤ REST bank.accounts.max-batch); short lists go as GET ?ids=, long ones as POST
+    private int accountsBatch = 200;
+    static final int MAX_IDS_IN_URL = 50;
+
     private final RestTemplate rest;
 
+    // Validators + bodies of account/transactions reads (sent back as If-None-Match)
+    private final EtagCache etags = new EtagCache(1000);
+
+    // Short-TTL customer/account reads, dropped by our own writes (defaults until properties are applied)
+    private ApiReadCache cache = new ApiReadCache(true, Duration.ofSeconds(30), Duration.ofSeconds(5), 10_000,
+            Duration.ofSeconds(5), System::currentTimeMillis);
+
+    // Saved backend calls: identical concurrent GETs share one call, one page never repeats a GET
+    private final ApiCallStats stats = new ApiCallStats();
+    private final SingleFlight flights = new SingleFlight(stats);
+
     public BankApiClient(RestTemplate rest) { this.rest = rest; }
 
+    // Bulkhead + circuit breaker per endpoint group; last good GET bodies for when the backend is down
+    private ApiGuard guard = new ApiGuard(ApiGuard.Settings.defaults());
+    private LongSupplier guardClock = System::currentTimeMillis;
+    private final Cache<String, Object> lastKnownGood = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(30)).maximumSize(10_000).build();
+
+    public ApiCallStats callStats() { return stats; }
+
+    public Map<String, Object> guardState() { return guard.snapshot(); }
+
+    @Autowired
+    void batchSettings(@Value("${bank.api.accounts-batch:200}") int accountsBatch) {
+        this.accountsBatch = checkBatch(accountsBatch);
+    }
+
+    // Fail at startup: 0 would never advance the batch loop (negative → empty batches)
+    static int checkBatch(int accountsBatch) {
+        if (accountsBatch < 1) {
+            throw new IllegalArgumentException("bank.api.accounts-batch must be >= 1, was " + accountsBatch);
+        }
+        return accountsBatch;
+    }
+
+    @Autowired
+    void cacheSettings(@Value("${bank.api.cache.enabled:true}") boolean enabled,
+                       @Value("${bank.api.cache.customer-ttl-s:30}") long customerTtlSeconds,
+                       @Value("${bank.api.cache.account-ttl-s:5}") long accountTtlSeconds,
+                       @Value("${bank.api.cache.max-entries:10000}") long maxEntries,
+                       @Value("${bank.api.cache.sticky-ms:5000}") long stickyMs) {
+        this.cache = new ApiReadCache(enabled, Duration.ofSeconds(customerTtlSeconds),
+                Duration.ofSeconds(accountTtlSeconds), maxEntries,
+                Duration.ofMillis(stickyMs), System::currentTimeMillis);
+    }
+
+    @Autowired
+    void guardSettings(@Value("${bank.api.guard.max-concurrent:20}") int maxConcurrent,
+                       @Value("${bank.api.guard.bulkhead-wait-ms:50}") long waitMs,
+                       @Value("${bank.api.guard.window:20}") int window,
+                       @Value("${bank.api.guard.min-calls:10}") int minCalls,
+                       @Value("${bank.api.guard.failure-rate-pct:50}") int failureRatePct,
+                       @Value("${bank.api.guard.slow-call-ms:2000}") long slowCallMs,
+                       @Value("${bank.api.guard.slow-rate-pct:80}") int slowRatePct,
+                       @Value("${bank.api.guard.open-ms:10000}") long openMs,
+                       @Value("${bank.api.guard.half-open-calls:3}") int halfOpenCalls) {
+        this.guard = new ApiGuard(new ApiGuard.Settings(maxConcurrent, waitMs, new CircuitBreaker.Settings(
+                window, minCalls, failureRatePct, slowCallMs, slowRatePct, openMs, halfOpenCalls)), guardClock);
+    }
+
+    // Every GET goes through here: request memo → join an identical in-flight call → guarded backend call
+    @SuppressWarnings("unchecked")
+    private <T> T read(ApiGroup group, String url, Supplier<T> call) {
+        Object memo = RequestMemo.get(url);
+        if (memo != null) {
+            stats.memoHit();
+            return (T) memo;
+        }
+        T value = flights.run(url, () -> guard.call(group, call));
+        RequestMemo.put(url, value);
+        if (value != null) lastKnownGood.put(url, value);
+        return value;
+    }
+
+    // Outermost layer of a GET (outside the TTL cache, so stale data is never cached as fresh):
+    // backend down/slow/rejected → last good body for this url, request marked stale; no such body → rethrow
+    @SuppressWarnings("unchecked")
+    private <T> T orStale(String url, Supplier<T> fresh) {
+        try {
+            return fresh.get();
+        } catch (RuntimeException ex) {
+            Object last = ApiGuard.isBackendFailure(ex) ? lastKnownGood.getIfPresent(url) : null;
+            if (last == null) throw ex;
+            stats.staleServed();
+            StaleData.mark();
+            return (T) last;
+        }
+    }
+
+    private <T> T write(Supplier<T> call) {
+        return guard.call(ApiGroup.WRITES, call);
+    }
+
+    // After any write: no memoized or joined read from before it may be served
+    private void wrote() {
+        RequestMemo.clear();
+        flights.writeHappened();
+    }
+
+    // GET with If-None-Match: 304 → copy of the cached body, 200 → remember new ETag + a copy of the body
+    private <T> T conditionalGet(String url, Class<T> type, UnaryOperator<T> copy) {
+        EtagCache.Validated cached = etags.get(url);
+        HttpHeaders headers = new HttpHeaders();
+        if (cached != null) headers.setIfNoneMatch(cached.etag());
+
+        ResponseEntity<T> resp = rest.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), type);
+        if (resp.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return copy.apply(type.cast(cached.body()));
+        }
+        T body = resp.getBody();
+        String etag = resp.getHeaders().getETag();
+        if (etag != null && body != null) etags.put(url, etag, copy.apply(body));
+        else etags.remove(url);
+        return body;
+    }
+
+    // Field copies for the ETag cache (all fields are immutable values, so one level is deep enough)
+    private static AccountDto copy(AccountDto a) {
+        AccountDto c = new AccountDto();
+        c.setId(a.getId());
+        c.setCustomerId(a.getCustomerId());
+        c.setNumber(a.getNumber());
+        c.setBalance(a.getBalance());
+        c.setCurrency(a.getCurrency());
+        return c;
+    }
+
+    private static TransactionDto[] copy(TransactionDto[] list) {
+        TransactionDto[] out = new TransactionDto[list.length];
+        for (int i = 0; i < list.length; i++) {
+            TransactionDto t = list[i];
+            TransactionDto c = new TransactionDto();
+            c.setId(t.getId());
+            c.setAccountId(t.getAccountId());
+            c.setType(t.getType());
+            c.setAmount(t.getAmount());
+            c.setDescription(t.getDescription());
+            c.setCreatedAt(t.getCreatedAt());
+            out[i] = c;
+        }
+        return out;
+    }
+
     // ---------- Customers ----------
     public List<CustomerDto> getCustomers() {
         String url = baseUrl + customersPath;
-        ResponseEntity<CustomerDto[]> resp = rest.getForEntity(url, CustomerDto[].class);
-        List<CustomerDto> list = Arrays.asList(Objects.requireNonNull(resp.getBody()));
-        for (CustomerDto c : list) setFullName(c); // compute full name for views
-        return list;
+        return orStale(url, () -> read(ApiGroup.CUSTOMERS, url, () -> {
+            ResponseEntity<CustomerDto[]> resp = rest.getForEntity(url, CustomerDto[].class);
+            List<CustomerDto> list = Arrays.asList(Objects.requireNonNull(resp.getBody()));
+            for (CustomerDto c : list) setFullName(c); // compute full name for views
+            return list;
+        }));
+    }
+
+    // Page of customers with account counts + balances per currency (one grouped query on the REST side)
+    public List<CustomerOverviewDto> getCustomerOverview(int page, int size) {
+        String url = baseUrl + customersPath + "/overview?page=" + page + "&size=" + size;
+        return orStale(url, () -> read(ApiGroup.CUSTOMERS, url, () -> {
+            List<CustomerOverviewDto> list = List.of(Objects.requireNonNull(rest.getForObject(url, CustomerOverviewDto[].class)));
+            for (CustomerOverviewDto c : list) setFullName(c);
+            return list;
+        }));
     }
 
     public CustomerDto getCustomer(Long id) {
         String url = baseUrl + customersPath + "/" + id;
-        CustomerDto c = Objects.requireNonNull(rest.getForObject(url, CustomerDto.class));
-        setFullName(c);
-        return c;
+        return orStale(url, () -> cache.customer(id, () -> read(ApiGroup.CUSTOMERS, url, () -> {
+            CustomerDto c = Objects.requireNonNull(rest.getForObject(url, CustomerDto.class));
+            setFullName(c);
+            return c;
+        })));
     }
 
     public CustomerDto createCustomer(CustomerDto form) {
@@ -48,7 +219,12 @@ public class BankApiClient {
         payload.put("firstName", form.getFirstName());
         payload.put("lastName",  form.getLastName());
         payload.put("email",     form.getEmail());
-        ResponseEntity<CustomerDto> resp = rest.postForEntity(url, payload, CustomerDto.class);
+        ResponseEntity<CustomerDto> resp;
+        try {
+            resp = write(() -> rest.postForEntity(url, payload, CustomerDto.class));
+        } finally {
+            wrote();
+        }
         CustomerDto body = resp.getBody();
         if (body != null) setFullName(body);
         return body;
@@ -60,12 +236,22 @@ public class BankApiClient {
         payload.put("firstName", form.getFirstName());
         payload.put("lastName",  form.getLastName());
         payload.put("email",     form.getEmail());
-        rest.put(url, payload);
+        try {
+            write(() -> { rest.put(url, payload); return null; });
+        } finally {
+            cache.customerChanged(id); // also on failure: the PUT may have been applied
+            wrote();
+        }
         return getCustomer(id); // re-fetch to get updated + computed fullName
     }
 
     public void deleteCustomer(Long id) {
-        rest.delete(baseUrl + customersPath + "/" + id);
+        try {
+            write(() -> { rest.delete(baseUrl + customersPath + "/" + id); return null; });
+        } finally {
+            cache.customerDeleted(id);
+            wrote();
+        }
     }
 
     // Build "First Last" for MVC (not persisted by API)
@@ -78,19 +264,42 @@ public class BankApiClient {
     // ---------- Accounts (nested under customer) ----------
     public List<AccountDto> getAccountsByCustomer(Long customerId) {
         String url = baseUrl + customersPath + "/" + customerId + "/accounts";
-        ResponseEntity<AccountDto[]> resp = rest.getForEntity(url, AccountDto[].class);
-        return Arrays.asList(Objects.requireNonNull(resp.getBody()));
+        return orStale(url, () -> cache.accountList(customerId, () -> read(ApiGroup.ACCOUNTS, url, () -> {
+            ResponseEntity<AccountDto[]> resp = rest.getForEntity(url, AccountDto[].class);
+            return List.of(Objects.requireNonNull(resp.getBody())); // shared by pages → immutable
+        })));
     }
 
     public AccountDto getAccount(Long customerId, Long accountId) {
         String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + accountId;
-        return Objects.requireNonNull(rest.getForObject(url, AccountDto.class));
+        AccountDto a = orStale(url, () -> cache.account(customerId, accountId,
+                () -> read(ApiGroup.ACCOUNTS, url, () -> Objects.requireNonNull(conditionalGet(url, AccountDto.class, BankApiClient::copy)))));
+        RequestMemo.put(publicUrl(accountId), a); // same account → a later getAccountByAnyId in this request is free
+        return a;
     }
 
-    public List<TransactionDto> getAccountTransactions(Long customerId, Long accountId) {
-        String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + accountId + "/transactions";
-        ResponseEntity<TransactionDto[]> resp = rest.getForEntity(url, TransactionDto[].class);
-        return Arrays.asList(Objects.requireNonNull(resp.getBody()));
+    // One page of history, newest first (beforeId = last id already shown, null → first page).
+    // The first page is what the account view shows on every visit: conditional, 304 until a money op.
+    public List<TransactionDto> getTransactionsPage(Long customerId, Long accountId, Long beforeId, int size) {
+        String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + accountId + "/transactions/page?size=" + size
+                + (beforeId != null ? "&before=" + beforeId : "");
+        return orStale(url, () -> read(ApiGroup.TRANSACTIONS, url, () -> List.of(Objects.requireNonNull(beforeId == null
+                ? conditionalGet(url, TransactionDto[].class, BankApiClient::copy)
+                : rest.getForObject(url, TransactionDto[].class)))));
+    }
+
+    // Customer + accounts + recent transactions in one round trip
+    // accountId == null → recent transactions across all accounts of the customer
+    public DashboardDto getDashboard(Long customerId, Long accountId, int trx) {
+        String url = baseUrl + customersPath + "/" + customerId + "/dashboard?trx=" + trx
+                + (accountId != null ? "&account=" + accountId : "");
+        return orStale(url, () -> read(ApiGroup.TRANSACTIONS, url, () -> {
+            DashboardDto d = Objects.requireNonNull(rest.getForObject(url, DashboardDto.class));
+            if (d.getCustomer() != null) setFullName(d.getCustomer());
+            if (d.getAccounts() == null) d.setAccounts(List.of());
+            if (d.getTransactions() == null) d.setTransactions(List.of());
+            return d;
+        }));
     }
 
     // Create account with number + currency + initial balance (as required by API)
@@ -100,24 +309,45 @@ public class BankApiClient {
         payload.put("number", number);
         payload.put("currency", currency);
         payload.put("balance", balance); // initial balance sent to REST
-        return Objects.requireNonNull(rest.postForObject(url, payload, AccountDto.class));
+        try {
+            return Objects.requireNonNull(write(() -> rest.postForObject(url, payload, AccountDto.class)));
+        } finally {
+            cache.accountListChanged(customerId);
+            wrote();
+        }
     }
 
     public void deleteAccount(Long customerId, Long accountId) {
         String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + accountId;
-        rest.delete(url);
+        try {
+            write(() -> { rest.delete(url); return null; });
+        } finally {
+            cache.accountChanged(accountId);
+            cache.accountListChanged(customerId);
+            wrote();
+        }
     }
 
     public TransactionDto deposit(Long customerId, Long accountId, BigDecimal amount, String description) {
         String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + accountId + "/deposit";
         Map<String, Object> payload = Map.of("amount", amount, "description", description);
-        return Objects.requireNonNull(rest.postForObject(url, payload, TransactionDto.class));
+        try {
+            return Objects.requireNonNull(write(() -> rest.postForObject(url, payload, TransactionDto.class)));
+        } finally {
+            cache.accountChanged(accountId);
+            wrote();
+        }
     }
 
     public TransactionDto withdraw(Long customerId, Long accountId, BigDecimal amount, String description) {
         String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + accountId + "/withdraw";
         Map<String, Object> payload = Map.of("amount", amount, "description", description);
-        return Objects.requireNonNull(rest.postForObject(url, payload, TransactionDto.class));
+        try {
+            return Objects.requireNonNull(write(() -> rest.postForObject(url, payload, TransactionDto.class)));
+        } finally {
+            cache.accountChanged(accountId);
+            wrote();
+        }
     }
 
     // Assume REST allows cross-customer transfers by toAccountId
@@ -127,12 +357,58 @@ public class BankApiClient {
         payload.put("toAccountId", toAccountId);
         payload.put("amount", amount);
         payload.put("description", description);
-        return Objects.requireNonNull(rest.postForObject(url, payload, TransactionDto.class));
+        try {
+            return Objects.requireNonNull(write(() -> rest.postForObject(url, payload, TransactionDto.class)));
+        } finally {
+            cache.accountChanged(fromAccountId);
+            cache.accountChanged(toAccountId); // may belong to another customer
+            wrote();
+        }
+    }
+
+    // Dry run of transfer(): the server checks ownership, target, currencies and funds in one read.
+    // A read (nothing written) → not memoized by URL, since amounts differ between calls.
+    // internal: toAccountId was offered as one of the customer's own accounts → the server checks that too.
+    public TransferQuoteDto quoteTransfer(Long customerId, Long fromAccountId, Long toAccountId, BigDecimal amount,
+                                          boolean internal) {
+        String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + fromAccountId + "/transfer/quote"
+                + (internal ? "?internal=true" : "");
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("toAccountId", toAccountId);
+        payload.put("amount", amount);
+        return Objects.requireNonNull(guard.call(ApiGroup.ACCOUNTS,
+                () -> rest.postForObject(url, payload, TransferQuoteDto.class)));
     }
 
     // Public read by account id (if backend exposes /api/accounts/{id})
     public AccountDto getAccountByAnyId(Long accountId) {
-        String url = baseUrl + "/api/accounts/" + accountId;
-        return rest.getForObject(url, AccountDto.class);
+        String url = publicUrl(accountId);
+        return orStale(url, () -> cache.publicAccount(accountId, () -> read(ApiGroup.ACCOUNTS, url, () -> conditionalGet(url, AccountDto.class, BankApiClient::copy))));
+    }
+
+    // Many accounts by id in one call per batch; result in input order, unknown ids → found=false.
+    // Found accounts are memoized for this request, so a later getAccountByAnyId(id) is free.
+    public List<AccountLookupDto> getAccountsByIds(List<Long> ids) {
+        List<AccountLookupDto> result = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += accountsBatch) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + accountsBatch));
+            AccountLookupDto[] slots;
+            if (batch.size() <= MAX_IDS_IN_URL) {
+                String url = baseUrl + "/api/accounts?ids=" + String.join(",", batch.stream().map(String::valueOf).toList());
+                slots = read(ApiGroup.ACCOUNTS, url, () -> rest.getForObject(url, AccountLookupDto[].class));
+            } else {
+                String url = baseUrl + "/api/accounts/lookup";
+                slots = guard.call(ApiGroup.ACCOUNTS, () -> rest.postForObject(url, batch, AccountLookupDto[].class));
+            }
+            for (AccountLookupDto slot : Objects.requireNonNull(slots)) {
+                if (slot.isFound()) RequestMemo.put(publicUrl(slot.getId()), slot.getAccount());
+                result.add(slot);
+            }
+        }
+        return result;
+    }
+
+    private String publicUrl(Long accountId) {
+        return baseUrl + "/api/accounts/" + accountId;
     }
 }
@@ -0,0 +1,89 @@
+package com.example.bank.mvc.service;
+
+/**
+ * Count-based circuit breaker over the last N calls.
+ * CLOSED → OPEN when failure rate or slow-call rate crosses its threshold (after minCalls);
+ * OPEN fails fast for openMs, then HALF_OPEN lets a few trial calls through:
+ * all succeed → CLOSED, any fails → OPEN again.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    record Settings(int window, int minCalls, int failureRatePct, long slowCallMs, int slowRatePct,
+                    long openMs, int halfOpenCalls) {
+        static Settings defaults() { return new Settings(20, 10, 50, 2000, 80, 10_000, 3); }
+    }
+
+    private final Settings s;
+
+    // Ring buffer of outcomes: bit 0 = failed, bit 1 = slow
+    private final byte[] outcomes;
+    private int next, recorded, failures, slow;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialsStarted, trialsSucceeded;
+
+    CircuitBreaker(Settings s) {
+        this.s = s;
+        this.outcomes = new byte[s.window()];
+    }
+
+    // May this call go through? (OPEN → HALF_OPEN once openMs has passed)
+    synchronized boolean tryAcquire(long nowMs) {
+        if (state == State.OPEN) {
+            if (nowMs - openedAt < s.openMs()) return false;
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= s.halfOpenCalls()) return false;
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    synchronized void record(boolean failed, long tookMs, long nowMs) {
+        boolean isSlow = tookMs >= s.slowCallMs();
+        if (state == State.HALF_OPEN) {
+            if (failed || isSlow) {
+                open(nowMs);
+            } else if (++trialsSucceeded >= s.halfOpenCalls()) {
+                reset();
+            }
+            return;
+        }
+        if (state == State.OPEN) return; // late result of a call started before opening
+
+        if (recorded == outcomes.length) { // drop the oldest outcome
+            byte old = outcomes[next];
+            if ((old & 1) != 0) failures--;
+            if ((old & 2) != 0) slow--;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = (byte) ((failed ? 1 : 0) | (isSlow ? 2 : 0));
+        next = (next + 1) % outcomes.length;
+        if (failed) failures++;
+        if (isSlow) slow++;
+
+        if (recorded >= s.minCalls()
+                && (failures * 100 >= s.failureRatePct() * recorded || slow * 100 >= s.slowRatePct() * recorded)) {
+            open(nowMs);
+        }
+    }
+
+    synchronized State state() { return state; }
+
+    private void open(long nowMs) {
+        state = State.OPEN;
+        openedAt = nowMs;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        next = recorded = failures = slow = 0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.bank.mvc.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Last ETag + body per GET url (validators for conditional requests).
+ * Small LRU so long sessions over many accounts don't grow without bound.
+ * Bodies are private copies: callers store a copy and get a copy back on 304 (DTOs are mutable).
+ */
+class EtagCache {
+
+    record Validated(String etag, Object body) { }
+
+    private final Map<String, Validated> entries;
+
+    EtagCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Validated> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized Validated get(String url) { return entries.get(url); }
+
+    synchronized void put(String url, String etag, Object body) { entries.put(url, new Validated(etag, body)); }
+
+    synchronized void remove(String url) { entries.remove(url); }
+}
@@ -0,0 +1,208 @@
+package com.example.bank.mvc.service;
+
+import com.example.bank.mvc.config.SessionIdInterceptor;
+import com.example.bank.mvc.dto.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking twin of BankApiClient (bank.api.client=reactive): same methods,
+ * results as Mono/Flux, nothing waits on a thread while the REST API answers.
+ * Call the methods on the MVC request thread (the X-Session-Id header is taken from
+ * the current HTTP session when the request is built); subscribing may happen anywhere.
+ * No client-side cache, guard or stale fallback here: those stay with the blocking client.
+ */
+@Service
+@ConditionalOnProperty(name = "bank.api.client", havingValue = "reactive")
+public class ReactiveBankApiClient {
+
+    @Value("${bank.api.base-url}")
+    private String baseUrl;
+
+    @Value("${bank.api.customers-path:/api/customers}")
+    private String customersPath;
+
+    private int accountsBatch = 200;
+
+    private final WebClient web;
+
+    public ReactiveBankApiClient(WebClient apiWebClient) { this.web = apiWebClient; }
+
+    @Autowired
+    void batchSettings(@Value("${bank.api.accounts-batch:200}") int accountsBatch) {
+        this.accountsBatch = BankApiClient.checkBatch(accountsBatch); // 0 → division by zero below
+    }
+
+    // ---------- Customers ----------
+    public Flux<CustomerDto> getCustomers() {
+        return get(baseUrl + customersPath).bodyToFlux(CustomerDto.class).map(this::setFullName);
+    }
+
+    public Mono<CustomerDto> getCustomer(Long id) {
+        return get(baseUrl + customersPath + "/" + id).bodyToMono(CustomerDto.class).map(this::setFullName);
+    }
+
+    public Mono<CustomerDto> createCustomer(CustomerDto form) {
+        return web.post().uri(baseUrl + customersPath).headers(session(true))
+                .bodyValue(customerPayload(form))
+                .retrieve().bodyToMono(CustomerDto.class).map(this::setFullName);
+    }
+
+    public Mono<CustomerDto> updateCustomer(Long id, CustomerDto form) {
+        Mono<CustomerDto> reread = getCustomer(id); // built now (request thread), sent after the PUT
+        return web.put().uri(baseUrl + customersPath + "/" + id).headers(session(true))
+                .bodyValue(customerPayload(form))
+                .retrieve().toBodilessEntity()
+                .then(reread); // re-fetch to get updated + computed fullName
+    }
+
+    public Mono<Void> deleteCustomer(Long id) {
+        return web.delete().uri(baseUrl + customersPath + "/" + id).headers(session(true))
+                .retrieve().toBodilessEntity().then();
+    }
+
+    private static Map<String, Object> customerPayload(CustomerDto form) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("firstName", form.getFirstName());
+        payload.put("lastName",  form.getLastName());
+        payload.put("email",     form.getEmail());
+        return payload;
+    }
+
+    // Build "First Last" for MVC (not persisted by API)
+    private CustomerDto setFullName(CustomerDto c) {
+        String fn = c.getFirstName() == null ? "" : c.getFirstName();
+        String ln = c.getLastName()  == null ? "" : c.getLastName();
+        c.setFullName((fn + " " + ln).trim());
+        return c;
+    }
+
+    // ---------- Accounts (nested under customer) ----------
+    public Flux<AccountDto> getAccountsByCustomer(Long customerId) {
+        return get(baseUrl + customersPath + "/" + customerId + "/accounts").bodyToFlux(AccountDto.class);
+    }
+
+    public Mono<AccountDto> getAccount(Long customerId, Long accountId) {
+        return get(baseUrl + customersPath + "/" + customerId + "/accounts/" + accountId)
+                .bodyToMono(AccountDto.class);
+    }
+
+    // One page of history, newest first (beforeId = last id already shown, null → first page)
+    public Flux<TransactionDto> getTransactionsPage(Long customerId, Long accountId, Long beforeId, int size) {
+        String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + accountId + "/transactions/page?size=" + size
+                + (beforeId != null ? "&before=" + beforeId : "");
+        return get(url).bodyToFlux(TransactionDto.class);
+    }
+
+    // Customer + accounts + recent transactions in one round trip
+    // accountId == null → recent transactions across all accounts of the customer
+    public Mono<DashboardDto> getDashboard(Long customerId, Long accountId, int trx) {
+        String url = baseUrl + customersPath + "/" + customerId + "/dashboard?trx=" + trx
+                + (accountId != null ? "&account=" + accountId : "");
+        return get(url).bodyToMono(DashboardDto.class).map(d -> {
+            if (d.getCustomer() != null) setFullName(d.getCustomer());
+            if (d.getAccounts() == null) d.setAccounts(java.util.List.of());
+            if (d.getTransactions() == null) d.setTransactions(java.util.List.of());
+            return d;
+        });
+    }
+
+    // Create account with number + currency + initial balance (as required by API)
+    public Mono<AccountDto> createAccount(Long customerId, String number, String currency, BigDecimal balance) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("number", number);
+        payload.put("currency", currency);
+        payload.put("balance", balance); // initial balance sent to REST
+        return post(baseUrl + customersPath + "/" + customerId + "/accounts", payload, AccountDto.class);
+    }
+
+    public Mono<Void> deleteAccount(Long customerId, Long accountId) {
+        return web.delete().uri(baseUrl + customersPath + "/" + customerId + "/accounts/" + accountId)
+                .headers(session(true))
+                .retrieve().toBodilessEntity().then();
+    }
+
+    public Mono<TransactionDto> deposit(Long customerId, Long accountId, BigDecimal amount, String description) {
+        String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + accountId + "/deposit";
+        return post(url, amountPayload(amount, description), TransactionDto.class);
+    }
+
+    public Mono<TransactionDto> withdraw(Long customerId, Long accountId, BigDecimal amount, String description) {
+        String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + accountId + "/withdraw";
+        return post(url, amountPayload(amount, description), TransactionDto.class);
+    }
+
+    // Assume REST allows cross-customer transfers by toAccountId
+    public Mono<TransactionDto> transfer(Long customerId, Long fromAccountId, Long toAccountId, BigDecimal amount, String description) {
+        String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + fromAccountId + "/transfer";
+        Map<String, Object> payload = amountPayload(amount, description);
+        payload.put("toAccountId", toAccountId);
+        return post(url, payload, TransactionDto.class);
+    }
+
+    // Dry run of transfer(): allowed?, currencies, available balance, fee
+    public Mono<TransferQuoteDto> quoteTransfer(Long customerId, Long fromAccountId, Long toAccountId, BigDecimal amount,
+                                                boolean internal) {
+        String url = baseUrl + customersPath + "/" + customerId + "/accounts/" + fromAccountId + "/transfer/quote"
+                + (internal ? "?internal=true" : "");
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("toAccountId", toAccountId);
+        payload.put("amount", amount);
+        return post(url, payload, TransferQuoteDto.class);
+    }
+
+    // Public read by account id (if backend exposes /api/accounts/{id}); 404 → empty
+    public Mono<AccountDto> getAccountByAnyId(Long accountId) {
+        return get(baseUrl + "/api/accounts/" + accountId)
+                .bodyToMono(AccountDto.class)
+                .onErrorResume(WebClientResponseException.class,
+                        ex -> ex.getStatusCode() == HttpStatus.NOT_FOUND ? Mono.empty() : Mono.error(ex));
+    }
+
+    // Many accounts by id: one POST /api/accounts/lookup per batch, slots in input order (unknown ids → found=false)
+    public Flux<AccountLookupDto> getAccountsByIds(List<Long> ids) {
+        return Flux.range(0, (ids.size() + accountsBatch - 1) / accountsBatch)
+                .map(i -> ids.subList(i * accountsBatch, Math.min(ids.size(), (i + 1) * accountsBatch)))
+                .concatMap(batch -> post(baseUrl + "/api/accounts/lookup", batch, AccountLookupDto[].class))
+                .flatMapIterable(List::of);
+    }
+
+    private static Map<String, Object> amountPayload(BigDecimal amount, String description) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("amount", amount);
+        payload.put("description", description);
+        return payload;
+    }
+
+    // ---------- plumbing ----------
+
+    private WebClient.ResponseSpec get(String url) {
+        return web.get().uri(url).headers(session(false)).retrieve(); // reads never create a session
+    }
+
+    private <T> Mono<T> post(String url, Object payload, Class<T> type) {
+        return web.post().uri(url).headers(session(true)).bodyValue(payload).retrieve().bodyToMono(type);
+    }
+
+    // Read-your-writes on the REST side (replica routing); evaluated now, on the calling thread
+    private static Consumer<HttpHeaders> session(boolean createSession) {
+        String token = SessionIdInterceptor.currentToken(createSession);
+        return h -> {
+            if (token != null) h.set(SessionIdInterceptor.HEADER, token);
+        };
+    }
+}
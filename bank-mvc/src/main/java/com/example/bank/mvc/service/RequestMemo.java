@@ -0,0 +1,30 @@
+package com.example.bank.mvc.service;
+
+import com.example.bank.mvc.config.ApiCallContext;
+
+/**
+ * GET results remembered for the lifetime of one MVC request (ApiCallContext),
+ * so one page never asks for the same resource twice. Fan-out threads share the same
+ * map through their context snapshot, hence a concurrent map.
+ * No request bound (scheduler, tests) → no memoization.
+ */
+final class RequestMemo {
+
+    private RequestMemo() { }
+
+    static Object get(String key) {
+        ApiCallContext ctx = ApiCallContext.current();
+        return ctx == null ? null : ctx.memo().get(key);
+    }
+
+    static void put(String key, Object value) {
+        ApiCallContext ctx = ApiCallContext.current();
+        if (ctx != null && value != null) ctx.memo().put(key, value);
+    }
+
+    // A write in this request: later reads must see its effect
+    static void clear() {
+        ApiCallContext ctx = ApiCallContext.current();
+        if (ctx != null) ctx.memo().clear();
+    }
+}
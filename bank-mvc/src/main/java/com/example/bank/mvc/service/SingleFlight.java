@@ -0,0 +1,56 @@
+package com.example.bank.mvc.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Concurrent identical GETs share one backend call: the first caller runs it,
+ * the others wait for its result (or exception).
+ * A write through the client starts a new generation, so nobody joins a read
+ * that began before that write.
+ */
+class SingleFlight {
+
+    private record Flight(long generation, CompletableFuture<Object> result) { }
+
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final ApiCallStats stats;
+
+    SingleFlight(ApiCallStats stats) { this.stats = stats; }
+
+    @SuppressWarnings("unchecked")
+    <T> T run(String key, Supplier<T> call) {
+        long gen = generation.get();
+        Flight mine = new Flight(gen, new CompletableFuture<>());
+        Flight current = inFlight.compute(key, (k, f) -> f != null && f.generation() == gen ? f : mine);
+        if (current != mine) {
+            stats.coalesced();
+            try {
+                return (T) current.result().join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException re) throw re;
+                if (ex.getCause() instanceof Error err) throw err;
+                throw ex;
+            }
+        }
+        stats.backendCall();
+        try {
+            T value = call.get();
+            mine.result().complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            mine.result().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    void writeHappened() {
+        generation.incrementAndGet();
+    }
+}
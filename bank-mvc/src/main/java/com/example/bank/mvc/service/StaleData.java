@@ -0,0 +1,27 @@
+package com.example.bank.mvc.service;
+
+import com.example.bank.mvc.config.ApiCallContext;
+
+/**
+ * Marks the current MVC request as "served from last-known-good data" (backend unavailable).
+ * The view shows a banner (StaleDataInterceptor adds `stale` to the model).
+ */
+public final class StaleData {
+
+    private StaleData() { }
+
+    static void mark() {
+        ApiCallContext ctx = ApiCallContext.current();
+        if (ctx != null) ctx.markStale();
+    }
+
+    public static boolean isStale(jakarta.servlet.http.HttpServletRequest request) {
+        ApiCallContext ctx = ApiCallContext.of(request);
+        return ctx != null && ctx.isStale();
+    }
+
+    static boolean isStale() {
+        ApiCallContext ctx = ApiCallContext.current();
+        return ctx != null && ctx.isStale();
+    }
+}
@@ -1,23 +1,37 @@
 package com.example.bank.mvc.web;
 
 import com.example.bank.mvc.dto.AccountDto;
+import com.example.bank.mvc.dto.DashboardDto;
+import com.example.bank.mvc.dto.TransactionDto;
+import com.example.bank.mvc.service.ApiFanOut;
 import com.example.bank.mvc.service.BankApiClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 @Controller
+@ConditionalOnProperty(name = "bank.api.client", havingValue = "blocking", matchIfMissing = true) // else ReactiveAccountsController
 public class AccountsController {
 
+    // Account page shows the newest rows at once; older ones load in pages as the table scrolls
+    static final int FIRST_SCREEN_ROWS = 20;
+    static final int PAGE_ROWS = 50;
+
     private final BankApiClient api;
+    private final ApiFanOut fanOut; // independent REST calls of a page run in parallel
 
-    public AccountsController(BankApiClient api) {
+    public AccountsController(BankApiClient api, ApiFanOut fanOut) {
         this.api = api;
+        this.fanOut = fanOut;
     }
 
     // Redirect root accounts to customers list
@@ -29,26 +43,44 @@ public class AccountsController {
     // List accounts for a customer
     @GetMapping("/customers/{customerId}/accounts")
     public String list(@PathVariable Long customerId, Model model) {
-        model.addAttribute("customer", api.getCustomer(customerId));
-        model.addAttribute("accounts", api.getAccountsByCustomer(customerId));
+        var customer = fanOut.fork(() -> api.getCustomer(customerId));
+        var accounts = fanOut.fork(() -> api.getAccountsByCustomer(customerId));
+        model.addAttribute("customer", customer.join());
+        model.addAttribute("accounts", accounts.join());
         return "accounts/list";
     }
 
-    // View single account + recent transactions (empty list if API fails)
+    // View single account + first screen of transactions (empty list if API fails)
     @GetMapping("/customers/{customerId}/accounts/{accountId}")
     public String view(@PathVariable Long customerId,
                        @PathVariable Long accountId,
                        Model model) {
-        model.addAttribute("customer", api.getCustomer(customerId));
-        model.addAttribute("account", api.getAccount(customerId, accountId));
-        try {
-            model.addAttribute("transactions", api.getAccountTransactions(customerId, accountId));
-        } catch (Exception e) {
-            model.addAttribute("transactions", java.util.List.of());
-        }
+        var customer = fanOut.fork(() -> api.getCustomer(customerId));
+        var account = fanOut.fork(() -> api.getAccount(customerId, accountId));
+        var transactions = fanOut.fork(() -> api.getTransactionsPage(customerId, accountId, null, FIRST_SCREEN_ROWS));
+        model.addAttribute("customer", customer.join());
+        model.addAttribute("account", account.join());
+        rows(model, customerId, accountId, transactions.joinOr(List.of()), FIRST_SCREEN_ROWS);
         return "accounts/view";
     }
 
+    // Next page of transaction rows (HTML fragment appended by the account page)
+    @GetMapping("/customers/{customerId}/accounts/{accountId}/transactions")
+    public String transactionRows(@PathVariable Long customerId,
+                                  @PathVariable Long accountId,
+                                  @RequestParam Long before,
+                                  Model model) {
+        rows(model, customerId, accountId, api.getTransactionsPage(customerId, accountId, before, PAGE_ROWS), PAGE_ROWS);
+        return "accounts/view :: rows";
+    }
+
+    // Model of the "rows" fragment; a full page means there may be more → cursor for the next one
+    static void rows(Model model, Long customerId, Long accountId, List<TransactionDto> page, int size) {
+        model.addAttribute("transactions", page);
+        model.addAttribute("rowsUrl", "/customers/" + customerId + "/accounts/" + accountId + "/transactions");
+        model.addAttribute("nextBefore", page.size() == size ? page.get(page.size() - 1).getId() : null);
+    }
+
     // ----- Open account -----
 
     // Show "new account" form
@@ -86,8 +118,10 @@ public class AccountsController {
     public String confirmDelete(@PathVariable Long customerId,
                                 @PathVariable Long accountId,
                                 Model model) {
-        var customer = api.getCustomer(customerId);
-        var account = api.getAccount(customerId, accountId);
+        var customerCall = fanOut.fork(() -> api.getCustomer(customerId));
+        var accountCall = fanOut.fork(() -> api.getAccount(customerId, accountId));
+        var customer = customerCall.join();
+        var account = accountCall.join();
         boolean canDelete = account.getBalance() == null
                 || account.getBalance().compareTo(BigDecimal.ZERO) == 0;
 
@@ -121,8 +155,10 @@ public class AccountsController {
     // Deposit form
     @GetMapping("/customers/{customerId}/accounts/{accountId}/deposit")
     public String depositForm(@PathVariable Long customerId, @PathVariable Long accountId, Model model) {
-        model.addAttribute("customer", api.getCustomer(customerId));
-        model.addAttribute("account", api.getAccount(customerId, accountId));
+        var customer = fanOut.fork(() -> api.getCustomer(customerId));
+        var account = fanOut.fork(() -> api.getAccount(customerId, accountId));
+        model.addAttribute("customer", customer.join());
+        model.addAttribute("account", account.join());
         return "accounts/deposit";
     }
 
@@ -147,8 +183,10 @@ public class AccountsController {
     // Withdraw form
     @GetMapping("/customers/{customerId}/accounts/{accountId}/withdraw")
     public String withdrawForm(@PathVariable Long customerId, @PathVariable Long accountId, Model model) {
-        model.addAttribute("customer", api.getCustomer(customerId));
-        model.addAttribute("account", api.getAccount(customerId, accountId));
+        var customer = fanOut.fork(() -> api.getCustomer(customerId));
+        var account = fanOut.fork(() -> api.getAccount(customerId, accountId));
+        model.addAttribute("customer", customer.join());
+        model.addAttribute("account", account.join());
         return "accounts/withdraw";
     }
 
@@ -173,23 +211,29 @@ public class AccountsController {
     public String transferForm(@PathVariable Long customerId,
                                @PathVariable Long accountId,
                                Model model) {
-        var customer = api.getCustomer(customerId);
-        var from = api.getAccount(customerId, accountId);
-        var all = api.getAccountsByCustomer(customerId);
+        // trx=0: customer + accounts in one call; REST checks the account is the customer's
+        transferModel(model, api.getDashboard(customerId, accountId, 0), accountId);
+        return "accounts/transfer";
+    }
+
+    // Model of the transfer form; "from" is taken from the customer's account list
+    static void transferModel(Model model, DashboardDto dashboard, Long accountId) {
+        var all = dashboard.getAccounts();
+        var from = all.stream().filter(a -> accountId.equals(a.getId())).findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "account not found"));
 
         // Build list of own target accounts with same currency (exclude self)
-        var sameCurrencyTargets = new java.util.ArrayList<>(all);
+        var sameCurrencyTargets = new ArrayList<>(all);
         sameCurrencyTargets.removeIf(a ->
                 a.getId().equals(from.getId()) ||
                         (a.getCurrency() != null && !a.getCurrency().equals(from.getCurrency()))
         );
 
-        model.addAttribute("customer", customer);
+        model.addAttribute("customer", dashboard.getCustomer());
         model.addAttribute("from", from);
         model.addAttribute("accounts", all);                // for "from" select
         model.addAttribute("targets", sameCurrencyTargets); // own "to" options
         model.addAttribute("hasTargets", !sameCurrencyTargets.isEmpty());
-        return "accounts/transfer";
     }
 
     // Unified transfer handler (own account or external by ID)
@@ -207,28 +251,18 @@ public class AccountsController {
                 ra.addFlashAttribute("error", "Choose exactly one destination.");
                 return "redirect:/customers/" + customerId + "/accounts/" + fromAccountId + "/transfer";
             }
-            var from = api.getAccount(customerId, fromAccountId);
             Long destId = (toAccountId != null) ? toAccountId : externalAccountId;
 
-            // Currency check for own transfers
-            if (toAccountId != null) {
-                var to = api.getAccount(customerId, toAccountId);
-                if (from.getCurrency() != null && to.getCurrency() != null
-                        && !from.getCurrency().equals(to.getCurrency())) {
-                    ra.addFlashAttribute("error", "Currencies must match (" + from.getCurrency() + ").");
-                    return "redirect:/customers/" + customerId + "/accounts/" + fromAccountId + "/transfer";
-                }
+            // One server-side check (ownership, target, currencies, funds) instead of reading both accounts here.
+            // An "own" target must really be the customer's (internal quote), not any id posted in the form.
+            var quote = api.quoteTransfer(customerId, fromAccountId, destId, amount, toAccountId != null);
+            if (!quote.isAllowed()) {
+                String error = (quote.getToCurrency() != null && !quote.isCurrencyMatch())
+                        ? "Currencies must match (" + quote.getCurrency() + ")."
+                        : "Transfer failed: " + quote.getReason() + ".";
+                ra.addFlashAttribute("error", error);
+                return "redirect:/customers/" + customerId + "/accounts/" + fromAccountId + "/transfer";
             }
-            // Optional currency check for external (if public endpoint exists)
-            try {
-                var publicTo = api.getAccountByAnyId(destId);
-                if (publicTo != null && publicTo.getCurrency() != null
-                        && from.getCurrency() != null
-                        && !from.getCurrency().equals(publicTo.getCurrency())) {
-                    ra.addFlashAttribute("error", "Currencies must match (" + from.getCurrency() + ").");
-                    return "redirect:/customers/" + customerId + "/accounts/" + fromAccountId + "/transfer";
-                }
-            } catch (Exception ignore) { /* no public endpoint – backend will validate */ }
 
             api.transfer(customerId, fromAccountId, destId, amount, description);
             ra.addFlashAttribute("message", "Transfer successful.");
@@ -10,21 +10,29 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @Controller
 public class CustomersController {
 
+    // Customers per list page
+    static final int PAGE_SIZE = 50;
+
     private final BankApiClient api;
 
     public CustomersController(BankApiClient api) {
         this.api = api;
     }
 
-    // List all customers (shows empty list + error banner on failure)
+    // List customers with account counts/totals, page by page (shows empty list + error banner on failure)
     @GetMapping("/customers")
-    public String list(Model model) {
+    public String list(@RequestParam(defaultValue = "0") int page, Model model) {
+        page = Math.max(page, 0);
         try {
-            model.addAttribute("customers", api.getCustomers());
+            var customers = api.getCustomerOverview(page, PAGE_SIZE);
+            model.addAttribute("customers", customers);
+            model.addAttribute("hasNext", customers.size() == PAGE_SIZE);
         } catch (Exception ex) {
             model.addAttribute("error", "Failed to load customers: " + ex.getMessage());
             model.addAttribute("customers", java.util.List.of());
+            model.addAttribute("hasNext", false);
         }
+        model.addAttribute("page", page);
         return "customers/list";
     }
 
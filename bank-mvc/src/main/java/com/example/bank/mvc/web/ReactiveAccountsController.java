@@ -0,0 +1,192 @@
+package com.example.bank.mvc.web;
+
+import com.example.bank.mvc.dto.TransactionDto;
+import com.example.bank.mvc.service.ApiFanOut;
+import com.example.bank.mvc.service.BankApiClient;
+import com.example.bank.mvc.service.ReactiveBankApiClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Account pages for bank.api.client=reactive (same URLs and views as AccountsController).
+ * Pages compose ReactiveBankApiClient calls and return a Mono: the servlet thread is
+ * released while the REST API answers and comes back only to render the view.
+ * Form posts are rare and need flash attributes → they stay on the blocking client.
+ */
+@Controller
+@ConditionalOnProperty(name = "bank.api.client", havingValue = "reactive")
+public class ReactiveAccountsController {
+
+    private final ReactiveBankApiClient api;
+    private final AccountsController writes; // blocking handlers for POSTs (not a bean here)
+
+    public ReactiveAccountsController(ReactiveBankApiClient api, BankApiClient blockingApi, ApiFanOut fanOut) {
+        this.api = api;
+        this.writes = new AccountsController(blockingApi, fanOut);
+    }
+
+    // Redirect root accounts to customers list
+    @GetMapping("/accounts")
+    public String accountsEntry() {
+        return "redirect:/customers";
+    }
+
+    // List accounts for a customer
+    @GetMapping("/customers/{customerId}/accounts")
+    public Mono<String> list(@PathVariable Long customerId, Model model) {
+        return Mono.zip(api.getCustomer(customerId), api.getAccountsByCustomer(customerId).collectList())
+                .map(t -> {
+                    model.addAttribute("customer", t.getT1());
+                    model.addAttribute("accounts", t.getT2());
+                    return "accounts/list";
+                });
+    }
+
+    // View single account + first screen of transactions (empty list if API fails)
+    @GetMapping("/customers/{customerId}/accounts/{accountId}")
+    public Mono<String> view(@PathVariable Long customerId,
+                             @PathVariable Long accountId,
+                             Model model) {
+        Mono<List<TransactionDto>> transactions = api
+                .getTransactionsPage(customerId, accountId, null, AccountsController.FIRST_SCREEN_ROWS)
+                .collectList()
+                .onErrorReturn(List.of());
+        return Mono.zip(api.getCustomer(customerId), api.getAccount(customerId, accountId), transactions)
+                .map(t -> {
+                    model.addAttribute("customer", t.getT1());
+                    model.addAttribute("account", t.getT2());
+                    AccountsController.rows(model, customerId, accountId, t.getT3(), AccountsController.FIRST_SCREEN_ROWS);
+                    return "accounts/view";
+                });
+    }
+
+    // Next page of transaction rows (HTML fragment appended by the account page)
+    @GetMapping("/customers/{customerId}/accounts/{accountId}/transactions")
+    public Mono<String> transactionRows(@PathVariable Long customerId,
+                                        @PathVariable Long accountId,
+                                        @RequestParam Long before,
+                                        Model model) {
+        return api.getTransactionsPage(customerId, accountId, before, AccountsController.PAGE_ROWS)
+                .collectList()
+                .map(page -> {
+                    AccountsController.rows(model, customerId, accountId, page, AccountsController.PAGE_ROWS);
+                    return "accounts/view :: rows";
+                });
+    }
+
+    // ----- Open account -----
+
+    // Show "new account" form
+    @GetMapping("/customers/{customerId}/accounts/new")
+    public Mono<String> newForm(@PathVariable Long customerId, Model model) {
+        return api.getCustomer(customerId).map(c -> {
+            model.addAttribute("customer", c);
+            return "accounts/new";
+        });
+    }
+
+    @PostMapping("/customers/{customerId}/accounts")
+    public String create(@PathVariable Long customerId,
+                         @RequestParam String number,
+                         @RequestParam String currency,
+                         @RequestParam BigDecimal balance,
+                         RedirectAttributes ra) {
+        return writes.create(customerId, number, currency, balance, ra);
+    }
+
+    // ---------- Delete account ----------
+
+    // Confirm delete page (allowed only when balance == 0)
+    @GetMapping("/customers/{customerId}/accounts/{accountId}/delete")
+    public Mono<String> confirmDelete(@PathVariable Long customerId,
+                                      @PathVariable Long accountId,
+                                      Model model) {
+        return Mono.zip(api.getCustomer(customerId), api.getAccount(customerId, accountId))
+                .map(t -> {
+                    var account = t.getT2();
+                    boolean canDelete = account.getBalance() == null
+                            || account.getBalance().compareTo(BigDecimal.ZERO) == 0;
+                    model.addAttribute("customer", t.getT1());
+                    model.addAttribute("account", account);
+                    model.addAttribute("canDelete", canDelete);
+                    return "accounts/delete";
+                });
+    }
+
+    @PostMapping("/customers/{customerId}/accounts/{accountId}/delete")
+    public String doDelete(@PathVariable Long customerId,
+                           @PathVariable Long accountId,
+                           RedirectAttributes ra) {
+        return writes.doDelete(customerId, accountId, ra);
+    }
+
+    // ---------- Deposit / withdraw ----------
+
+    @GetMapping("/customers/{customerId}/accounts/{accountId}/deposit")
+    public Mono<String> depositForm(@PathVariable Long customerId, @PathVariable Long accountId, Model model) {
+        return accountForm(customerId, accountId, model, "accounts/deposit");
+    }
+
+    @PostMapping("/customers/{customerId}/accounts/{accountId}/deposit")
+    public String doDeposit(@PathVariable Long customerId, @PathVariable Long accountId,
+                            @RequestParam BigDecimal amount,
+                            @RequestParam(required = false) String description,
+                            RedirectAttributes ra) {
+        return writes.doDeposit(customerId, accountId, amount, description, ra);
+    }
+
+    @GetMapping("/customers/{customerId}/accounts/{accountId}/withdraw")
+    public Mono<String> withdrawForm(@PathVariable Long customerId, @PathVariable Long accountId, Model model) {
+        return accountForm(customerId, accountId, model, "accounts/withdraw");
+    }
+
+    @PostMapping("/customers/{customerId}/accounts/{accountId}/withdraw")
+    public String doWithdraw(@PathVariable Long customerId, @PathVariable Long accountId,
+                             @RequestParam BigDecimal amount,
+                             @RequestParam(required = false) String description,
+                             RedirectAttributes ra) {
+        return writes.doWithdraw(customerId, accountId, amount, description, ra);
+    }
+
+    // Customer + account → form view
+    private Mono<String> accountForm(Long customerId, Long accountId, Model model, String view) {
+        return Mono.zip(api.getCustomer(customerId), api.getAccount(customerId, accountId))
+                .map(t -> {
+                    model.addAttribute("customer", t.getT1());
+                    model.addAttribute("account", t.getT2());
+                    return view;
+                });
+    }
+
+    // ---------- Transfer ----------
+
+    // Transfer form (pre-fills same-currency targets, excludes self)
+    @GetMapping("/customers/{customerId}/accounts/{accountId}/transfer")
+    public Mono<String> transferForm(@PathVariable Long customerId,
+                                     @PathVariable Long accountId,
+                                     Model model) {
+        return api.getDashboard(customerId, accountId, 0)
+                .map(d -> {
+                    AccountsController.transferModel(model, d, accountId);
+                    return "accounts/transfer";
+                });
+    }
+
+    @PostMapping("/customers/{customerId}/transfer")
+    public String doTransferAny(@PathVariable Long customerId,
+                                @RequestParam Long fromAccountId,
+                                @RequestParam(required = false) Long toAccountId,
+                                @RequestParam(required = false) Long externalAccountId,
+                                @RequestParam BigDecimal amount,
+                                @RequestParam(required = false) String description,
+                                RedirectAttributes ra) {
+        return writes.doTransferAny(customerId, fromAccountId, toAccountId, externalAccountId, amount, description, ra);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.bank.mvc.web;
+
+import com.example.bank.mvc.service.StaleData;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Page rendered from last-known-good data (REST API unavailable) → `stale` = true in the model,
+ * templates show a banner. Redirects carry nothing.
+ */
+public class StaleDataInterceptor implements HandlerInterceptor {
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView mv) {
+        if (mv != null && StaleData.isStale(request)
+                && (mv.getViewName() == null || !mv.getViewName().startsWith("redirect:"))) {
+            mv.addObject("stale", true);
+        }
+    }
+}
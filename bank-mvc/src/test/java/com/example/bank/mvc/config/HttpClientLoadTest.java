@@ -0,0 +1,134 @@
+package com.example.bank.mvc.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pooled HttpClient vs the JDK HttpURLConnection default, against a local stub backend.
+ * Timeout check always runs; the load comparison only with -Dbench=true:
+ *   mvn -pl bank-mvc -am test -Dtest=HttpClientLoadTest -Dbench=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+class HttpClientLoadTest {
+
+    private static final byte[] BODY = ("[" + "{\"id\":1,\"number\":\"PL-0001\",\"currency\":\"PLN\",\"balance\":100.00},".repeat(30)
+            + "{\"id\":1}]").getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private volatile long delayMs = 5;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        System.setProperty("sun.net.httpserver.nodelay", "true"); // no Nagle/delayed-ACK stalls in the stub
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        server.createContext("/api/accounts", ex -> {
+            try { Thread.sleep(delayMs); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            ex.getResponseHeaders().set("Content-Type", "application/json");
+            ex.sendResponseHeaders(200, BODY.length);
+            ex.getResponseBody().write(BODY);
+            ex.close();
+        });
+        server.createContext("/api/slow", ex -> {
+            try { Thread.sleep(2_000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            ex.sendResponseHeaders(200, BODY.length);
+            ex.getResponseBody().write(BODY);
+            ex.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(64, r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            return t;
+        }));
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/accounts";
+    }
+
+    private static ClientHttpRequestFactory pooled(long readTimeoutMs) {
+        HttpClientConfig cfg = new HttpClientConfig();
+        var cm = cfg.apiConnectionManager(100, 50, 1000, readTimeoutMs, 300);
+        return new HttpComponentsClientHttpRequestFactory(cfg.apiHttpClient(cm, readTimeoutMs, 500, 30, 30));
+    }
+
+    @Test
+    void slow_backend_fails_at_read_timeout_instead_of_hanging() {
+        delayMs = 3_000;
+        RestTemplate rest = new RestTemplate(pooled(300));
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> rest.getForObject(url(), String.class)).isInstanceOf(ResourceAccessException.class);
+        assertThat((System.nanoTime() - started) / 1_000_000).isLessThan(2_000);
+    }
+
+    // ---------- load: 32 concurrent callers, 5 ms backend; then 1 call in 20 hits a 2 s endpoint ----------
+
+    @Test
+    @EnabledIfSystemProperty(named = "bench", matches = "true")
+    void load_pooled_vs_jdk_default() throws Exception {
+        run("healthy  jdk HttpURLConnection", new RestTemplate(new SimpleClientHttpRequestFactory()), 300, 0);
+        run("healthy  pooled HttpClient5   ", new RestTemplate(pooled(5_000)), 300, 0);
+        run("degraded jdk HttpURLConnection", new RestTemplate(new SimpleClientHttpRequestFactory()), 40, 20);
+        run("degraded pooled, 300 ms read  ", new RestTemplate(pooled(300)), 40, 20);
+    }
+
+    private void run(String name, RestTemplate rest, int perThread, int slowEvery) throws Exception {
+        int threads = 32;
+        String slowUrl = url().replace("/api/accounts", "/api/slow");
+        AtomicInteger errors = new AtomicInteger();
+        for (int i = 0; i < 200; i++) rest.getForObject(url(), String.class); // warm-up
+
+        long[] lat = new long[threads * perThread];
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+        Future<?>[] fs = new Future<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            final int base = t * perThread;
+            fs[t] = callers.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    long t0 = System.nanoTime();
+                    try {
+                        rest.getForObject(slowEvery > 0 && i % slowEvery == 0 ? slowUrl : url(), String.class);
+                    } catch (ResourceAccessException ex) {
+                        errors.incrementAndGet(); // timed out: the page shows an error / fallback
+                    }
+                    lat[base + i] = System.nanoTime() - t0;
+                }
+            });
+        }
+        for (Future<?> f : fs) f.get();
+        long wallMs = (System.nanoTime() - started) / 1_000_000;
+        callers.shutdown();
+        callers.awaitTermination(5, TimeUnit.SECONDS);
+
+        Arrays.sort(lat);
+        System.out.printf("%s: %d req (%d timed out) in %d ms (%.0f req/s)  p50=%.2f ms  p99=%.2f ms  max=%.2f ms%n",
+                name, lat.length, errors.get(), wallMs, lat.length * 1000.0 / wallMs,
+                lat[lat.length / 2] / 1e6, lat[(int) (lat.length * 0.99)] / 1e6, lat[lat.length - 1] / 1e6);
+    }
+}
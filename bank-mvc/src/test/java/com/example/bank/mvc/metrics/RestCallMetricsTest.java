@@ -0,0 +1,91 @@
+package com.example.bank.mvc.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RestCallMetricsTest {
+
+    @Test
+    void histogram_quantiles_within_bucket_error() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int ms = 1; ms <= 1000; ms++) h.recordNanos(ms * 1_000_000L);
+
+        assertThat(h.count()).isEqualTo(1000);
+        assertThat(h.quantileMillis(0.50)).isBetween(500.0, 500 * 1.07);
+        assertThat(h.quantileMillis(0.99)).isBetween(990.0, 1000.0);
+        assertThat(h.maxMillis()).isEqualTo(1000.0);
+        assertThat(h.meanMillis()).isEqualTo(500.5);
+    }
+
+    @Test
+    void histogram_is_safe_under_concurrent_recording() throws Exception {
+        LatencyHistogram h = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> { for (int i = 0; i < 100_000; i++) h.recordNanos(i * 1_000L); });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(h.count()).isEqualTo(800_000);
+    }
+
+    @Test
+    void interceptor_tags_method_uri_template_and_status() {
+        RestCallMetrics metrics = new RestCallMetrics();
+        RestTemplate rest = new RestTemplate();
+        rest.getInterceptors().add(new RestCallMetricsInterceptor(metrics, 0, 1000));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo("http://api/api/customers/7")).andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://api/api/customers/8")).andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://api/api/customers/8/accounts/9?x=1")).andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        rest.getForObject("http://api/api/customers/7", String.class);
+        rest.getForObject("http://api/api/customers/8", String.class);
+        assertThatThrownBy(() -> rest.getForObject("http://api/api/customers/8/accounts/9?x=1", String.class))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+
+        List<Map<String, Object>> snap = metrics.snapshot();
+        assertThat(snap).anySatisfy(m -> assertThat(m)
+                .containsEntry("method", "GET").containsEntry("uri", "/api/customers/{id}")
+                .containsEntry("status", 200).containsEntry("count", 2L));
+        assertThat(snap).anySatisfy(m -> assertThat(m)
+                .containsEntry("uri", "/api/customers/{id}/accounts/{id}").containsEntry("status", 404));
+    }
+
+    @Test
+    void template_found_in_place_for_any_number_of_ids() {
+        for (String path : List.of("/", "/api/customers", "/api/customers/7/accounts/12", "/a//1/", "/v2/x1/3")) {
+            assertThat(RestCallMetrics.templateHash(path)).as(path).isEqualTo(new RestCallMetrics().template(path).hashCode());
+        }
+
+        RestCallMetrics metrics = new RestCallMetrics();
+        for (int id = 0; id < 20_000; id++) {
+            metrics.record("GET", "/api/customers/" + id + "/accounts", 200, 1_000_000L);
+        }
+        metrics.record("GET", "/api/customers/1/accounts/2", 200, 1_000_000L);
+        metrics.record("GET", "/api/customers/x/accounts", 200, 1_000_000L);
+
+        assertThat(metrics.snapshot()).extracting(m -> m.get("uri"), m -> m.get("count")).containsExactlyInAnyOrder(
+                tuple("/api/customers/{id}/accounts", 20_000L),
+                tuple("/api/customers/{id}/accounts/{id}", 1L),
+                tuple("/api/customers/x/accounts", 1L));
+        assertThat(metrics.template("/a//1/")).isEqualTo("/a//{id}/");
+    }
+}
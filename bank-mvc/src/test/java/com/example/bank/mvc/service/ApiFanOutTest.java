@@ -0,0 +1,61 @@
+package com.example.bank.mvc.service;
+
+import com.example.bank.mvc.config.FanOutConfig;
+import com.example.bank.mvc.config.SessionIdInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApiFanOutTest {
+
+    private final ApiFanOut fanOut = new ApiFanOut(new FanOutConfig().apiExecutor(2, 10, false), 200);
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void join_rethrows_the_call_exception_and_joinOr_falls_back() {
+        var notFound = HttpClientErrorException.create(org.springframework.http.HttpStatus.NOT_FOUND,
+                "Not Found", null, null, null);
+        assertThatThrownBy(() -> fanOut.fork(() -> { throw notFound; }).join()).isSameAs(notFound);
+        assertThat(fanOut.<String>fork(() -> { throw notFound; }).joinOr("fallback")).isEqualTo("fallback");
+    }
+
+    @Test
+    void slow_call_times_out() {
+        var call = fanOut.fork(() -> {
+            try { Thread.sleep(2_000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            return "late";
+        });
+        assertThatThrownBy(call::join).isInstanceOf(ResourceAccessException.class).hasMessageContaining("timed out");
+    }
+
+    @Test
+    void calls_see_a_snapshot_of_the_callers_request_not_the_request_itself() {
+        var request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        String token = SessionIdInterceptor.currentToken(true);
+        RequestMemo.put("/api/customers/1", "memoized");
+
+        var seen = fanOut.fork(() -> {
+            StaleData.mark();
+            return List.of(String.valueOf(RequestContextHolder.getRequestAttributes()),
+                    String.valueOf(RequestMemo.get("/api/customers/1")),
+                    String.valueOf(SessionIdInterceptor.currentToken(false)));
+        });
+
+        assertThat(seen.join()).containsExactly("null", "memoized", token);
+        assertThat(StaleData.isStale(request)).isTrue(); // the worker's mark reaches the page
+    }
+}
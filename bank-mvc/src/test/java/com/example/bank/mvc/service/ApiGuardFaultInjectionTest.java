@@ -0,0 +1,149 @@
+package com.example.bank.mvc.service;
+
+import com.example.bank.mvc.config.HttpClientConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Fault injection against a local stub backend (real HTTP, pooled client):
+ * 5xx → circuit opens and last-known-good data is served (request marked stale), then recovers;
+ * hanging backend → bulkhead rejects calls beyond its limit instead of piling threads up.
+ */
+class ApiGuardFaultInjectionTest {
+
+    enum Mode { OK, FAIL, HANG }
+
+    private HttpServer server;
+    private volatile Mode mode = Mode.OK;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicLong nowMs = new AtomicLong(1_000_000);   // breaker clock, moved by the test
+    private BankApiClient api;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+        server.createContext("/api/customers", ex -> {
+            hits.incrementAndGet();
+            Mode m = mode;
+            if (m == Mode.HANG) {
+                try { Thread.sleep(1_000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            }
+            if (m == Mode.FAIL) {
+                ex.sendResponseHeaders(503, -1);
+            } else {
+                byte[] body = "{\"id\":1,\"firstName\":\"Jane\"}".getBytes(StandardCharsets.UTF_8);
+                ex.getResponseHeaders().set("Content-Type", "application/json");
+                ex.sendResponseHeaders(200, body.length);
+                ex.getResponseBody().write(body);
+            }
+            ex.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(16));
+        server.start();
+
+        HttpClientConfig cfg = new HttpClientConfig();
+        var cm = cfg.apiConnectionManager(20, 20, 500, 3_000, 60);
+        api = new BankApiClient(new RestTemplate(new HttpComponentsClientHttpRequestFactory(
+                cfg.apiHttpClient(cm, 3_000, 500, 30, 30))));
+        ReflectionTestUtils.setField(api, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(api, "customersPath", "/api/customers");
+        api.cacheSettings(false, 30, 5, 100, 0);   // every read goes to the backend
+        ReflectionTestUtils.setField(api, "guardClock", (LongSupplier) nowMs::get);
+        // 2 concurrent calls per group, no waiting; open after 4 calls with >= 50% failures, for 300 ms
+        api.guardSettings(2, 0, 4, 4, 50, 2_000, 100, 300, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void newRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @Test
+    void failing_backend_opens_circuit_serves_stale_and_recovers() throws Exception {
+        newRequest();
+        assertThat(api.getCustomer(1L).getFullName()).isEqualTo("Jane");
+        assertThat(StaleData.isStale()).isFalse();
+
+        mode = Mode.FAIL;
+        for (int i = 0; i < 4; i++) {
+            newRequest();
+            assertThat(api.getCustomer(1L).getFullName()).isEqualTo("Jane"); // last known good
+            assertThat(StaleData.isStale()).isTrue();
+        }
+        assertThat(api.guardState().get("customers").toString()).contains("OPEN");
+
+        // Open: answered without any backend call
+        int before = hits.get();
+        newRequest();
+        assertThat(api.getCustomer(1L).getFullName()).isEqualTo("Jane");
+        assertThat(hits.get()).isEqualTo(before);
+        // Nothing known for this one → the failure surfaces
+        assertThatThrownBy(() -> api.getCustomer(2L)).isInstanceOf(BackendUnavailableException.class);
+
+        // Backend back; still open just before openMs, a trial call closes it after
+        mode = Mode.OK;
+        nowMs.addAndGet(299);
+        assertThatThrownBy(() -> api.getCustomer(2L)).isInstanceOf(BackendUnavailableException.class);
+        assertThat(hits.get()).isEqualTo(before);
+        nowMs.addAndGet(1);
+        newRequest();
+        assertThat(api.getCustomer(2L).getFullName()).isEqualTo("Jane");
+        assertThat(StaleData.isStale()).isFalse();
+        assertThat(api.guardState().get("customers").toString()).contains("CLOSED");
+        assertThat(api.callStats().snapshot().get("staleServed")).isEqualTo(5L);
+    }
+
+    @Test
+    void hanging_backend_is_limited_by_the_bulkhead() throws Exception {
+        mode = Mode.HANG;
+        ExecutorService callers = Executors.newFixedThreadPool(5);
+        List<Future<?>> calls = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            final long cid = id; // distinct urls: no single-flight sharing
+            calls.add(callers.submit(() -> api.getCustomer(cid)));
+        }
+        int rejected = 0, completed = 0;
+        for (Future<?> f : calls) {
+            try {
+                f.get();
+                completed++;
+            } catch (java.util.concurrent.ExecutionException ex) {
+                assertThat(ex.getCause()).isInstanceOf(BackendUnavailableException.class)
+                        .hasMessageContaining("bulkhead full");
+                rejected++;
+            }
+        }
+        callers.shutdown();
+        assertThat(completed).isEqualTo(2);
+        assertThat(rejected).isEqualTo(3);
+        assertThat(hits.get()).isEqualTo(2);
+    }
+}
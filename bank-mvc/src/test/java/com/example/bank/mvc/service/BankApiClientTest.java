@@ -2,23 +2,35 @@ package com.example.bank.mvc.service;
 
 import com.example.bank.mvc.dto.AccountDto;
 import com.example.bank.mvc.dto.CustomerDto;
+import com.example.bank.mvc.dto.DashboardDto;
 import com.example.bank.mvc.dto.TransactionDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 class BankApiClientTest {
@@ -86,6 +98,45 @@ class BankApiClientTest {
         server.verify();
     }
 
+    @Test
+    @DisplayName("getDashboard: one GET for customer + accounts + transactions")
+    void getDashboard_oneCall() {
+        server.expect(requestTo("http://localhost:8080/api/customers/3/dashboard?trx=5&account=7"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("""
+                        {"customer":{"id":3,"firstName":"Ann","lastName":"Lee"},
+                         "accounts":[{"id":7,"currency":"PLN"}],
+                         "accountId":7,
+                         "transactions":[{"accountId":7,"type":"DEPOSIT","amount":1.00}]}
+                        """, MediaType.APPLICATION_JSON));
+
+        DashboardDto d = api.getDashboard(3L, 7L, 5);
+
+        assertThat(d.getCustomer().getFullName()).isEqualTo("Ann Lee");
+        assertThat(d.getAccounts()).hasSize(1);
+        assertThat(d.getTransactions()).hasSize(1);
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("getCustomerOverview: one GET for a page of customers with counts and totals")
+    void getCustomerOverview_oneCall() {
+        server.expect(requestTo("http://localhost:8080/api/customers/overview?page=2&size=50"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("""
+                        [{"id":3,"firstName":"Ann","lastName":"Lee","accountCount":2,
+                          "balances":[{"currency":"PLN","total":15.00},{"currency":"USD","total":7.00}]}]
+                        """, MediaType.APPLICATION_JSON));
+
+        var page = api.getCustomerOverview(2, 50);
+
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).getFullName()).isEqualTo("Ann Lee");
+        assertThat(page.get(0).getAccountCount()).isEqualTo(2);
+        assertThat(page.get(0).getBalances()).extracting("currency").containsExactly("PLN", "USD");
+        server.verify();
+    }
+
     @Test
     @DisplayName("getAccountByAnyId hits public /api/accounts/{id}")
     void getAccountByAnyId_url() {
@@ -98,4 +149,222 @@ class BankApiClientTest {
         assertThat(dto).isNotNull();
         server.verify();
     }
+
+    @Test
+    @DisplayName("getAccount sends stored ETag and reuses cached body on 304")
+    void getAccount_conditionalGet() {
+        api.cacheSettings(false, 30, 5, 100, 0); // revalidate every time (no TTL cache in front)
+        String url = "http://localhost:8080/api/customers/1/accounts/2";
+        server.expect(requestTo(url))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\":2,\"balance\":10.00}", MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ETAG, "\"a2-0\""));
+        server.expect(requestTo(url))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"a2-0\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"a2-0\""));
+
+        AccountDto first = api.getAccount(1L, 2L);
+        first.setBalance(BigDecimal.ZERO); // a caller mutating its DTO must not change the cached body
+        AccountDto second = api.getAccount(1L, 2L);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getBalance()).isEqualByComparingTo("10.00");
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("first transactions page is conditional (304 → cached rows); later pages are not")
+    void transactionsPage_firstPageConditional() {
+        String first = "http://localhost:8080/api/customers/1/accounts/2/transactions/page?size=20";
+        server.expect(requestTo(first))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("[{\"id\":9,\"amount\":1.00}]", MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ETAG, "W/\"t2-3\""));
+        server.expect(requestTo(first))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "W/\"t2-3\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "W/\"t2-3\""));
+        server.expect(requestTo(first + "&before=9"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        api.getTransactionsPage(1L, 2L, null, 20);
+        assertThat(api.getTransactionsPage(1L, 2L, null, 20)).extracting(TransactionDto::getId).containsExactly(9L);
+        assertThat(api.getTransactionsPage(1L, 2L, 9L, 20)).isEmpty();
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("getCustomer / getAccountsByCustomer: second call within TTL served from cache")
+    void reads_cachedWithinTtl() {
+        server.expect(requestTo("http://localhost:8080/api/customers/1"))
+                .andRespond(withSuccess("{\"id\":1,\"firstName\":\"Jane\"}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:8080/api/customers/1/accounts"))
+                .andRespond(withSuccess("[{\"id\":2}]", MediaType.APPLICATION_JSON));
+
+        assertThat(api.getCustomer(1L)).isSameAs(api.getCustomer(1L));
+        assertThat(api.getAccountsByCustomer(1L)).isSameAs(api.getAccountsByCustomer(1L));
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("transfer drops cached views of both accounts (target may be another customer's)")
+    void transfer_invalidatesBothSides() {
+        String from = "http://localhost:8080/api/customers/1/accounts/10";
+        String to = "http://localhost:8080/api/accounts/20";
+        server.expect(requestTo(from)).andRespond(withSuccess("{\"id\":10,\"balance\":100}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(to)).andRespond(withSuccess("{\"id\":20,\"balance\":0}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(from + "/transfer"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(from)).andRespond(withSuccess("{\"id\":10,\"balance\":95}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(to)).andRespond(withSuccess("{\"id\":20,\"balance\":5}", MediaType.APPLICATION_JSON));
+
+        api.getAccount(1L, 10L);
+        api.getAccountByAnyId(20L);
+        api.transfer(1L, 10L, 20L, new BigDecimal("5"), null);
+
+        assertThat(api.getAccount(1L, 10L).getBalance()).isEqualByComparingTo("95");
+        assertThat(api.getAccountByAnyId(20L).getBalance()).isEqualByComparingTo("5");
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("read cache: a load in flight while the account changes is not served afterwards")
+    void readCache_loadOverlappingWrite_notKept() {
+        ApiReadCache cache = new ApiReadCache(true, Duration.ofMinutes(1), Duration.ofMinutes(1), 100,
+                Duration.ZERO, System::currentTimeMillis);
+        AccountDto before = account(10L, "100");
+        AccountDto after = account(10L, "95");
+
+        cache.account(1L, 10L, () -> { cache.accountChanged(10L); return before; });
+        cache.publicAccount(10L, () -> { cache.accountChanged(10L); return before; });
+        cache.accountList(1L, () -> { cache.accountChanged(10L); return List.of(before); });
+
+        assertThat(cache.account(1L, 10L, () -> after)).isSameAs(after);
+        assertThat(cache.publicAccount(10L, () -> after)).isSameAs(after);
+        assertThat(cache.accountList(1L, () -> List.of(after))).containsExactly(after);
+    }
+
+    @Test
+    @DisplayName("read cache: a change to an account drops the list holding it, owner not needed")
+    void readCache_accountChanged_dropsListOfOtherCustomer() {
+        ApiReadCache cache = new ApiReadCache(true, Duration.ofMinutes(1), Duration.ofMinutes(1), 100,
+                Duration.ZERO, System::currentTimeMillis);
+        List<AccountDto> first = List.of(account(20L, "0"));
+        List<AccountDto> second = List.of(account(20L, "5"));
+
+        cache.accountList(2L, () -> first);
+        assertThat(cache.accountList(2L, () -> second)).isSameAs(first);
+
+        cache.accountChanged(20L);   // e.g. transfer target owned by customer 2
+        assertThat(cache.accountList(2L, () -> second)).isSameAs(second);
+
+        cache.customerDeleted(2L);
+        AccountDto gone = account(20L, "5");
+        cache.account(2L, 20L, () -> gone);
+        cache.customerDeleted(2L);
+        assertThat(cache.account(2L, 20L, () -> null)).isNull();
+    }
+
+    @Test
+    @DisplayName("read cache: reads within the sticky window after a write are not kept (may be replica-lagged)")
+    void readCache_readsSoonAfterWrite_notKept() {
+        AtomicLong nowMs = new AtomicLong(1_000_000);
+        ApiReadCache cache = new ApiReadCache(true, Duration.ofMinutes(1), Duration.ofMinutes(1), 100,
+                Duration.ofSeconds(5), nowMs::get);
+        AccountDto lagging = account(10L, "100");   // another session's read, served by a replica
+        AccountDto fresh = account(10L, "95");
+
+        cache.accountChanged(10L);                  // session A transfers from 10
+        nowMs.addAndGet(1_000);
+        cache.account(1L, 10L, () -> lagging);
+        cache.publicAccount(10L, () -> lagging);
+        cache.accountList(1L, () -> List.of(lagging));
+
+        // session A reads its write back: not from the lagging load
+        assertThat(cache.account(1L, 10L, () -> fresh)).isSameAs(fresh);
+        assertThat(cache.publicAccount(10L, () -> fresh)).isSameAs(fresh);
+        assertThat(cache.accountList(1L, () -> List.of(fresh))).containsExactly(fresh);
+
+        nowMs.addAndGet(5_000);                     // window over: cached again
+        cache.account(1L, 10L, () -> fresh);
+        assertThat(cache.account(1L, 10L, () -> lagging)).isSameAs(fresh);
+    }
+
+    private static AccountDto account(long id, String balance) {
+        AccountDto a = new AccountDto();
+        a.setId(id);
+        a.setBalance(new BigDecimal(balance));
+        return a;
+    }
+
+    @Test
+    @DisplayName("one MVC request: repeated GET memoized, a write clears the memo")
+    void requestMemo() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            String trx = "http://localhost:8080/api/customers/1/accounts/2/transactions/page?size=20";
+            server.expect(requestTo(trx)).andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+            server.expect(requestTo("http://localhost:8080/api/customers/1/accounts/2/deposit"))
+                    .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+            server.expect(requestTo(trx)).andRespond(withSuccess("[{}]", MediaType.APPLICATION_JSON));
+
+            api.getTransactionsPage(1L, 2L, null, 20);
+            api.getTransactionsPage(1L, 2L, null, 20); // memo
+            api.deposit(1L, 2L, BigDecimal.ONE, "x");
+
+            assertThat(api.getTransactionsPage(1L, 2L, null, 20)).hasSize(1);
+            assertThat(api.callStats().snapshot()).containsEntry("backendCalls", 2L).containsEntry("memoHits", 1L);
+            server.verify();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    @DisplayName("getAccountsByIds: one multi-get, slots in order, found accounts memoized for the request")
+    void getAccountsByIds_oneCall() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            server.expect(requestTo("http://localhost:8080/api/accounts?ids=7,8"))
+                    .andExpect(method(HttpMethod.GET))
+                    .andRespond(withSuccess("[{\"id\":7,\"found\":true,\"account\":{\"id\":7,\"currency\":\"PLN\"}},"
+                            + "{\"id\":8,\"found\":false}]", MediaType.APPLICATION_JSON));
+
+            var slots = api.getAccountsByIds(List.of(7L, 8L));
+
+            assertThat(slots).extracting(s -> s.getId()).containsExactly(7L, 8L);
+            assertThat(slots.get(1).isFound()).isFalse();
+            assertThat(api.getAccountByAnyId(7L).getCurrency()).isEqualTo("PLN"); // memo, no second call
+            server.verify();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    @DisplayName("getAccountsByIds: long lists go as POST /lookup in batches")
+    void getAccountsByIds_batches() {
+        ReflectionTestUtils.setField(api, "accountsBatch", 60);
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, 70).boxed().toList();
+        server.expect(requestTo("http://localhost:8080/api/accounts/lookup"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(jsonPath("$.length()").value(60))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:8080/api/accounts?ids=61,62,63,64,65,66,67,68,69,70"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        api.getAccountsByIds(ids);
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("accounts-batch below 1 is rejected when the property is bound")
+    void accountsBatch_mustBePositive() {
+        assertThatThrownBy(() -> api.batchSettings(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("bank.api.accounts-batch");
+        api.batchSettings(1);
+        assertThat(ReflectionTestUtils.getField(api, "accountsBatch")).isEqualTo(1);
+    }
 }
@@ -0,0 +1,79 @@
+package com.example.bank.mvc.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private final ApiCallStats stats = new ApiCallStats();
+    private final SingleFlight flights = new SingleFlight(stats);
+
+    @Test
+    void concurrent_identical_calls_share_one_backend_call() throws Exception {
+        // every caller but the first counts as "coalesced" once it has joined the flight
+        CountDownLatch joined = new CountDownLatch(7);
+        ApiCallStats counting = new ApiCallStats() {
+            @Override
+            void coalesced() {
+                super.coalesced();
+                joined.countDown();
+            }
+        };
+        SingleFlight flights = new SingleFlight(counting);
+        AtomicInteger backend = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> flights.run("/api/customers/1", () -> {
+                backend.incrementAndGet();
+                await(joined); // the backend answers only after all 7 others are waiting on it
+                return "customer-1";
+            })));
+        }
+
+        for (Future<String> f : results) assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo("customer-1");
+        pool.shutdown();
+        assertThat(joined.getCount()).isZero();
+        assertThat(backend.get()).isEqualTo(1);
+        assertThat(counting.snapshot()).containsEntry("backendCalls", 1L).containsEntry("coalesced", 7L);
+    }
+
+    @Test
+    void read_started_before_a_write_is_not_joined() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<String> old = pool.submit(() -> flights.run("/a/1", () -> {
+            started.countDown();
+            await(release);
+            return "before-write";
+        }));
+        started.await();
+
+        flights.writeHappened();
+        String fresh = flights.run("/a/1", () -> "after-write");
+        release.countDown();
+
+        assertThat(fresh).isEqualTo("after-write");
+        assertThat(old.get(5, TimeUnit.SECONDS)).isEqualTo("before-write");
+        pool.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
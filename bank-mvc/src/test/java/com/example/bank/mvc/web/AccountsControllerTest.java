@@ -2,7 +2,10 @@ package com.example.bank.mvc.web;
 
 import com.example.bank.mvc.dto.AccountDto;
 import com.example.bank.mvc.dto.CustomerDto;
+import com.example.bank.mvc.dto.DashboardDto;
 import com.example.bank.mvc.dto.TransactionDto;
+import com.example.bank.mvc.dto.TransferQuoteDto;
+import com.example.bank.mvc.service.ApiFanOut;
 import com.example.bank.mvc.service.BankApiClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,8 +16,15 @@ import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,6 +36,7 @@ class AccountsControllerTest {
 
     private MockMvc mvc;
     private FakeApi api;
+    private static final ExecutorService pool = Executors.newCachedThreadPool();
 
     // ---------- tiny helpers ----------
     private static CustomerDto customer(long id, String name) {
@@ -47,7 +58,7 @@ class AccountsControllerTest {
     @BeforeEach
     void setUp() {
         api = new FakeApi();
-        mvc = MockMvcBuilders.standaloneSetup(new AccountsController(api)).build();
+        mvc = MockMvcBuilders.standaloneSetup(new AccountsController(api, new ApiFanOut(pool, 5000))).build();
     }
 
     // ---------- tests ----------
@@ -96,6 +107,50 @@ class AccountsControllerTest {
                 .andExpect(model().attribute("transactions", hasSize(0)));
     }
 
+    @Test @DisplayName("GET view: first screen of rows + cursor; older rows come as a fragment")
+    void view_firstScreenThenFragments() throws Exception {
+        long cid = 1L, aid = 2L;
+        api.customers.put(cid, customer(cid, "A"));
+        api.putAccount(cid, account(aid, "PLN", "1.00"));
+        var history = new ArrayList<TransactionDto>();
+        for (long id = 100; id >= 1; id--) { // newest first
+            var t = new TransactionDto();
+            t.setId(id);
+            history.add(t);
+        }
+        api.transactions.put(FakeApi.key(cid, aid), history);
+
+        mvc.perform(get("/customers/{cid}/accounts/{aid}", cid, aid))
+                .andExpect(model().attribute("transactions", hasSize(AccountsController.FIRST_SCREEN_ROWS)))
+                .andExpect(model().attribute("nextBefore", 81L))
+                .andExpect(model().attribute("rowsUrl", "/customers/1/accounts/2/transactions"));
+
+        mvc.perform(get("/customers/{cid}/accounts/{aid}/transactions", cid, aid).param("before", "81"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("accounts/view :: rows"))
+                .andExpect(model().attribute("transactions", hasSize(AccountsController.PAGE_ROWS)))
+                .andExpect(model().attribute("nextBefore", 31L));
+
+        mvc.perform(get("/customers/{cid}/accounts/{aid}/transactions", cid, aid).param("before", "31"))
+                .andExpect(model().attribute("transactions", hasSize(30)))
+                .andExpect(model().attribute("nextBefore", (Object) null)); // last page
+    }
+
+    @Test @DisplayName("GET view: customer/account/transactions fetched in parallel (max, not sum)")
+    void view_callsInParallel() throws Exception {
+        long cid = 1L, aid = 2L;
+        api.customers.put(cid, customer(cid, "A"));
+        api.putAccount(cid, account(aid, "PLN", "1.00"));
+        // each of the 3 reads waits until all 3 are in flight: one after another, the first would time out
+        api.readsTogether = new CyclicBarrier(3);
+
+        mvc.perform(get("/customers/{cid}/accounts/{aid}", cid, aid))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("customer", "account", "transactions"));
+
+        assert !api.readsTogether.isBroken() : "reads did not run at the same time";
+    }
+
     @Test @DisplayName("GET new account form shows customer")
     void newForm_ok() throws Exception {
         long cid = 5L;
@@ -256,6 +311,16 @@ class AccountsControllerTest {
                 .andExpect(model().attribute("hasTargets", true));
     }
 
+    @Test @DisplayName("GET transfer form: account not in the customer's list -> 404")
+    void transferForm_unknownAccount() throws Exception {
+        long cid = 1L;
+        api.customers.put(cid, customer(cid, "Z"));
+        api.accountsByCustomer.put(cid, List.of(account(11L, "PLN", "0")));
+
+        mvc.perform(get("/customers/{cid}/accounts/{aid}/transfer", cid, 10L))
+                .andExpect(status().isNotFound());
+    }
+
     @Test @DisplayName("POST transfer: must choose exactly one destination")
     void transfer_badSelection() throws Exception {
         long cid = 1L, fromId = 10L;
@@ -335,6 +400,42 @@ class AccountsControllerTest {
         assert "note".equals(args.description);
     }
 
+    @Test @DisplayName("POST transfer: quote refuses (insufficient funds) -> no transfer, one quote call")
+    void transfer_quoteRefused() throws Exception {
+        long cid = 1L, fromId = 10L, toId = 11L;
+        api.putAccount(cid, account(fromId, "PLN", "3"));
+        api.putAccount(cid, account(toId, "PLN", "0"));
+
+        mvc.perform(post("/customers/{cid}/transfer", cid)
+                        .param("fromAccountId", String.valueOf(fromId))
+                        .param("toAccountId", String.valueOf(toId))
+                        .param("amount", "5"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/customers/" + cid + "/accounts/" + fromId + "/transfer"))
+                .andExpect(flash().attribute("error", "Transfer failed: insufficient funds."));
+
+        assert api.lastTransfer == null;
+        assert api.quoteCalls == 1;
+    }
+
+    @Test @DisplayName("POST transfer: forged own toAccountId of another customer -> refused, no transfer")
+    void transfer_foreignOwnTarget() throws Exception {
+        long cid = 1L, fromId = 10L, foreignId = 20L;
+        api.putAccount(cid, account(fromId, "PLN", "100"));
+        api.putAccount(2L, account(foreignId, "PLN", "0"));
+
+        mvc.perform(post("/customers/{cid}/transfer", cid)
+                        .param("fromAccountId", String.valueOf(fromId))
+                        .param("toAccountId", String.valueOf(foreignId))
+                        .param("amount", "5"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/customers/" + cid + "/accounts/" + fromId + "/transfer"))
+                .andExpect(flash().attribute("error", "Transfer failed: to account not found."));
+
+        assertThat(api.lastQuoteInternal).isTrue();
+        assertThat(api.lastTransfer).isNull();
+    }
+
     @Test @DisplayName("POST transfer: error -> back to form with flash")
     void transfer_error() throws Exception {
         long cid = 1L, fromId = 10L, toId = 11L;
@@ -368,6 +469,7 @@ class AccountsControllerTest {
         Map<Long, AccountDto> accountByAnyId = new HashMap<>();
 
         RuntimeException transactionsThrow;
+        volatile CyclicBarrier readsTogether; // set → every read blocks until all parties are reading
         RuntimeException createThrows;
         RuntimeException depositThrows;
         RuntimeException withdrawThrows;
@@ -390,7 +492,20 @@ class AccountsControllerTest {
 
         // ---------- overrides used by controller ----------
 
+        private void latency() {
+            CyclicBarrier b = readsTogether;
+            if (b == null) return;
+            try {
+                b.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (BrokenBarrierException | TimeoutException e) {
+                // reads did not overlap; the test sees the broken barrier
+            }
+        }
+
         @Override public CustomerDto getCustomer(Long id) {
+            latency();
             return customers.get(id);
         }
 
@@ -398,16 +513,34 @@ class AccountsControllerTest {
             return accountsByCustomer.getOrDefault(customerId, List.of());
         }
 
+        @Override public DashboardDto getDashboard(Long customerId, Long accountId, int trx) {
+            var d = new DashboardDto();
+            d.setCustomer(customers.get(customerId));
+            d.setAccounts(getAccountsByCustomer(customerId));
+            d.setAccountId(accountId);
+            d.setTransactions(List.of());
+            return d;
+        }
+
         @Override public AccountDto getAccount(Long customerId, Long accountId) {
+            latency();
             var map = customerAccounts.get(customerId);
             return map == null ? null : map.get(accountId);
         }
 
-        @Override public List<TransactionDto> getAccountTransactions(Long customerId, Long accountId) {
+        private List<TransactionDto> storedTransactions(Long customerId, Long accountId) {
+            latency();
             if (transactionsThrow != null) throw transactionsThrow;
             return transactions.getOrDefault(key(customerId, accountId), List.of());
         }
 
+        @Override public List<TransactionDto> getTransactionsPage(Long customerId, Long accountId, Long beforeId, int size) {
+            return storedTransactions(customerId, accountId).stream() // stored newest first
+                    .filter(t -> beforeId == null || (t.getId() != null && t.getId() < beforeId))
+                    .limit(size)
+                    .toList();
+        }
+
         @Override public AccountDto createAccount(Long customerId, String number, String currency, BigDecimal balance) {
             createCalled = true;
             if (createThrows != null) throw createThrows;
@@ -443,5 +576,32 @@ class AccountsControllerTest {
         @Override public AccountDto getAccountByAnyId(Long accountId) {
             return accountByAnyId.get(accountId);
         }
+
+        // Same rules as the REST quote, over the fake's accounts
+        @Override public TransferQuoteDto quoteTransfer(Long customerId, Long fromAccountId, Long toAccountId, BigDecimal amount,
+                                                        boolean internal) {
+            quoteCalls++;
+            lastQuoteInternal = internal;
+            var from = customerAccounts.getOrDefault(customerId, Map.of()).get(fromAccountId);
+            var to = internal ? null : accountByAnyId.get(toAccountId);
+            for (var own : customerAccounts.entrySet()) {
+                if (internal && !own.getKey().equals(customerId)) continue;
+                if (own.getValue().containsKey(toAccountId)) to = own.getValue().get(toAccountId);
+            }
+            var q = new TransferQuoteDto();
+            q.setCurrency(from.getCurrency());
+            q.setAvailableBalance(from.getBalance());
+            if (to != null) {
+                q.setToCurrency(to.getCurrency());
+                q.setCurrencyMatch(from.getCurrency().equals(to.getCurrency()));
+            }
+            if (to == null) q.setReason("to account not found");
+            else if (!q.isCurrencyMatch()) q.setReason("currencies must match");
+            else if (from.getBalance().compareTo(amount) < 0) q.setReason("insufficient funds");
+            q.setAllowed(q.getReason() == null);
+            return q;
+        }
+        int quoteCalls;
+        Boolean lastQuoteInternal;
     }
 }
@@ -0,0 +1,192 @@
+package com.example.bank.mvc.web;
+
+import com.example.bank.mvc.BankMvcApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Whole MVC app in both client modes (bank.api.client=blocking|reactive) under 2,000 concurrent
+ * sessions loading the account page (3 REST calls each) against a stub API with fixed latency.
+ * Reports pages/s and peak threads (all live platform threads, and Tomcat workers).
+ *   mvn -pl bank-mvc -am test -Dtest=ClientModeLoadTest -Dbench=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class ClientModeLoadTest {
+
+    private static final int SESSIONS = 2_000;
+    private static final int PAGES_PER_SESSION = 5;
+    private static final long API_LATENCY_MS = 50;
+
+    private LoopResources stubLoops;
+    private DisposableServer api;
+    private ExecutorService clientPool;
+    private HttpClient browser;
+
+    @BeforeEach
+    void startStub() {
+        // Non-blocking stub on its own 2 event-loop threads: answers after API_LATENCY_MS, any number of connections
+        stubLoops = LoopResources.create("stub", 2, true);
+        api = HttpServer.create().host("127.0.0.1").port(0).runOn(stubLoops)
+                .route(r -> r.get("/api/customers/**", (req, resp) -> resp
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.delay(Duration.ofMillis(API_LATENCY_MS)).map(t -> answer(req.path())))))
+                .bindNow();
+
+        clientPool = Executors.newFixedThreadPool(8);
+        browser = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientPool).build();
+    }
+
+    @AfterEach
+    void stop() {
+        api.disposeNow();
+        stubLoops.disposeLater().block();
+        clientPool.shutdownNow();
+    }
+
+    // api/customers/{c} | api/customers/{c}/accounts/{a} | .../transactions
+    private static String answer(String path) {
+        String[] p = path.split("/");
+        if (p.length == 3) {
+            return "{\"id\":" + p[2] + ",\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"j@d.pl\"}";
+        }
+        if (p.length == 5) {
+            return "{\"id\":" + p[4] + ",\"number\":\"PL-" + p[4] + "\",\"currency\":\"PLN\",\"balance\":100.00}";
+        }
+        return "[" + "{\"id\":1,\"type\":\"DEPOSIT\",\"amount\":10.00,\"description\":\"x\"},".repeat(9)
+                + "{\"id\":2,\"type\":\"WITHDRAW\",\"amount\":5.00,\"description\":\"y\"}]";
+    }
+
+    @Test
+    void blockingVsReactive_2000Sessions() throws Exception {
+        Result blocking = run("blocking", 200);
+        Result reactive = run("reactive", 200);
+        Result blockingSmall = run("blocking", 20);
+        Result reactiveSmall = run("reactive", 20); // same load on a tenth of the servlet threads
+        System.out.printf("%n%d sessions x %d account pages, API latency %d ms%n", SESSIONS, PAGES_PER_SESSION, API_LATENCY_MS);
+        System.out.println(blocking);
+        System.out.println(reactive);
+        System.out.println(blockingSmall);
+        System.out.println(reactiveSmall);
+
+        assertThat(reactive.failed).isZero();
+        assertThat(reactiveSmall.failed).isZero();
+        assertThat(reactiveSmall.peakThreads).isLessThan(blocking.peakThreads);
+        assertThat(reactiveSmall.pagesPerSecond).isGreaterThan(blockingSmall.pagesPerSecond);
+    }
+
+    private Result run(String mode, int tomcatThreads) throws Exception {
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(BankMvcApplication.class).run(
+                "--server.port=0",
+                "--bank.api.client=" + mode,
+                "--bank.api.base-url=http://127.0.0.1:" + api.port(),
+                "--bank.api.cbor=false",
+                "--bank.api.cache.enabled=false",             // every page really calls the API
+                "--bank.api.http.max-total=2000",              // same connection budget for both clients
+                "--bank.api.http.max-per-route=2000",
+                "--bank.api.reactive.max-connections=2000",
+                "--bank.api.reactive.pending-acquire-max=10000",
+                "--bank.api.http.lease-timeout-ms=30000",
+                "--bank.api.guard.max-concurrent=10000",
+                "--bank.api.guard.bulkhead-wait-ms=30000",
+                "--bank.api.log.sample-every=0",
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--server.tomcat.accept-count=4096",
+                "--spring.thymeleaf.cache=true",
+                "--logging.level.root=WARN")) {
+            int port = ((ServletWebServerApplicationContext) ctx).getWebServer().getPort();
+
+            drive(port, 200, 2); // warm-up (JIT, pools, templates)
+
+            ThreadSampler sampler = new ThreadSampler();
+            sampler.start();
+            long started = System.nanoTime();
+            int failed = drive(port, SESSIONS, PAGES_PER_SESSION);
+            double seconds = (System.nanoTime() - started) / 1e9;
+            sampler.stop();
+            return new Result(mode + "/" + tomcatThreads, SESSIONS * PAGES_PER_SESSION / seconds, failed,
+                    sampler.peakThreads, sampler.peakTomcatWorkers);
+        }
+    }
+
+    // Every session loads its own account page (distinct ids → no coalescing), pages one after another
+    private int drive(int port, int sessions, int pages) {
+        AtomicInteger failed = new AtomicInteger();
+        CompletableFuture<?>[] all = new CompletableFuture<?>[sessions];
+        for (int s = 0; s < sessions; s++) {
+            URI page = URI.create("http://127.0.0.1:" + port + "/customers/" + (s + 1) + "/accounts/" + (s + 1));
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int i = 0; i < pages; i++) {
+                chain = chain.thenCompose(v -> browser
+                        .sendAsync(HttpRequest.newBuilder(page).GET().build(), HttpResponse.BodyHandlers.discarding())
+                        .handle((resp, ex) -> {
+                            if (ex != null || resp.statusCode() != 200) failed.incrementAndGet();
+                            return null;
+                        }));
+            }
+            all[s] = chain;
+        }
+        CompletableFuture.allOf(all).join();
+        return failed.get();
+    }
+
+    record Result(String mode, double pagesPerSecond, int failed, int peakThreads, int peakTomcatWorkers) {
+        @Override
+        public String toString() {
+            return String.format("%-12s %6.0f pages/s   peak threads %5d   peak tomcat workers %4d   failed %d",
+                    mode, pagesPerSecond, peakThreads, peakTomcatWorkers, failed);
+        }
+    }
+
+    // Samples live platform threads (virtual threads are not counted by the JVM here)
+    static final class ThreadSampler {
+        volatile int peakThreads;
+        volatile int peakTomcatWorkers;
+        private volatile boolean running = true;
+        private Thread thread;
+
+        void start() {
+            thread = new Thread(() -> {
+                var mx = ManagementFactory.getThreadMXBean();
+                while (running) {
+                    peakThreads = Math.max(peakThreads, mx.getThreadCount());
+                    int workers = (int) Thread.getAllStackTraces().keySet().stream()
+                            .filter(t -> t.getName().startsWith("http-nio-") && t.getName().contains("-exec-"))
+                            .count();
+                    peakTomcatWorkers = Math.max(peakTomcatWorkers, workers);
+                    try { Thread.sleep(50); } catch (InterruptedException e) { return; }
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            thread.join();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bank.mvc.web;
 
 import com.example.bank.mvc.dto.AccountDto;
 import com.example.bank.mvc.dto.CustomerDto;
+import com.example.bank.mvc.dto.CustomerOverviewDto;
 import com.example.bank.mvc.service.BankApiClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -72,6 +73,28 @@ class CustomersControllerTest {
                         org.hamcrest.Matchers.startsWith("Failed to load customers:")));
     }
 
+    @Test
+    @DisplayName("GET /customers: counts from the overview, paged")
+    void list_overview_paged() throws Exception {
+        for (long id = 1; id <= CustomersController.PAGE_SIZE + 1; id++) {
+            api.customers.add(customer(id, id + "@b.com", "C" + id));
+        }
+        api.accountsByCustomer.put(1L, List.of(account(10L), account(11L)));
+
+        mvc.perform(get("/customers"))
+                .andExpect(model().attribute("customers", org.hamcrest.Matchers.hasSize(CustomersController.PAGE_SIZE)))
+                .andExpect(model().attribute("customers", org.hamcrest.Matchers.hasItem(
+                        org.hamcrest.Matchers.hasProperty("accountCount", org.hamcrest.Matchers.is(2)))))
+                .andExpect(model().attribute("hasNext", true));
+
+        mvc.perform(get("/customers").param("page", "1"))
+                .andExpect(model().attribute("customers", org.hamcrest.Matchers.hasSize(1)))
+                .andExpect(model().attribute("hasNext", false))
+                .andExpect(model().attribute("page", 1));
+
+        assert api.overviewPages.equals(List.of(0, 1)); // one REST call per page, none per customer
+    }
+
     @Test
     @DisplayName("GET /customers/{id}: ok и ошибка")
     void view_ok_and_error() throws Exception {
@@ -317,6 +340,23 @@ class CustomersControllerTest {
             return customers;
         }
 
+        // Overview rows built from the same data (account count from accountsByCustomer)
+        @Override public List<CustomerOverviewDto> getCustomerOverview(int page, int size) {
+            if (getCustomersThrows != null) throw getCustomersThrows;
+            overviewPages.add(page);
+            List<CustomerOverviewDto> rows = new ArrayList<>();
+            for (CustomerDto c : customers.stream().skip((long) page * size).limit(size).toList()) {
+                var o = new CustomerOverviewDto();
+                o.setId(c.getId());
+                o.setEmail(c.getEmail());
+                o.setFullName(c.getFullName());
+                o.setAccountCount(accountsByCustomer.getOrDefault(c.getId(), List.of()).size());
+                rows.add(o);
+            }
+            return rows;
+        }
+        List<Integer> overviewPages = new ArrayList<>();
+
         @Override public CustomerDto getCustomer(Long id) {
             if (getCustomerThrows != null) throw getCustomerThrows;
             return customerById.get(id);
@@ -0,0 +1,102 @@
+package com.example.bank.mvc.web;
+
+import com.example.bank.mvc.service.ApiFanOut;
+import com.example.bank.mvc.service.BankApiClient;
+import com.example.bank.mvc.service.ReactiveBankApiClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Reactive account pages over a real ReactiveBankApiClient; the WebClient talks to
+ * an in-memory exchange function (delayed JSON answers) instead of the network.
+ */
+class ReactiveAccountsControllerTest {
+
+    private MockMvc mvc;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile boolean transactionsFail;
+
+    @BeforeEach
+    void setUp() {
+        WebClient web = WebClient.builder().exchangeFunction(req -> {
+            String path = req.url().getPath();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            ClientResponse resp;
+            if (path.contains("/transactions")) {
+                resp = transactionsFail
+                        ? ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()
+                        : json("[{\"id\":1,\"type\":\"DEPOSIT\",\"amount\":10.00}]");
+            } else if (path.contains("/accounts/")) {
+                resp = json("{\"id\":2,\"currency\":\"PLN\",\"balance\":100.00}");
+            } else {
+                resp = json("{\"id\":1,\"firstName\":\"John\",\"lastName\":\"Doe\"}");
+            }
+            return Mono.delay(Duration.ofMillis(100)).thenReturn(resp).doFinally(s -> inFlight.decrementAndGet());
+        }).build();
+
+        ReactiveBankApiClient api = new ReactiveBankApiClient(web);
+        ReflectionTestUtils.setField(api, "baseUrl", "http://api");
+        ReflectionTestUtils.setField(api, "customersPath", "/api/customers");
+        var blocking = new BankApiClient(new RestTemplate());
+        var fanOut = new ApiFanOut(Executors.newSingleThreadExecutor(), 5000);
+        mvc = MockMvcBuilders.standaloneSetup(new ReactiveAccountsController(api, blocking, fanOut)).build();
+    }
+
+    private static ClientResponse json(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body).build();
+    }
+
+    @Test
+    void view_composesCallsWithoutBlocking() throws Exception {
+        MvcResult started = mvc.perform(get("/customers/1/accounts/2"))
+                .andExpect(request().asyncStarted()) // request thread already released here
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(view().name("accounts/view"))
+                .andExpect(model().attribute("customer", hasProperty("fullName", is("John Doe"))))
+                .andExpect(model().attribute("transactions", hasSize(1)));
+
+        assertThat(maxInFlight.get()).isEqualTo(3); // customer, account, transactions at the same time
+    }
+
+    @Test
+    void view_transactionsFailure_rendersEmptyList() throws Exception {
+        transactionsFail = true;
+        MvcResult started = mvc.perform(get("/customers/1/accounts/2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("transactions", List.of()));
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.bank.rest.account;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.math.BigDecimal;
 
 // JPA entity for bank accounts (REST side)
+// Second-level cached when profile=cache (balance updates go through the cache on commit)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accounts")
 @Table(name = "accounts", indexes = {
         @Index(name = "idx_accounts_customer", columnList = "customerId")
 }, uniqueConstraints = {
@@ -32,6 +38,11 @@ public class AccountEntity {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    // Change counter for balance/history (source of ETags). Not JPA @Version (no optimistic locking);
+    // never written by entity updates, only bumped atomically via AccountRepository.bumpVersion.
+    @Column(nullable = false, updatable = false)
+    private long version;
+
     // Getters/Setters only
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -47,4 +58,7 @@ public class AccountEntity {
 
     public BigDecimal getBalance() { return balance; }
     public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
 }
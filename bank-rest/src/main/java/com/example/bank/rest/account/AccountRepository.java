@@ -1,6 +1,14 @@
 package com.example.bank.rest.account;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -8,12 +16,35 @@ import java.util.Optional;
 // Spring Data JPA repo for accounts (REST side)
 public interface AccountRepository extends JpaRepository<AccountEntity, Long> {
 
-    // All accounts of a customer
+    // All accounts of a customer (query cache when profile=cache; dropped on any accounts change)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<AccountEntity> findByCustomerId(Long customerId);
 
     // One account by id, but also verify owner
     Optional<AccountEntity> findByIdAndCustomerId(Long id, Long customerId);
 
+    // Money ops: SELECT … FOR UPDATE, the row stays locked until commit, so concurrent ops on one
+    // account run one after another instead of overwriting each other's balance.
+    // A locking read always goes to the DB (never a second-level cache entry, profile=cache).
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from AccountEntity a where a.id = :id")
+    Optional<AccountEntity> findForUpdate(@Param("id") long id);
+
     // Lookup by unique account number (for search/uniqueness checks)
     Optional<AccountEntity> findByNumber(String number);
+
+    // Version only (no entity load, never from cache) - enough to answer If-None-Match
+    @Query("select a.version from AccountEntity a where a.id = :id and a.customerId = :customerId")
+    Optional<Long> findVersion(@Param("id") long id, @Param("customerId") long customerId);
+
+    @Query("select a.version from AccountEntity a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    // Atomic +1 (no read-then-write race between concurrent money ops).
+    // Native with its own query space: a JPQL bulk update (or the accounts space) would drop
+    // the whole accounts cache region on every money op (profile=cache)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_versions"))
+    @Query(value = "UPDATE accounts SET version = version + 1 WHERE id = :id", nativeQuery = true)
+    int bumpVersion(@Param("id") long id);
 }
@@ -1,15 +1,26 @@
 package com.example.bank.rest.account;
 
 import com.example.bank.rest.account.dto.AccountDto;
+import com.example.bank.rest.account.dto.AccountLookupDto;
 import com.example.bank.rest.account.dto.AmountRequest;
 import com.example.bank.rest.account.dto.NewAccountRequest;
 import com.example.bank.rest.account.dto.TransactionDto;
+import com.example.bank.rest.account.dto.TransferQuoteDto;
 import com.example.bank.rest.account.dto.TransferRequest;
 
+// Daily rollup is updated in the same DB transaction as the money op
+import com.example.bank.rest.analytics.DailyTotalsService;
+import com.example.bank.rest.analytics.SpendingAnalyticsService;
+import com.example.bank.rest.balance.BalanceReadModel;
+import com.example.bank.rest.metrics.ServiceMetrics;
+import com.example.bank.rest.search.TransactionSearchService;
+
 // Transactions: import only entity/repo (keep service logic here)
 import com.example.bank.rest.transaction.TransactionEntity;
 import com.example.bank.rest.transaction.TransactionRepository;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -17,7 +28,10 @@ import org.springframework.web.server.ResponseStatusException;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.http.HttpStatus.*;
 
@@ -28,16 +42,38 @@ import static org.springframework.http.HttpStatus.*;
 @Service
 public class AccountService {
 
+    // Largest page of transactionsPage()
+    static final int MAX_TRX_PAGE = 200;
+
     private final AccountRepository accountRepo;
     private final TransactionRepository trxRepo;
-
-    public AccountService(AccountRepository accountRepo, TransactionRepository trxRepo) {
+    private final DailyTotalsService dailyTotals;
+    private final SpendingAnalyticsService spending;
+    private final TransactionSearchService search;
+    private final BalanceReadModel balances;
+    private final ServiceMetrics metrics;
+    private final int maxBatch;
+
+    public AccountService(AccountRepository accountRepo,
+                          TransactionRepository trxRepo,
+                          DailyTotalsService dailyTotals,
+                          SpendingAnalyticsService spending,
+                          TransactionSearchService search,
+                          BalanceReadModel balances,
+                          ServiceMetrics metrics,
+                          @Value("${bank.accounts.max-batch:200}") int maxBatch) {
         this.accountRepo = accountRepo;
         this.trxRepo = trxRepo;
+        this.dailyTotals = dailyTotals;
+        this.spending = spending;
+        this.search = search;
+        this.balances = balances;
+        this.metrics = metrics;
+        this.maxBatch = maxBatch;
     }
 
-    // ---------- Mapping helpers ----------
-    private AccountDto toDto(AccountEntity e) {
+    // ---------- Mapping helpers (also reused by dashboard) ----------
+    public static AccountDto toDto(AccountEntity e) {
         AccountDto d = new AccountDto();
         d.setId(e.getId());
         d.setCustomerId(e.getCustomerId());
@@ -47,8 +83,9 @@ public class AccountService {
         return d;
     }
 
-    private TransactionDto toDto(TransactionEntity t) {
+    public static TransactionDto toDto(TransactionEntity t) {
         TransactionDto d = new TransactionDto();
+        d.setId(t.getId());
         d.setAccountId(t.getAccount().getId());
         d.setType(t.getType().name());
         d.setAmount(t.getAmount());
@@ -58,30 +95,118 @@ public class AccountService {
         return d;
     }
 
+    // Save one transaction row + bump its daily rollup + index its description (same DB transaction).
+    // The balance read model picks up the account's new balance/version after commit.
+    private TransactionEntity saveTrx(TransactionEntity t) {
+        t = trxRepo.save(t);
+        dailyTotals.record(t);
+        search.index(t);
+        balances.changed(t.getAccount());
+        metrics.moneyMoved(t);
+        return t;
+    }
+
+    // Money ops start here: the customer's account, row-locked until commit (see AccountRepository.findForUpdate)
+    private AccountEntity lockOwned(long customerId, long accountId) {
+        return accountRepo.findForUpdate(accountId)
+                .filter(a -> a.getCustomerId().equals(customerId))
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "account not found"));
+    }
+
+    // Atomic +1 in the DB (ETags are read from there); the loaded entity follows, so the balance
+    // read model and the second-level cache (profile=cache) carry the same number
+    private void bumpVersion(AccountEntity acc) {
+        accountRepo.bumpVersion(acc.getId());
+        acc.setVersion(acc.getVersion() + 1);
+    }
+
+    // ---------- Validators (ETag) ----------
+    // ETags from the account version: same version → same balance and history.
+    // Weak (W/): the JSON and CBOR bodies share one tag (semantically equal, not byte-equal), and
+    // Tomcat never gzips a response with a strong ETag (noCompressionStrongETag).
+    // null → unknown/foreign account (caller falls through to the normal 404 path).
+    // Read before the body: a racing money op can only make the body newer than its tag (one extra 200 later).
+    public String accountEtag(long customerId, long accountId) {
+        return accountRepo.findVersion(accountId, customerId).map(v -> etag("a", accountId, v)).orElse(null);
+    }
+
+    public String transactionsEtag(long customerId, long accountId) {
+        return accountRepo.findVersion(accountId, customerId).map(v -> etag("t", accountId, v)).orElse(null);
+    }
+
+    public String publicAccountEtag(long accountId) {
+        return accountRepo.findVersionById(accountId).map(v -> etag("a", accountId, v)).orElse(null);
+    }
+
+    private static String etag(String kind, long accountId, long version) {
+        return "W/\"" + kind + accountId + "-" + version + "\"";
+    }
+
     // ---------- Queries ----------
+    // readOnly → may be served by a read replica (see rest.db)
+    @Transactional(readOnly = true)
     public List<AccountDto> listByCustomer(long customerId) {
-        return accountRepo.findByCustomerId(customerId).stream().map(this::toDto).toList();
+        return accountRepo.findByCustomerId(customerId).stream().map(AccountService::toDto).toList();
     }
 
+    @Transactional(readOnly = true)
     public AccountDto getByCustomer(long customerId, long accountId) {
-        AccountEntity e = accountRepo.findByIdAndCustomerId(accountId, customerId)
+        // By id + owner check here: an entity lookup (L2 hit with profile=cache), a query would not be
+        AccountEntity e = accountRepo.findById(accountId)
+                .filter(a -> a.getCustomerId() == customerId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "account not found"));
         return toDto(e);
     }
 
     // Public read (used by MVC optional currency check)
+    @Transactional(readOnly = true)
     public AccountDto getPublic(long accountId) {
         AccountEntity e = accountRepo.findById(accountId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "account not found"));
         return toDto(e);
     }
 
+    // Multi-get by id: one IN query, answer in input order (duplicates repeat, unknown ids → found=false)
+    @Transactional(readOnly = true)
+    public List<AccountLookupDto> getPublicMany(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "ids required");
+        }
+        if (ids.size() > maxBatch) {
+            throw new ResponseStatusException(BAD_REQUEST, "too many ids (max " + maxBatch + ")");
+        }
+        if (ids.contains(null)) {
+            throw new ResponseStatusException(BAD_REQUEST, "ids must not contain null");
+        }
+        Map<Long, AccountDto> byId = new HashMap<>();
+        for (AccountEntity e : accountRepo.findAllById(new HashSet<>(ids))) {
+            byId.put(e.getId(), toDto(e));
+        }
+        return ids.stream().map(id -> new AccountLookupDto(id, byId.get(id))).toList();
+    }
+
+    @Transactional(readOnly = true)
     public List<TransactionDto> listTransactions(long customerId, long accountId) {
         // Ensure ownership before listing
         accountRepo.findByIdAndCustomerId(accountId, customerId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "account not found"));
         return trxRepo.findTop100ByAccount_IdOrderByCreatedAtDesc(accountId)
-                .stream().map(this::toDto).toList();
+                .stream().map(AccountService::toDto).toList();
+    }
+
+    // One page of history, newest first; beforeId = last id of the previous page (null → first page)
+    @Transactional(readOnly = true)
+    public List<TransactionDto> transactionsPage(long customerId, long accountId, Long beforeId, int size) {
+        if (size < 1 || size > MAX_TRX_PAGE) {
+            throw new ResponseStatusException(BAD_REQUEST, "size must be 1.." + MAX_TRX_PAGE);
+        }
+        accountRepo.findByIdAndCustomerId(accountId, customerId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "account not found"));
+        PageRequest page = PageRequest.of(0, size);
+        List<TransactionEntity> rows = (beforeId == null)
+                ? trxRepo.findByAccount_IdOrderByIdDesc(accountId, page)
+                : trxRepo.findByAccount_IdAndIdLessThanOrderByIdDesc(accountId, beforeId, page);
+        return rows.stream().map(AccountService::toDto).toList();
     }
 
     // ---------- Commands ----------
@@ -90,19 +215,20 @@ public class AccountService {
         if (req.getBalance().compareTo(BigDecimal.ZERO) < 0) {
             throw new ResponseStatusException(BAD_REQUEST, "balance cannot be negative");
         }
+        MoneyRules.requireCents(req.getBalance(), "balance");
         AccountEntity e = new AccountEntity();
         e.setCustomerId(customerId);
         e.setNumber(req.getNumber());
         e.setCurrency(req.getCurrency());
         e.setBalance(req.getBalance());
         e = accountRepo.save(e);
+        balances.changed(e);
         return toDto(e);
     }
 
     @Transactional
     public void delete(long customerId, long accountId) {
-        AccountEntity e = accountRepo.findByIdAndCustomerId(accountId, customerId)
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "account not found"));
+        AccountEntity e = lockOwned(customerId, accountId);
 
         // junior: можно удалять только при нулевом балансе
         if (e.getBalance().compareTo(BigDecimal.ZERO) != 0) {
@@ -111,85 +237,87 @@ public class AccountService {
 
         // NEW: сначала удаляем "детей" (transactions), иначе FK не даст удалить аккаунт
         trxRepo.deleteByAccount_Id(accountId);  // junior: safe for MySQL FK
+        dailyTotals.deleteByAccount(accountId); // rollup rows (no FK, but keep it clean)
+        search.deleteByAccount(accountId);      // description index postings
 
         // теперь удаляем сам счёт
         accountRepo.delete(e);
+        balances.deleted(accountId);
+
+        // cached closed months of this customer no longer match the history
+        spending.evictCustomer(customerId);
     }
 
     @Transactional // one DB unit: deposit + transaction
     public TransactionDto deposit(long customerId, long accountId, AmountRequest req) {
-        if (req.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new ResponseStatusException(BAD_REQUEST, "amount must be positive");
-        }
-        AccountEntity acc = accountRepo.findByIdAndCustomerId(accountId, customerId)
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "account not found"));
+        MoneyRules.requirePositive(req.getAmount());
+        AccountEntity acc = lockOwned(customerId, accountId);
 
-        acc.setBalance(acc.getBalance().add(req.getAmount()));
+        acc.setBalance(MoneyRules.afterDeposit(acc.getBalance(), req.getAmount()));
 
         TransactionEntity t = new TransactionEntity();
         t.setAccount(acc);
         t.setType(com.example.bank.rest.transaction.TransactionType.DEPOSIT);
         t.setAmount(req.getAmount());
         t.setDescription(req.getDescription());
-        t = trxRepo.save(t);
+        t = saveTrx(t);
+        bumpVersion(acc); // invalidates ETags of this account
 
         return toDto(t);
     }
 
     @Transactional // one DB unit: withdraw + transaction
     public TransactionDto withdraw(long customerId, long accountId, AmountRequest req) {
-        if (req.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new ResponseStatusException(BAD_REQUEST, "amount must be positive");
-        }
-        AccountEntity acc = accountRepo.findByIdAndCustomerId(accountId, customerId)
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "account not found"));
-
-        if (acc.getBalance().compareTo(req.getAmount()) < 0) {
-            throw new ResponseStatusException(BAD_REQUEST, "insufficient funds");
-        }
+        MoneyRules.requirePositive(req.getAmount());
+        AccountEntity acc = lockOwned(customerId, accountId);
 
-        acc.setBalance(acc.getBalance().subtract(req.getAmount()));
+        acc.setBalance(MoneyRules.afterWithdraw(acc.getBalance(), req.getAmount()));
 
         TransactionEntity t = new TransactionEntity();
         t.setAccount(acc);
         t.setType(com.example.bank.rest.transaction.TransactionType.WITHDRAW);
         t.setAmount(req.getAmount());
         t.setDescription(req.getDescription());
-        t = trxRepo.save(t);
+        t = saveTrx(t);
+        bumpVersion(acc); // invalidates ETags of this account
 
         return toDto(t);
     }
 
     @Transactional // one DB unit: move money + two transactions
     public TransactionDto transfer(long customerId, long fromAccountId, TransferRequest req) {
-        if (req.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new ResponseStatusException(BAD_REQUEST, "amount must be positive");
+        MoneyRules.requirePositive(req.getAmount());
+        // Lock both rows in id order, so two opposite transfers can't deadlock
+        long toAccountId = req.getToAccountId();
+        AccountEntity low = accountRepo.findForUpdate(Math.min(fromAccountId, toAccountId)).orElse(null);
+        AccountEntity high = (fromAccountId == toAccountId) ? low
+                : accountRepo.findForUpdate(Math.max(fromAccountId, toAccountId)).orElse(null);
+        AccountEntity from = (fromAccountId <= toAccountId) ? low : high;
+        AccountEntity to = (fromAccountId <= toAccountId) ? high : low;
+
+        if (from == null || !from.getCustomerId().equals(customerId)) {
+            throw new ResponseStatusException(NOT_FOUND, "from account not found");
         }
-        AccountEntity from = accountRepo.findByIdAndCustomerId(fromAccountId, customerId)
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "from account not found"));
-
-        AccountEntity to = accountRepo.findById(req.getToAccountId())
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "to account not found"));
-
-        // Simple same-currency rule (no FX here)
-        if (!from.getCurrency().equals(to.getCurrency())) {
-            throw new ResponseStatusException(BAD_REQUEST, "currencies must match");
+        if (to == null) {
+            throw new ResponseStatusException(NOT_FOUND, "to account not found");
         }
-        if (from.getBalance().compareTo(req.getAmount()) < 0) {
-            throw new ResponseStatusException(BAD_REQUEST, "insufficient funds");
+
+        String refusal = transferRefusal(from, to, req.getAmount());
+        if (refusal != null) {
+            throw new ResponseStatusException(BAD_REQUEST, refusal);
         }
 
         // Update balances
-        from.setBalance(from.getBalance().subtract(req.getAmount()));
-        to.setBalance(to.getBalance().add(req.getAmount()));
+        from.setBalance(MoneyRules.afterTransferOut(from.getBalance(), req.getAmount()));
+        to.setBalance(MoneyRules.afterDeposit(to.getBalance(), req.getAmount()));
 
         // Outgoing record
         TransactionEntity out = new TransactionEntity();
         out.setAccount(from);
         out.setType(com.example.bank.rest.transaction.TransactionType.TRANSFER_OUT);
-        out.setAmount(req.getAmount());
+        out.setAmount(MoneyRules.transferTotal(req.getAmount())); // what left the account, fee included
         out.setDescription(req.getDescription());
-        trxRepo.save(out);
+        saveTrx(out);
 
         // Incoming record
         TransactionEntity in = new TransactionEntity();
@@ -197,8 +325,68 @@ public class AccountService {
         in.setType(com.example.bank.rest.transaction.TransactionType.TRANSFER_IN);
         in.setAmount(req.getAmount());
         in.setDescription(req.getDescription());
-        trxRepo.save(in);
+        saveTrx(in);
+
+        // Both sides changed → both lose their ETags
+        bumpVersion(from);
+        bumpVersion(to);
 
         return toDto(out);
     }
+
+    // Would transfer() accept this? Same rules, one read of both accounts, nothing written.
+    // Unknown source (or not the customer's) → 404 like transfer(); every other "no" is in the quote.
+    // internal → a target of another customer reads as "to account not found" (no hint that it exists).
+    @Transactional(readOnly = true)
+    public TransferQuoteDto quoteTransfer(long customerId, long fromAccountId, TransferRequest req, boolean internal) {
+        AccountEntity from = null;
+        AccountEntity to = null;
+        for (AccountEntity a : accountRepo.findAllById(List.of(fromAccountId, req.getToAccountId()))) {
+            if (a.getId() == fromAccountId) from = a;
+            if (a.getId().equals(req.getToAccountId())) to = a;
+        }
+        if (internal && to != null && !to.getCustomerId().equals(customerId)) {
+            to = null;
+        }
+        if (from == null || !from.getCustomerId().equals(customerId)) {
+            throw new ResponseStatusException(NOT_FOUND, "from account not found");
+        }
+
+        TransferQuoteDto q = new TransferQuoteDto();
+        q.setFromAccountId(fromAccountId);
+        q.setToAccountId(req.getToAccountId());
+        q.setAmount(req.getAmount());
+        q.setCurrency(from.getCurrency());
+        q.setAvailableBalance(from.getBalance());
+        q.setFee(MoneyRules.TRANSFER_FEE);
+        q.setTotal(MoneyRules.transferTotal(req.getAmount()));
+        if (to != null) {
+            q.setToCurrency(to.getCurrency());
+            q.setCurrencyMatch(from.getCurrency().equals(to.getCurrency()));
+        }
+
+        String refusal;
+        if (!MoneyRules.positive(req.getAmount())) {
+            refusal = "amount must be positive";
+        } else if (to == null) {
+            refusal = "to account not found";
+        } else {
+            refusal = transferRefusal(from, to, req.getAmount());
+        }
+        q.setAllowed(refusal == null);
+        q.setReason(refusal);
+        return q;
+    }
+
+    // Business rules of a transfer between two existing accounts (null = allowed)
+    private static String transferRefusal(AccountEntity from, AccountEntity to, BigDecimal amount) {
+        // Simple same-currency rule (no FX here)
+        if (!from.getCurrency().equals(to.getCurrency())) {
+            return "currencies must match";
+        }
+        if (!MoneyRules.covers(from.getBalance(), MoneyRules.transferTotal(amount))) {
+            return "insufficient funds";
+        }
+        return null;
+    }
 }
@@ -4,6 +4,7 @@ import com.example.bank.rest.account.dto.*;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -33,8 +34,11 @@ public class AccountsController {
     }
 
     // Get one account (ownership checked in service)
+    // ETag from the account version; If-None-Match match → 304 without loading the entity
     @GetMapping("/{accountId}")
-    public AccountDto get(@PathVariable long customerId, @PathVariable long accountId) {
+    public AccountDto get(@PathVariable long customerId, @PathVariable long accountId, WebRequest request) {
+        String etag = service.accountEtag(customerId, accountId);
+        if (ConditionalGet.notModified(request, etag)) return null;
         return service.getByCustomer(customerId, accountId);
     }
 
@@ -69,10 +73,39 @@ public class AccountsController {
         return service.transfer(customerId, fromAccountId, req);
     }
 
-    // Expose transactions for MVC (read-only)
+    // Dry run of a transfer: allowed?, currencies, available balance, fee (one read, nothing written).
+    // ?internal=true: the target must be the customer's own account too (own-account transfers in MVC)
+    @PostMapping("/{fromAccountId}/transfer/quote")
+    public TransferQuoteDto quoteTransfer(@PathVariable long customerId,
+                                          @PathVariable long fromAccountId,
+                                          @RequestParam(defaultValue = "false") boolean internal,
+                                          @Valid @RequestBody TransferRequest req) {
+        return service.quoteTransfer(customerId, fromAccountId, req, internal);
+    }
+
+    // Expose transactions for MVC (read-only), conditional like get()
     @GetMapping("/{accountId}/transactions")
     public List<TransactionDto> transactions(@PathVariable long customerId,
-                                             @PathVariable long accountId) {
+                                             @PathVariable long accountId,
+                                             WebRequest request) {
+        String etag = service.transactionsEtag(customerId, accountId);
+        if (ConditionalGet.notModified(request, etag)) return null;
         return service.listTransactions(customerId, accountId);
     }
+
+    // History in keyset pages for progressive loading (?before=<last id seen>&size=N).
+    // The first page (what the account view shows) is conditional like transactions(); the tag is
+    // per URL for caches, so one tag for every size is fine.
+    @GetMapping("/{accountId}/transactions/page")
+    public List<TransactionDto> transactionsPage(@PathVariable long customerId,
+                                                 @PathVariable long accountId,
+                                                 @RequestParam(required = false) Long before,
+                                                 @RequestParam(defaultValue = "50") int size,
+                                                 WebRequest request) {
+        if (before == null) {
+            String etag = service.transactionsEtag(customerId, accountId);
+            if (ConditionalGet.notModified(request, etag)) return null;
+        }
+        return service.transactionsPage(customerId, accountId, before, size);
+    }
 }
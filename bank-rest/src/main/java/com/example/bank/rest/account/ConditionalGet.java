@@ -0,0 +1,22 @@
+package com.example.bank.rest.account;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+// If-None-Match handling shared by the ETagged account reads
+final class ConditionalGet {
+
+    private ConditionalGet() { }
+
+    // true → 304 already written, the handler returns null.
+    // Vary: Accept on 200 and 304 alike: one tag covers the JSON and the CBOR body, so a cache must key on Accept too
+    static boolean notModified(WebRequest request, String etag) {
+        if (request instanceof NativeWebRequest nr) {
+            HttpServletResponse resp = nr.getNativeResponse(HttpServletResponse.class);
+            if (resp != null) resp.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return etag != null && request.checkNotModified(etag);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.bank.rest.account;
+
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+// Amount checks and balance math of deposit / withdraw / transfer (AccountService, bank-bench)
+public final class MoneyRules {
+
+    public static final int SCALE = 2;
+
+    // Transfers are free for now; quotes already report the fee so clients don't change when one appears
+    public static final BigDecimal TRANSFER_FEE = new BigDecimal("0.00");
+
+    private MoneyRules() { }
+
+    public static boolean positive(BigDecimal amount) {
+        return amount.compareTo(BigDecimal.ZERO) > 0;
+    }
+
+    public static void requirePositive(BigDecimal amount) {
+        if (!positive(amount)) {
+            throw new ResponseStatusException(BAD_REQUEST, "amount must be positive");
+        }
+        requireCents(amount, "amount");
+    }
+
+    // accounts.balance is DECIMAL(19,2): a third decimal would be cut off by the DB but not in memory
+    // (read model, L2 cache). Same rule as @Digits on the request DTOs, for callers that skip them.
+    public static void requireCents(BigDecimal value, String what) {
+        if (value.scale() > SCALE) {
+            throw new ResponseStatusException(BAD_REQUEST, what + " must have at most 2 decimal places");
+        }
+    }
+
+    // What a transfer takes from the source account
+    public static BigDecimal transferTotal(BigDecimal amount) {
+        return amount.add(TRANSFER_FEE);
+    }
+
+    public static boolean covers(BigDecimal balance, BigDecimal total) {
+        return balance.compareTo(total) >= 0;
+    }
+
+    public static BigDecimal afterDeposit(BigDecimal balance, BigDecimal amount) {
+        return balance.add(amount);
+    }
+
+    // Source balance after a transfer: amount + fee, the same total quoteTransfer() reports and checks
+    public static BigDecimal afterTransferOut(BigDecimal balance, BigDecimal amount) {
+        return balance.subtract(transferTotal(amount));
+    }
+
+    public static BigDecimal afterWithdraw(BigDecimal balance, BigDecimal amount) {
+        if (!covers(balance, amount)) {
+            throw new ResponseStatusException(BAD_REQUEST, "insufficient funds");
+        }
+        return balance.subtract(amount);
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.bank.rest.account;
 
 import com.example.bank.rest.account.dto.AccountDto;
+import com.example.bank.rest.account.dto.AccountLookupDto;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 /**
  * Public read-only endpoint to fetch account info by id.
@@ -15,9 +19,23 @@ public class PublicAccountsController {
 
     public PublicAccountsController(AccountService service) { this.service = service; }
 
-    // GET /api/accounts/{id} → basic account data
+    // GET /api/accounts/{id} → basic account data (ETag / 304 like the nested GET)
     @GetMapping("/{accountId}")
-    public AccountDto getPublic(@PathVariable long accountId) {
+    public AccountDto getPublic(@PathVariable long accountId, WebRequest request) {
+        String etag = service.publicAccountEtag(accountId);
+        if (ConditionalGet.notModified(request, etag)) return null;
         return service.getPublic(accountId);
     }
+
+    // GET /api/accounts?ids=1,2,3 → one slot per id, in input order
+    @GetMapping(params = "ids")
+    public List<AccountLookupDto> getMany(@RequestParam List<Long> ids) {
+        return service.getPublicMany(ids);
+    }
+
+    // POST /api/accounts/lookup with [1,2,3] → same, for lists too long for a URL
+    @PostMapping("/lookup")
+    public List<AccountLookupDto> lookup(@RequestBody List<Long> ids) {
+        return service.getPublicMany(ids);
+    }
 }
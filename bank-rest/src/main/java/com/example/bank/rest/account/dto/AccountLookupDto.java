@@ -0,0 +1,23 @@
+package com.example.bank.rest.account.dto;
+
+/** One slot of a multi-get: the requested id, and the account or found=false. */
+public class AccountLookupDto {
+    private Long id;
+    private boolean found;
+    private AccountDto account;
+
+    public AccountLookupDto() { }
+
+    public AccountLookupDto(Long id, AccountDto account) {
+        this.id = id;
+        this.found = account != null;
+        this.account = account;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public boolean isFound() { return found; }
+    public void setFound(boolean found) { this.found = found; }
+    public AccountDto getAccount() { return account; }
+    public void setAccount(AccountDto account) { this.account = account; }
+}
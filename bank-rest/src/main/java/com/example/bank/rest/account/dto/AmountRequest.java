@@ -1,10 +1,12 @@
 package com.example.bank.rest.account.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 
 public class AmountRequest {
     @NotNull
+    @Digits(integer = 17, fraction = 2)   // accounts.balance is DECIMAL(19,2)
     private BigDecimal amount;
     private String description;
 
@@ -1,6 +1,7 @@
 package com.example.bank.rest.account.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 
@@ -10,6 +11,7 @@ public class NewAccountRequest {
     @NotBlank
     private String currency;
     @NotNull
+    @Digits(integer = 17, fraction = 2)   // accounts.balance is DECIMAL(19,2)
     private BigDecimal balance;
 
     public String getNumber() { return number; }
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 public class TransactionDto {
+    private Long id;              // keyset cursor for transactions/page (?before=id)
     private Long accountId;
     private String type;          // DEPOSIT / WITHDRAW / TRANSFER_OUT / TRANSFER_IN
     private BigDecimal amount;
@@ -15,6 +16,8 @@ public class TransactionDto {
         this.accountId = accountId; this.type = type; this.amount = amount; this.description = description;
     }
 
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
     public Long getAccountId() { return accountId; }
     public void setAccountId(Long accountId) { this.accountId = accountId; }
     public String getType() { return type; }
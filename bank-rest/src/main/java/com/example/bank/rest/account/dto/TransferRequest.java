@@ -1,5 +1,6 @@
 package com.example.bank.rest.account.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 
@@ -7,6 +8,7 @@ public class TransferRequest {
     @NotNull
     private Long toAccountId;
     @NotNull
+    @Digits(integer = 17, fraction = 2)   // accounts.balance is DECIMAL(19,2)
     private BigDecimal amount;
     private String description;
 
@@ -0,0 +1,29 @@
+package com.example.bank.rest.analytics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AnalyticsConfig {
+
+    // Bounded pool for range partitions: at most N month queries hit the DB at once.
+    // Queue full → the request thread runs the partition itself (back-pressure, no rejects).
+    @Bean
+    public ThreadPoolTaskExecutor analyticsExecutor(
+            @Value("${bank.analytics.threads:4}") int threads,
+            @Value("${bank.analytics.queue:200}") int queue
+    ) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setThreadNamePrefix("analytics-");
+        ex.setCorePoolSize(threads);
+        ex.setMaxPoolSize(threads);
+        ex.setQueueCapacity(queue);
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        ex.initialize();
+        return ex;
+    }
+}
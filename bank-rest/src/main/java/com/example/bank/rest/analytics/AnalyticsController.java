@@ -0,0 +1,47 @@
+package com.example.bank.rest.analytics;
+
+import com.example.bank.rest.analytics.dto.AccountTotalsDto;
+import com.example.bank.rest.analytics.dto.MonthlySpendingDto;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Read-only analytics under /api/customers/{customerId}.
+ * - per account totals (served from the daily rollup table)
+ * - per customer monthly spending by transaction type
+ */
+@RestController
+@RequestMapping("/api/customers/{customerId}")
+public class AnalyticsController {
+
+    private final DailyTotalsService dailyTotals;
+    private final SpendingAnalyticsService spending;
+
+    public AnalyticsController(DailyTotalsService dailyTotals, SpendingAnalyticsService spending) {
+        this.dailyTotals = dailyTotals;
+        this.spending = spending;
+    }
+
+    // GET .../accounts/{accountId}/totals?from=2024-01-01&to=2024-12-31
+    // Inflow/outflow/count for the range (inclusive) + per-month breakdown
+    @GetMapping("/accounts/{accountId}/totals")
+    public AccountTotalsDto totals(@PathVariable long customerId,
+                                   @PathVariable long accountId,
+                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return dailyTotals.totals(customerId, accountId, from, to);
+    }
+
+    // GET .../analytics/monthly?from=2024-01&to=2024-12
+    // Rows of (month, type, count, total) across all accounts of the customer
+    @GetMapping("/analytics/monthly")
+    public List<MonthlySpendingDto> monthly(@PathVariable long customerId,
+                                            @RequestParam YearMonth from,
+                                            @RequestParam YearMonth to) {
+        return spending.monthly(customerId, from, to);
+    }
+}
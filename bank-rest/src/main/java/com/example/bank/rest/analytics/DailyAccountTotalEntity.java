@@ -0,0 +1,60 @@
+package com.example.bank.rest.analytics;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One row per account per UTC day: money in, money out, number of operations.
+// Maintained by AccountService money ops (see DailyTotalsService.record).
+@Entity
+@Table(name = "daily_account_totals", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_totals_account_day", columnNames = {"account_id", "business_day"})
+})
+public class DailyAccountTotalEntity {
+
+    // PK (auto-increment)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Account id (kept as simple Long, like AccountEntity.customerId)
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    // UTC calendar day ("day" is a keyword in some DBs)
+    @Column(name = "business_day", nullable = false)
+    private LocalDate day;
+
+    // DEPOSIT + TRANSFER_IN
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal inflow = BigDecimal.ZERO;
+
+    // WITHDRAW + TRANSFER_OUT
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal outflow = BigDecimal.ZERO;
+
+    // Number of transactions that day
+    @Column(name = "trx_count", nullable = false)
+    private long trxCount;
+
+    public DailyAccountTotalEntity() {}
+
+    // Getters/Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public BigDecimal getInflow() { return inflow; }
+    public void setInflow(BigDecimal inflow) { this.inflow = inflow; }
+
+    public BigDecimal getOutflow() { return outflow; }
+    public void setOutflow(BigDecimal outflow) { this.outflow = outflow; }
+
+    public long getTrxCount() { return trxCount; }
+    public void setTrxCount(long trxCount) { this.trxCount = trxCount; }
+}
@@ -0,0 +1,42 @@
+package com.example.bank.rest.analytics;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Spring Data JPA repo for the daily rollup
+public interface DailyAccountTotalRepository extends JpaRepository<DailyAccountTotalEntity, Long> {
+
+    // Rollup rows of one account in [from, to] (inclusive), oldest first
+    List<DailyAccountTotalEntity> findByAccountIdAndDayBetweenOrderByDayAsc(Long accountId, LocalDate from, LocalDate to);
+
+    // Atomic "insert or add" (one statement, no read-then-write race).
+    // MySQL syntax; H2 supports it in MODE=MySQL (dev/test profiles).
+    // NATIVE_SPACES: only this table changes (else Hibernate drops every second-level cache region).
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_account_totals"))
+    @Query(value = """
+            INSERT INTO daily_account_totals (account_id, business_day, inflow, outflow, trx_count)
+            VALUES (:accountId, :day, :inflow, :outflow, :trxCount)
+            ON DUPLICATE KEY UPDATE
+                inflow = inflow + VALUES(inflow),
+                outflow = outflow + VALUES(outflow),
+                trx_count = trx_count + VALUES(trx_count)
+            """, nativeQuery = true)
+    void upsert(@Param("accountId") long accountId,
+                @Param("day") LocalDate day,
+                @Param("inflow") BigDecimal inflow,
+                @Param("outflow") BigDecimal outflow,
+                @Param("trxCount") long trxCount);
+
+    @Modifying
+    long deleteByAccountId(Long accountId);
+}
@@ -0,0 +1,151 @@
+package com.example.bank.rest.analytics;
+
+import com.example.bank.rest.account.AccountRepository;
+import com.example.bank.rest.analytics.dto.AccountTotalsDto;
+import com.example.bank.rest.analytics.dto.PeriodTotalDto;
+import com.example.bank.rest.transaction.TransactionBackfill;
+import com.example.bank.rest.transaction.TransactionEntity;
+import com.example.bank.rest.transaction.TransactionRepository;
+import com.example.bank.rest.transaction.TransactionType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Daily per-account rollup (table daily_account_totals).
+ * - record(): called by AccountService for every saved transaction, same DB transaction
+ * - totals(): answers month/year ranges from rollup rows (max ~366 rows per year)
+ * - older history: backfilled once at startup, before requests are served
+ */
+@Service
+public class DailyTotalsService implements SmartInitializingSingleton {
+
+    // Longest range we answer in one call (5 years ≈ 1830 rollup rows at most)
+    static final int MAX_RANGE_DAYS = 5 * 366;
+
+    static final String BACKFILL_NAME = "daily_account_totals";
+    private static final int BACKFILL_BATCH = 1000;
+
+    private final DailyAccountTotalRepository repo;
+    private final AccountRepository accountRepo;
+    private final TransactionRepository trxRepo;
+    private final TransactionBackfill backfill;
+
+    public DailyTotalsService(DailyAccountTotalRepository repo,
+                              AccountRepository accountRepo,
+                              TransactionRepository trxRepo,
+                              TransactionBackfill backfill) {
+        this.repo = repo;
+        this.accountRepo = accountRepo;
+        this.trxRepo = trxRepo;
+        this.backfill = backfill;
+    }
+
+    // Add one transaction to its (account, UTC day) row.
+    // MANDATORY: must join the money op's transaction, never run on its own.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(TransactionEntity t) {
+        DayTotal d = new DayTotal();
+        d.add(t.getType(), t.getAmount());
+        repo.upsert(t.getAccount().getId(), utcDay(t.getCreatedAt()), d.in, d.out, d.count);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteByAccount(long accountId) {
+        repo.deleteByAccountId(accountId);
+    }
+
+    // Totals for [from, to] (inclusive) + per-month breakdown
+    @Transactional(readOnly = true)
+    public AccountTotalsDto totals(long customerId, long accountId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(BAD_REQUEST, "from must not be after to");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            throw new ResponseStatusException(BAD_REQUEST, "range too long (max 5 years)");
+        }
+        // Ownership check (same rule as other account endpoints)
+        accountRepo.findByIdAndCustomerId(accountId, customerId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "account not found"));
+
+        Map<YearMonth, PeriodTotalDto> months = new LinkedHashMap<>();
+        AccountTotalsDto result = new AccountTotalsDto();
+        for (DailyAccountTotalEntity d : repo.findByAccountIdAndDayBetweenOrderByDayAsc(accountId, from, to)) {
+            PeriodTotalDto m = months.computeIfAbsent(YearMonth.from(d.getDay()),
+                    ym -> new PeriodTotalDto(ym.toString()));
+            m.setInflow(m.getInflow().add(d.getInflow()));
+            m.setOutflow(m.getOutflow().add(d.getOutflow()));
+            m.setTrxCount(m.getTrxCount() + d.getTrxCount());
+
+            result.setInflow(result.getInflow().add(d.getInflow()));
+            result.setOutflow(result.getOutflow().add(d.getOutflow()));
+            result.setTrxCount(result.getTrxCount() + d.getTrxCount());
+        }
+        result.setAccountId(accountId);
+        result.setFrom(from);
+        result.setTo(to);
+        result.setNet(result.getInflow().subtract(result.getOutflow()));
+        result.setMonths(new ArrayList<>(months.values()));
+        return result;
+    }
+
+    // Builds the rollup from history written before it existed, before the web server takes requests
+    // (resumable, each transaction once; see TransactionBackfill).
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill.run(BACKFILL_NAME, this::backfillBatch);
+    }
+
+    // Grouped here, not in SQL: CAST(created_at AS DATE) would use the DB session zone, not UTC like record()
+    private long backfillBatch(long afterId, long targetId) {
+        // Row = {id, accountId, type, amount, createdAt}; scalar rows keep the persistence context empty
+        List<Object[]> batch = trxRepo.findRollupRowsAfter(afterId, targetId, PageRequest.of(0, BACKFILL_BATCH));
+        Map<DayKey, DayTotal> days = new HashMap<>();
+        for (Object[] r : batch) {
+            days.computeIfAbsent(new DayKey((Long) r[1], utcDay((Instant) r[4])), k -> new DayTotal())
+                    .add((TransactionType) r[2], (BigDecimal) r[3]);
+        }
+        // a day split across batches (or also written live) lands in the same row (upsert adds)
+        days.forEach((k, d) -> repo.upsert(k.accountId(), k.day(), d.in, d.out, d.count));
+        return batch.size() < BACKFILL_BATCH ? targetId : (Long) batch.get(batch.size() - 1)[0];
+    }
+
+    // Business day of a transaction = its UTC date
+    static LocalDate utcDay(Instant at) {
+        return LocalDate.ofInstant(at, ZoneOffset.UTC);
+    }
+
+    private record DayKey(long accountId, LocalDate day) { }
+
+    // Running in/out/count of one (account, day)
+    private static final class DayTotal {
+        BigDecimal in = BigDecimal.ZERO;
+        BigDecimal out = BigDecimal.ZERO;
+        long count;
+
+        void add(TransactionType type, BigDecimal amount) {
+            switch (type) {
+                case DEPOSIT, TRANSFER_IN -> in = in.add(amount);
+                case WITHDRAW, TRANSFER_OUT -> out = out.add(amount);
+            }
+            count++;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.bank.rest.analytics;
+
+import com.example.bank.rest.analytics.dto.MonthlySpendingDto;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.transaction.TransactionRepository;
+import com.example.bank.rest.transaction.TransactionType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Per-customer spending by month and transaction type (all accounts of the customer).
+ * The range is split into month partitions that are aggregated in parallel on a
+ * bounded pool. A month that ended more than the grace period ago no longer changes,
+ * so its result is cached for good; newer months hit the DB every time.
+ */
+@Service
+public class SpendingAnalyticsService {
+
+    // Longest range we answer in one call (10 years of month partitions)
+    static final int MAX_MONTHS = 120;
+
+    private final TransactionRepository trxRepo;
+    private final CustomerRepository customerRepo;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration closedMonthGrace;
+
+    // (customerId, month) → rows of that month; only settled months are stored,
+    // size-bounded (rarely used entries go first) so a scan over many customers can't eat the heap
+    private final Cache<MonthKey, List<MonthlySpendingDto>> closedMonths;
+
+    record MonthKey(long customerId, YearMonth month) { }
+
+    public SpendingAnalyticsService(TransactionRepository trxRepo,
+                                    CustomerRepository customerRepo,
+                                    @Qualifier("analyticsExecutor") ThreadPoolTaskExecutor executor,
+                                    @Value("${bank.analytics.cache-max-entries:100000}") int cacheMaxEntries,
+                                    @Value("${bank.analytics.closed-month-grace-s:60}") long closedMonthGraceSeconds) {
+        this.trxRepo = trxRepo;
+        this.customerRepo = customerRepo;
+        this.executor = executor;
+        this.closedMonthGrace = Duration.ofSeconds(closedMonthGraceSeconds);
+        this.closedMonths = Caffeine.newBuilder().maximumSize(cacheMaxEntries).build();
+    }
+
+    public List<MonthlySpendingDto> monthly(long customerId, YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(BAD_REQUEST, "from must not be after to");
+        }
+        if (from.plusMonths(MAX_MONTHS - 1).isBefore(to)) {
+            throw new ResponseStatusException(BAD_REQUEST, "range too long (max " + MAX_MONTHS + " months)");
+        }
+        if (!customerRepo.existsById(customerId)) {
+            throw new ResponseStatusException(NOT_FOUND, "customer not found");
+        }
+
+        Instant now = Instant.now();
+        YearMonth current = YearMonth.from(now.atOffset(ZoneOffset.UTC));
+
+        // One partition per month: cached result or a parallel DB aggregate
+        List<CompletableFuture<List<MonthlySpendingDto>>> parts = new ArrayList<>();
+        for (YearMonth m = from; !m.isAfter(to); m = m.plusMonths(1)) {
+            List<MonthlySpendingDto> cached = closedMonths.getIfPresent(new MonthKey(customerId, m));
+            if (cached != null) {
+                parts.add(CompletableFuture.completedFuture(cached));
+            } else if (m.isAfter(current)) {
+                parts.add(CompletableFuture.completedFuture(List.of())); // future: nothing yet
+            } else {
+                final YearMonth month = m;
+                parts.add(CompletableFuture.supplyAsync(() -> loadMonth(customerId, month, now), executor));
+            }
+        }
+
+        List<MonthlySpendingDto> result = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<MonthlySpendingDto>> p : parts) {
+                result.addAll(p.join()); // parts are in month order already
+            }
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw ex;
+        }
+        return result;
+    }
+
+    // Forget cached months of a customer (history was removed, e.g. account deleted).
+    // After commit: evicting earlier lets a concurrent read re-cache the not-yet-deleted history.
+    public void evictCustomer(long customerId) {
+        Runnable evict = () -> closedMonths.asMap().keySet().removeIf(k -> k.customerId() == customerId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() { evict.run(); }
+        });
+    }
+
+    // createdAt is stamped before commit: a money op still waiting on a row lock (up to the DB lock
+    // timeout) can commit a row dated in a month that has already ended. Past the grace it can't.
+    static boolean settled(YearMonth month, Instant now, Duration grace) {
+        Instant end = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        return !now.isBefore(end.plus(grace));
+    }
+
+    private List<MonthlySpendingDto> loadMonth(long customerId, YearMonth month, Instant now) {
+        Instant start = month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant end = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        List<MonthlySpendingDto> rows = new ArrayList<>();
+        for (Object[] r : trxRepo.sumByTypeForCustomer(customerId, start, end)) {
+            TransactionType type = (TransactionType) r[0];
+            long count = ((Number) r[1]).longValue();
+            BigDecimal total = (BigDecimal) r[2];
+            rows.add(new MonthlySpendingDto(month.toString(), type.name(), count, total));
+        }
+        rows.sort(Comparator.comparing(d -> TransactionType.valueOf(d.getType())));
+        List<MonthlySpendingDto> immutable = List.copyOf(rows);
+
+        if (settled(month, now, closedMonthGrace)) {
+            closedMonths.put(new MonthKey(customerId, month), immutable);
+        }
+        return immutable;
+    }
+}
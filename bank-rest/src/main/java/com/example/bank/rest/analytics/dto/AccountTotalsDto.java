@@ -0,0 +1,34 @@
+package com.example.bank.rest.analytics.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Totals of one account for [from, to] + per-month breakdown
+public class AccountTotalsDto {
+    private Long accountId;
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal inflow = BigDecimal.ZERO;
+    private BigDecimal outflow = BigDecimal.ZERO;
+    private BigDecimal net = BigDecimal.ZERO;   // inflow - outflow
+    private long trxCount;
+    private List<PeriodTotalDto> months;         // only months that have activity
+
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+    public BigDecimal getInflow() { return inflow; }
+    public void setInflow(BigDecimal inflow) { this.inflow = inflow; }
+    public BigDecimal getOutflow() { return outflow; }
+    public void setOutflow(BigDecimal outflow) { this.outflow = outflow; }
+    public BigDecimal getNet() { return net; }
+    public void setNet(BigDecimal net) { this.net = net; }
+    public long getTrxCount() { return trxCount; }
+    public void setTrxCount(long trxCount) { this.trxCount = trxCount; }
+    public List<PeriodTotalDto> getMonths() { return months; }
+    public void setMonths(List<PeriodTotalDto> months) { this.months = months; }
+}
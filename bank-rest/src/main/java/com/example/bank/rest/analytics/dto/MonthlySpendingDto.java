@@ -0,0 +1,25 @@
+package com.example.bank.rest.analytics.dto;
+
+import java.math.BigDecimal;
+
+// One cell of the customer spending breakdown: month x transaction type
+public class MonthlySpendingDto {
+    private String month;      // "2024-03"
+    private String type;       // DEPOSIT / WITHDRAW / TRANSFER_OUT / TRANSFER_IN
+    private long count;
+    private BigDecimal total;
+
+    public MonthlySpendingDto() { }
+    public MonthlySpendingDto(String month, String type, long count, BigDecimal total) {
+        this.month = month; this.type = type; this.count = count; this.total = total;
+    }
+
+    public String getMonth() { return month; }
+    public void setMonth(String month) { this.month = month; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+}
@@ -0,0 +1,23 @@
+package com.example.bank.rest.analytics.dto;
+
+import java.math.BigDecimal;
+
+// Money in/out and number of operations for one period (e.g. "2024-03")
+public class PeriodTotalDto {
+    private String period;
+    private BigDecimal inflow = BigDecimal.ZERO;
+    private BigDecimal outflow = BigDecimal.ZERO;
+    private long trxCount;
+
+    public PeriodTotalDto() { }
+    public PeriodTotalDto(String period) { this.period = period; }
+
+    public String getPeriod() { return period; }
+    public void setPeriod(String period) { this.period = period; }
+    public BigDecimal getInflow() { return inflow; }
+    public void setInflow(BigDecimal inflow) { this.inflow = inflow; }
+    public BigDecimal getOutflow() { return outflow; }
+    public void setOutflow(BigDecimal outflow) { this.outflow = outflow; }
+    public long getTrxCount() { return trxCount; }
+    public void setTrxCount(long trxCount) { this.trxCount = trxCount; }
+}
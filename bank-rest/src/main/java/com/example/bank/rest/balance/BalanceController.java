@@ -0,0 +1,26 @@
+package com.example.bank.rest.balance;
+
+import com.example.bank.rest.balance.dto.BalanceDto;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Public balance lookup served from the in-memory read model (no DB round trip).
+ * Same visibility as GET /api/accounts/{id}, which already exposes the balance.
+ */
+@RestController
+@RequestMapping("/api/accounts")
+public class BalanceController {
+
+    private final BalanceReadModel balances;
+
+    public BalanceController(BalanceReadModel balances) { this.balances = balances; }
+
+    // GET /api/accounts/{id}/balance
+    @GetMapping("/{accountId}/balance")
+    public BalanceDto balance(@PathVariable long accountId) {
+        return balances.get(accountId);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.bank.rest.balance;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.balance.dto.BalanceDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * Read side for hot balance queries: accountId → (minor units, currency, version) in a BalanceTable.
+ * - rebuilt from `accounts` at startup, before requests are served (plain JDBC, no entities)
+ * - AccountService reports every changed/created/deleted account; the table is touched after commit only
+ * Per-instance model (like the L2 cache): another node's commits are not seen here.
+ */
+@Service
+public class BalanceReadModel implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceReadModel.class);
+
+    // accounts.balance is DECIMAL(19,2) → cents fit in a long
+    static final int SCALE = 2;
+
+    // One reusable result holder per request thread (Tomcat pool threads are long-lived)
+    private static final ThreadLocal<BalanceTable.Slot> SLOT = ThreadLocal.withInitial(BalanceTable.Slot::new);
+
+    private final JdbcTemplate jdbc;
+    private final BalanceTable table;
+
+    // Ids deleted while rebuild() runs: its snapshot may still contain them
+    private final Set<Long> deletedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public BalanceReadModel(JdbcTemplate jdbc,
+                            @Value("${bank.balance.expected-accounts:1024}") int expectedAccounts) {
+        this.jdbc = jdbc;
+        this.table = new BalanceTable(expectedAccounts);
+    }
+
+    // Serve one balance; the lookup itself allocates nothing, only the response DTO is new
+    public BalanceDto get(long accountId) {
+        BalanceTable.Slot s = SLOT.get();
+        if (!table.get(accountId, s)) {
+            // mid-rebuild a miss may just not be loaded yet
+            if (rebuilding) throw new ResponseStatusException(SERVICE_UNAVAILABLE, "balances are being loaded");
+            throw new ResponseStatusException(NOT_FOUND, "account not found");
+        }
+        return new BalanceDto(accountId, s.minorUnits, BigDecimal.valueOf(s.minorUnits, SCALE), s.currency, s.version);
+    }
+
+    // Called inside the money op's transaction; applied once it commits (rollback → nothing to undo)
+    public void changed(AccountEntity account) {
+        afterCommit(() -> table.put(account.getId(), toMinor(account.getBalance()),
+                account.getCurrency(), account.getVersion()));
+    }
+
+    public void deleted(long accountId) {
+        afterCommit(() -> {
+            if (rebuilding) deletedDuringRebuild.add(accountId);
+            table.remove(accountId);
+        });
+    }
+
+    // Full load; put() keeps the newer version, so money ops committing meanwhile are not overwritten.
+    // A delete committing meanwhile is remembered: its row is skipped, or removed again at the end
+    // (ids are never reused, so a late remove cannot hit a new account).
+    // Startup load runs before the web server takes requests, so no existing account reads as 404
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long started = System.nanoTime();
+        int[] rows = {0};
+        rebuilding = true;
+        try {
+            jdbc.query(con -> {
+                var ps = con.prepareStatement("select id, balance, currency, version from accounts");
+                ps.setFetchSize(1000);
+                return ps;
+            }, rs -> {
+                long id = rs.getLong(1);
+                if (deletedDuringRebuild.contains(id)) return;
+                table.put(id, toMinor(rs.getBigDecimal(2)), rs.getString(3), rs.getLong(4));
+                rows[0]++;
+            });
+        } finally {
+            rebuilding = false;
+            deletedDuringRebuild.forEach(table::remove);
+            deletedDuringRebuild.clear();
+        }
+        log.info("balance read model rebuilt: {} accounts in {} ms", rows[0], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    int size() { return table.size(); }
+
+    // Rounded like the DECIMAL(19,2) column; runs in after-commit callbacks, so it must not throw
+    static long toMinor(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() { action.run(); }
+        });
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.bank.rest.balance;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * accountId → (balance in minor units, currency, version) in one primitive long[].
+ * Open addressing with linear probing; a slot is 3 adjacent longs [id, minor units, version<<8 | currency],
+ * so a hit costs one cache line and there are no objects per account (24 bytes per slot).
+ * Readers are lock-free (StampedLock optimistic read, retried under the read lock on a race);
+ * writers take the write lock. get() allocates nothing.
+ */
+public final class BalanceTable {
+
+    // Mutable result holder: callers reuse it, so a lookup creates no garbage
+    public static final class Slot {
+        public long minorUnits;
+        public String currency;
+        public long version;
+    }
+
+    private static final long FREE = 0;           // account ids start at 1 → 0 marks a free slot
+    private static final int STRIDE = 3;
+    private static final double MAX_LOAD = 0.6;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] slots;
+    private int capacity;                         // number of slots (power of two)
+    private int size;
+
+    // Currency dictionary (a handful of ISO codes → low 8 bits of the version word)
+    private volatile String[] codes = new String[0];
+    private final Map<String, Integer> codeIndex = new HashMap<>();
+
+    public BalanceTable(int expectedAccounts) {
+        allocate(capacityFor(expectedAccounts));
+    }
+
+    public boolean get(long accountId, Slot out) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            boolean found = read(accountId, out);
+            if (lock.validate(stamp)) return found;
+        }
+        stamp = lock.readLock();
+        try {
+            return read(accountId, out);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Insert or overwrite; an older version never replaces a newer one (out-of-order after-commit callbacks)
+    public void put(long accountId, long minorUnits, String currencyCode, long version) {
+        if (accountId == FREE) throw new IllegalArgumentException("account id must not be 0");
+        long stamp = lock.writeLock();
+        try {
+            int i = slotOf(accountId, slots);
+            int b = i * STRIDE;
+            if (slots[b] == accountId) {
+                if ((slots[b + 2] >>> 8) > version) return;
+            } else {
+                if (size + 1 > capacity * MAX_LOAD) {
+                    allocateAndRehash(capacity * 2);
+                    b = slotOf(accountId, slots) * STRIDE;
+                }
+                slots[b] = accountId;
+                size++;
+            }
+            slots[b + 1] = minorUnits;
+            slots[b + 2] = version << 8 | encode(currencyCode);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(long accountId) {
+        long stamp = lock.writeLock();
+        try {
+            int mask = capacity - 1;
+            int i = slotOf(accountId, slots);
+            if (slots[i * STRIDE] != accountId) return;
+            // Backward-shift deletion: pull later entries of the probe chain into the hole
+            int hole = i;
+            for (int j = (i + 1) & mask; slots[j * STRIDE] != FREE; j = (j + 1) & mask) {
+                int home = home(slots[j * STRIDE], mask);
+                boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+                if (movable) {
+                    System.arraycopy(slots, j * STRIDE, slots, hole * STRIDE, STRIDE);
+                    hole = j;
+                }
+            }
+            slots[hole * STRIDE] = FREE;
+            size--;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ---------- internals ----------
+
+    private boolean read(long accountId, Slot out) {
+        long[] s = slots;                         // one consistent array (validated by the caller)
+        int n = s.length / STRIDE;
+        int mask = n - 1;
+        int i = home(accountId, mask);
+        for (int probes = 0; probes < n; probes++, i = (i + 1) & mask) {
+            int b = i * STRIDE;
+            long key = s[b];
+            if (key == FREE) return false;
+            if (key == accountId) {
+                long word = s[b + 2];
+                String[] dict = codes;
+                int code = (int) (word & 0xFF);
+                out.minorUnits = s[b + 1];
+                out.version = word >>> 8;
+                out.currency = code < dict.length ? dict[code] : null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int slotOf(long accountId, long[] s) {
+        int mask = s.length / STRIDE - 1;
+        int i = home(accountId, mask);
+        while (s[i * STRIDE] != FREE && s[i * STRIDE] != accountId) i = (i + 1) & mask;
+        return i;
+    }
+
+    private static int home(long accountId, int mask) {
+        long h = accountId * 0x9E3779B97F4A7C15L;     // Fibonacci hashing spreads sequential ids
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private int encode(String code) {
+        Integer idx = codeIndex.get(code);
+        if (idx != null) return idx;
+        if (codeIndex.size() == 256) throw new IllegalStateException("more than 256 currencies");
+        int next = codeIndex.size();
+        String[] grown = Arrays.copyOf(codes, next + 1);
+        grown[next] = code;
+        codes = grown;
+        codeIndex.put(code, next);
+        return next;
+    }
+
+    private static int capacityFor(int expected) {
+        int needed = (int) Math.min(1 << 28, Math.max(16, (long) Math.ceil(expected / MAX_LOAD)));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        this.slots = new long[capacity * STRIDE];
+    }
+
+    private void allocateAndRehash(int newCapacity) {
+        long[] old = slots;
+        allocate(newCapacity);
+        for (int b = 0; b < old.length; b += STRIDE) {
+            if (old[b] == FREE) continue;
+            System.arraycopy(old, b, slots, slotOf(old[b], slots) * STRIDE, STRIDE);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.bank.rest.balance.dto;
+
+import java.math.BigDecimal;
+
+// Current balance of one account (minorUnits = balance * 100)
+public class BalanceDto {
+    private long accountId;
+    private long minorUnits;
+    private BigDecimal balance;
+    private String currency;
+    private long version;
+
+    public BalanceDto() { }
+
+    public BalanceDto(long accountId, long minorUnits, BigDecimal balance, String currency, long version) {
+        this.accountId = accountId;
+        this.minorUnits = minorUnits;
+        this.balance = balance;
+        this.currency = currency;
+        this.version = version;
+    }
+
+    public long getAccountId() { return accountId; }
+    public void setAccountId(long accountId) { this.accountId = accountId; }
+    public long getMinorUnits() { return minorUnits; }
+    public void setMinorUnits(long minorUnits) { this.minorUnits = minorUnits; }
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -1,6 +1,7 @@
 package com.example.bank.rest.common;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -9,7 +10,10 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.*;
 
-/** Global JSON error handler for REST API */
+/**
+ * Global JSON error handler for REST API.
+ * Errors are always JSON, even when the client asked for CBOR (MVC reads error bodies as JSON text).
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -27,7 +31,7 @@ public class GlobalExceptionHandler {
         body.put("status", 400);
         body.put("error", "Bad Request");
         body.put("errors", errors);
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     // ResponseStatusException → keep original status + reason + message
@@ -46,6 +50,8 @@ public class GlobalExceptionHandler {
 
         return org.springframework.http.ResponseEntity
                 .status(sc)
+                .contentType(MediaType.APPLICATION_JSON)
                 .body(body);
     }
+
 }
@@ -0,0 +1,33 @@
+package com.example.bank.rest.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary wire format for API clients that ask for it (Accept: application/cbor).
+ * - JSON stays the default (converter sits after JSON, so clients that accept anything get JSON)
+ * - BigDecimal → CBOR decimal fraction, dates → epoch numbers (no text parsing on the client)
+ * Gzip for large payloads is done by the container (server.compression in application.yml).
+ */
+@Configuration
+public class WireFormatConfig {
+
+    // Same Boot-customized mapper as JSON, only the encoding and date style differ
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.createXmlMapper(false)
+                .factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    // Bean of the same type replaces Spring's default CBOR converter in place (after JSON)
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+}
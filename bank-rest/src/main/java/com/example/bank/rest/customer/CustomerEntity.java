@@ -1,9 +1,13 @@
 package com.example.bank.rest.customer;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-// JPA entity for customers (REST side)
+// JPA entity for customers (REST side), second-level cached when profile=cache
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customers")
 @Table(name = "customers")
 public class CustomerEntity {
 
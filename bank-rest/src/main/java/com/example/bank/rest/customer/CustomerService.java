@@ -6,6 +6,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
@@ -22,6 +23,8 @@ public class CustomerService {
     }
 
     // Return all customers (no paging) — demo endpoint
+    // (readOnly reads may be served by a read replica, see rest.db)
+    @Transactional(readOnly = true)
     public List<CustomerDto> all() {
         List<CustomerEntity> entities = repo.findAll();
         List<CustomerDto> result = new ArrayList<>();
@@ -44,6 +47,7 @@ public class CustomerService {
     }
 
     // Get by id or 404
+    @Transactional(readOnly = true)
     public CustomerDto byId(long id) {
         CustomerEntity e = repo.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "customer not found"));
@@ -68,6 +72,7 @@ public class CustomerService {
     }
 
     // Search by name with paging (q optional)
+    @Transactional(readOnly = true)
     public List<CustomerDto> search(String q, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
 
@@ -93,8 +98,8 @@ public class CustomerService {
         repo.deleteById(id);
     }
 
-    // Simple mapper
-    private static CustomerDto toDto(CustomerEntity e) {
+    // Simple mapper (also reused by dashboard)
+    public static CustomerDto toDto(CustomerEntity e) {
         return new CustomerDto(e.getId(), e.getFirstName(), e.getLastName(), e.getEmail());
     }
 }
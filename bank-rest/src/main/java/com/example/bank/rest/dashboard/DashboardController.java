@@ -0,0 +1,26 @@
+package com.example.bank.rest.dashboard;
+
+import com.example.bank.rest.dashboard.dto.DashboardDto;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Composite read endpoint for MVC pages (one round trip instead of 3).
+ * GET /api/customers/{customerId}/dashboard?account=&trx=N
+ */
+@RestController
+@RequestMapping("/api/customers/{customerId}/dashboard")
+public class DashboardController {
+
+    private final DashboardService service;
+
+    public DashboardController(DashboardService service) { this.service = service; }
+
+    // account: optional selected account (history of all accounts when missing)
+    // trx: how many recent transactions to include (0..100)
+    @GetMapping
+    public DashboardDto dashboard(@PathVariable long customerId,
+                                  @RequestParam(name = "account", required = false) Long accountId,
+                                  @RequestParam(defaultValue = "10") int trx) {
+        return service.dashboard(customerId, accountId, trx);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.bank.rest.dashboard;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.account.AccountRepository;
+import com.example.bank.rest.account.AccountService;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.customer.CustomerService;
+import com.example.bank.rest.dashboard.dto.DashboardDto;
+import com.example.bank.rest.transaction.TransactionEntity;
+import com.example.bank.rest.transaction.TransactionRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Composite read for the MVC pages: customer + accounts + recent transactions.
+ * Three small queries inside one read-only transaction instead of three HTTP calls.
+ */
+@Service
+public class DashboardService {
+
+    // Same cap as the account history endpoint (top 100)
+    static final int MAX_TRX = 100;
+
+    private final CustomerRepository customerRepo;
+    private final AccountRepository accountRepo;
+    private final TransactionRepository trxRepo;
+
+    public DashboardService(CustomerRepository customerRepo,
+                            AccountRepository accountRepo,
+                            TransactionRepository trxRepo) {
+        this.customerRepo = customerRepo;
+        this.accountRepo = accountRepo;
+        this.trxRepo = trxRepo;
+    }
+
+    @Transactional(readOnly = true)
+    public DashboardDto dashboard(long customerId, Long accountId, int trx) {
+        CustomerEntity c = customerRepo.findById(customerId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "customer not found"));
+
+        List<AccountEntity> accounts = accountRepo.findByCustomerId(customerId);
+        List<Long> accountIds = accounts.stream().map(AccountEntity::getId).toList();
+
+        // Ownership check against the list we already have (no extra query)
+        if (accountId != null && !accountIds.contains(accountId)) {
+            throw new ResponseStatusException(NOT_FOUND, "account not found");
+        }
+
+        int limit = Math.max(0, Math.min(trx, MAX_TRX));
+        List<TransactionEntity> recent;
+        if (limit == 0 || accountIds.isEmpty()) {
+            recent = List.of();
+        } else if (accountId != null) {
+            recent = trxRepo.findByAccount_IdOrderByCreatedAtDesc(accountId, PageRequest.of(0, limit));
+        } else {
+            recent = trxRepo.findByAccount_IdInOrderByCreatedAtDesc(accountIds, PageRequest.of(0, limit));
+        }
+
+        DashboardDto d = new DashboardDto();
+        d.setCustomer(CustomerService.toDto(c));
+        d.setAccounts(accounts.stream().map(AccountService::toDto).toList());
+        d.setAccountId(accountId);
+        d.setTransactions(recent.stream().map(AccountService::toDto).toList());
+        return d;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.bank.rest.dashboard.dto;
+
+import com.example.bank.core.dto.CustomerDto;
+import com.example.bank.rest.account.dto.AccountDto;
+import com.example.bank.rest.account.dto.TransactionDto;
+
+import java.util.List;
+
+// Everything one MVC page needs about a customer, returned by a single call
+public class DashboardDto {
+    private CustomerDto customer;
+    private List<AccountDto> accounts;
+    private Long accountId;                  // selected account (null = all accounts)
+    private List<TransactionDto> transactions; // newest first
+
+    public CustomerDto getCustomer() { return customer; }
+    public void setCustomer(CustomerDto customer) { this.customer = customer; }
+    public List<AccountDto> getAccounts() { return accounts; }
+    public void setAccounts(List<AccountDto> accounts) { this.accounts = accounts; }
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    public List<TransactionDto> getTransactions() { return transactions; }
+    public void setTransactions(List<TransactionDto> transactions) { this.transactions = transactions; }
+}
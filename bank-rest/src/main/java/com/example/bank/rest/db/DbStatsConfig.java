@@ -0,0 +1,45 @@
+package com.example.bank.rest.db;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Dev/test statement instrumentation (bank.db.stats.enabled=true, on in the h2 and test profiles):
+ * the application DataSource counts and times statements per thread, statements over
+ * bank.db.slow-query-ms go to the slow-query log, requests over bank.db.query-count.budget
+ * statements are logged, and with bank.db.stats.server-timing=true responses carry a Server-Timing
+ * breakdown. Tests assert exact counts via QueryCounter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bank.db.stats.enabled", havingValue = "true")
+public class DbStatsConfig {
+
+    // Only the bean named dataSource (what JPA and JdbcTemplate use): with replica routing the
+    // primary pool sits behind it, wrapping both would count every statement twice
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(@Value("${bank.db.slow-query-ms:200}") long slowQueryMs) {
+        SlowQueryLog slowLog = new SlowQueryLog(slowQueryMs);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String name) {
+                return bean instanceof DataSource ds && name.equals("dataSource") ? InstrumentedDataSource.wrap(ds, slowLog) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public RequestDbStatsFilter requestDbStatsFilter(@Value("${bank.db.query-count.budget:0}") int budget,
+                                                     @Value("${bank.db.stats.server-timing:false}") boolean serverTiming) {
+        return new RequestDbStatsFilter(budget, serverTiming);
+    }
+
+    @Bean
+    public SerializationStartAdvice serializationStartAdvice() {
+        return new SerializationStartAdvice();
+    }
+}
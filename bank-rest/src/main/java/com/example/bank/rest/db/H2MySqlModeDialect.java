@@ -0,0 +1,32 @@
+package com.example.bank.rest.db;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.identity.H2IdentityColumnSupport;
+import org.hibernate.dialect.identity.IdentityColumnSupport;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+
+/**
+ * H2 dialect for the MODE=MySQL databases (profile h2, tests).
+ * Stock H2Dialect inserts identity rows as "(..., id) values (..., default)"; in MySQL mode H2 treats
+ * that as an explicit id and moves the identity counter to it, so concurrent inserts into one table
+ * can be handed the same id (PK violation). Leaving the id column out keeps H2 on its own counter.
+ */
+public class H2MySqlModeDialect extends H2Dialect {
+
+    public H2MySqlModeDialect() { }
+
+    public H2MySqlModeDialect(DialectResolutionInfo info) { super(info); }
+
+    @Override
+    public IdentityColumnSupport getIdentityColumnSupport() {
+        return NoInsertKeyword.INSTANCE;
+    }
+
+    // null insert string → Hibernate omits the identity column from INSERT
+    private static final class NoInsertKeyword extends H2IdentityColumnSupport {
+        static final NoInsertKeyword INSTANCE = new NoInsertKeyword();
+
+        @Override
+        public String getIdentityInsertString() { return null; }
+    }
+}
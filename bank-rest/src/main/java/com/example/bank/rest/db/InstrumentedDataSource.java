@@ -0,0 +1,99 @@
+package com.example.bank.rest.db;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JDK-proxy DataSource → Connection → Statement chain that times every statement
+ * round trip (execute*, executeBatch), reports it to QueryCounter and hands slow ones to
+ * SlowQueryLog. Everything else goes straight to the real objects (unwrap() too, so pool
+ * metrics still find the Hikari pool). Bind values are never kept, only their types.
+ */
+final class InstrumentedDataSource {
+
+    private InstrumentedDataSource() { }
+
+    static DataSource wrap(DataSource target, SlowQueryLog slowLog) {
+        return proxy(DataSource.class, target, (proxy, m, args) ->
+                m.getName().equals("getConnection")
+                        ? connection((Connection) call(target, m, args), slowLog)
+                        : call(target, m, args));
+    }
+
+    private static Connection connection(Connection target, SlowQueryLog slowLog) {
+        return proxy(Connection.class, target, (proxy, m, args) -> {
+            Object result = call(target, m, args);
+            return switch (m.getName()) {
+                case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0], slowLog);
+                case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0], slowLog);
+                case "createStatement" -> statement(Statement.class, (Statement) result, null, slowLog);
+                default -> result;
+            };
+        });
+    }
+
+    // sql: the prepared SQL; null for plain Statements, where execute*(sql) carries it
+    private static <S extends Statement> S statement(Class<S> type, Statement target, String sql, SlowQueryLog slowLog) {
+        Map<Integer, String> params = new TreeMap<>();
+        int[] batched = {0};
+        return proxy(type, target, (proxy, m, args) -> {
+            String name = m.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                params.put(index, shape(name, args[1])); // setLong(1, …), setNull(2, Types.X), …
+            } else if (name.equals("clearParameters")) {
+                params.clear();
+            } else if (name.equals("addBatch")) {
+                batched[0]++;
+            }
+            if (!name.startsWith("execute")) return call(target, m, args); // execute, executeQuery/Update/Batch, executeLarge*
+
+            long started = System.nanoTime();
+            try {
+                return call(target, m, args);
+            } finally {
+                long nanos = System.nanoTime() - started;
+                QueryCounter.executed(nanos);
+                String text = sql != null ? sql : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                slowLog.statement(text, params.values(), batched[0], nanos);
+                if (name.equals("executeBatch") || name.equals("executeLargeBatch")) batched[0] = 0;
+            }
+        });
+    }
+
+    // setBigDecimal → decimal, setObject(i, x) → x's type, setNull → null; no values
+    private static String shape(String setter, Object value) {
+        if (setter.equals("setNull")) return "null";
+        if (setter.equals("setObject")) return value == null ? "null" : value.getClass().getSimpleName().toLowerCase(Locale.ROOT);
+        String type = setter.substring(3).toLowerCase(Locale.ROOT);
+        return type.equals("bigdecimal") ? "decimal" : type;
+    }
+
+    // equals/hashCode by proxy identity; every other method → handler
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, m, args) -> switch (m.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "instrumented:" + target;
+                    default -> handler.invoke(proxy, m, args);
+                }));
+    }
+
+    private static Object call(Object target, Method m, Object[] args) throws Throwable {
+        try {
+            return m.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause(); // the driver's SQLException, not a reflection wrapper
+        }
+    }
+}
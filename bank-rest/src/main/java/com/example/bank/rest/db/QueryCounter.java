@@ -0,0 +1,75 @@
+package com.example.bank.rest.db;
+
+import java.util.function.Supplier;
+
+/**
+ * SQL statements executed by the current thread, counted and timed in nestable scopes
+ * (a request scope from RequestDbStatsFilter, a test scope around it, …).
+ * Fed by InstrumentedDataSource; statements run on other threads (async work) are not seen here.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() { }
+
+    /** Open a scope on this thread; close it in the same thread (try-with-resources). */
+    public static Scope open() {
+        return open(null);
+    }
+
+    // label: what the statements belong to (e.g. "POST /api/…/{accountId}/transfer"), shown in the slow-query log;
+    // resolved only when a slow statement is logged (the handler pattern is known by then)
+    public static Scope open(Supplier<String> label) {
+        Scope s = new Scope(CURRENT.get(), label);
+        CURRENT.set(s);
+        return s;
+    }
+
+    // Called by InstrumentedDataSource for every statement round trip
+    static void executed(long nanos) {
+        Scope s = CURRENT.get();
+        if (s != null) {
+            s.count++;
+            s.dbNanos += nanos;
+        }
+    }
+
+    // Label of the innermost labeled scope, null outside any
+    static String label() {
+        for (Scope s = CURRENT.get(); s != null; s = s.parent) {
+            if (s.label != null) return s.label.get();
+        }
+        return null;
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final Supplier<String> label;
+        private long count;
+        private long dbNanos;
+        private boolean closed;
+
+        private Scope(Scope parent, Supplier<String> label) {
+            this.parent = parent;
+            this.label = label;
+        }
+
+        public long count() { return count; }
+
+        public long dbNanos() { return dbNanos; }
+
+        // Hand the totals to the enclosing scope, so an outer scope sees everything inside it
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            if (parent != null) {
+                parent.count += count;
+                parent.dbNanos += dbNanos;
+            }
+            if (parent == null) CURRENT.remove();
+            else CURRENT.set(parent);
+        }
+    }
+}
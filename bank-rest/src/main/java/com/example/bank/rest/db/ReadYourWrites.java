@@ -0,0 +1,50 @@
+package com.example.bank.rest.db;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes stickiness: a session that just wrote reads from the primary for stickyMs.
+ * Session = X-Session-Id header of the current request (bound by ReadYourWritesFilter).
+ * Writes are seen as commits of read-write transactions (Boot registers this listener on the tx manager).
+ */
+public class ReadYourWrites implements TransactionExecutionListener {
+
+    public static final String HEADER = "X-Session-Id";
+
+    private static final ThreadLocal<String> SESSION = new ThreadLocal<>();
+    private static final int PRUNE_ABOVE = 10_000;
+
+    private final ConcurrentHashMap<String, Long> lastWriteMs = new ConcurrentHashMap<>();
+    private final long stickyMs;
+
+    public ReadYourWrites(long stickyMs) { this.stickyMs = stickyMs; }
+
+    static void bind(String session) { SESSION.set(session); }
+    static void clear() { SESSION.remove(); }
+
+    // Current session wrote recently → its reads must see that write
+    public boolean isSticky() {
+        String s = SESSION.get();
+        if (s == null) return false;
+        Long at = lastWriteMs.get(s);
+        return at != null && System.currentTimeMillis() - at < stickyMs;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution tx, Throwable commitFailure) {
+        if (commitFailure == null && !tx.isReadOnly()) markWrite();
+    }
+
+    public void markWrite() {
+        String s = SESSION.get();
+        if (s == null) return;
+        long now = System.currentTimeMillis();
+        lastWriteMs.put(s, now);
+        if (lastWriteMs.size() > PRUNE_ABOVE) {
+            lastWriteMs.values().removeIf(at -> now - at >= stickyMs);
+        }
+    }
+}
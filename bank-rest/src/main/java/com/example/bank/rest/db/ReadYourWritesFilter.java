@@ -0,0 +1,25 @@
+package com.example.bank.rest.db;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Binds the caller's X-Session-Id to the request thread (see ReadYourWrites)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse resp, FilterChain chain)
+            throws ServletException, IOException {
+        String session = req.getHeader(ReadYourWrites.HEADER);
+        if (session != null && !session.isBlank()) ReadYourWrites.bind(session);
+        try {
+            chain.doFilter(req, resp);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+}
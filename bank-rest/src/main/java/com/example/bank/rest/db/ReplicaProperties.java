@@ -0,0 +1,51 @@
+package com.example.bank.rest.db;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * bank.db.* settings for read-replica routing (used when bank.db.routing.enabled=true).
+ * The primary is still configured by spring.datasource.*.
+ */
+@ConfigurationProperties(prefix = "bank.db")
+public class ReplicaProperties {
+
+    // Replica connection pools (read-only transactions are spread over the healthy ones)
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Replica is skipped while its measured lag is above this (measured lag ≈ real lag + heartbeat period)
+    private long maxLagMs = 3000;
+
+    // How often the primary heartbeat is written and replica lag is measured
+    private long heartbeatMs = 1000;
+
+    // After a write, the same session reads from the primary for this long (read-your-writes)
+    private long stickyMs = 5000;
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maxPoolSize = 10;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+        public int getMaxPoolSize() { return maxPoolSize; }
+        public void setMaxPoolSize(int maxPoolSize) { this.maxPoolSize = maxPoolSize; }
+    }
+
+    public List<Replica> getReplicas() { return replicas; }
+    public void setReplicas(List<Replica> replicas) { this.replicas = replicas; }
+    public long getMaxLagMs() { return maxLagMs; }
+    public void setMaxLagMs(long maxLagMs) { this.maxLagMs = maxLagMs; }
+    public long getHeartbeatMs() { return heartbeatMs; }
+    public void setHeartbeatMs(long heartbeatMs) { this.heartbeatMs = heartbeatMs; }
+    public long getStickyMs() { return stickyMs; }
+    public void setStickyMs(long stickyMs) { this.stickyMs = stickyMs; }
+}
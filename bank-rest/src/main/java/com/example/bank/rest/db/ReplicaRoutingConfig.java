@@ -0,0 +1,63 @@
+package com.example.bank.rest.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read-replica routing (off by default): bank.db.routing.enabled=true + bank.db.replicas[*].
+ * The application DataSource becomes lazy proxy → routing DataSource → primary / replica pools.
+ * Needs spring.jpa.open-in-view=false (as in the h2/mysql profiles): with OSIV one connection
+ * is held for the whole request, so the first transaction would decide for all of them.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(name = "bank.db.routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    // Primary pool from the usual spring.datasource.* settings
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties props) {
+        return props.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaSet replicaSet(HikariDataSource primaryDataSource, ReplicaProperties props) {
+        return new ReplicaSet(primaryDataSource, props);
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaProperties props) {
+        return new ReadYourWrites(props.getStickyMs());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+
+    // What JPA and everything else uses
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaSet replicaSet, ReadYourWrites readYourWrites) {
+        Map<Object, Object> targets = new HashMap<>(replicaSet.pools());
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaSet, readYourWrites);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
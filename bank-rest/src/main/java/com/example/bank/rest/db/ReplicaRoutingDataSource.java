@@ -0,0 +1,33 @@
+package com.example.bank.rest.db;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Picks the pool per transaction:
+ * - @Transactional(readOnly = true) → a replica within max lag, unless the session just wrote
+ * - everything else (writes, no transaction, no usable replica) → primary
+ * Must sit behind LazyConnectionDataSourceProxy: the read-only flag is only known after
+ * the transaction has started, i.e. at the first statement, not at getConnection().
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaSet replicas;
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaRoutingDataSource(ReplicaSet replicas, ReadYourWrites readYourWrites) {
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !readYourWrites.isSticky()) {
+            String replica = replicas.pick();
+            if (replica != null) return replica;
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.bank.rest.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replica pools + their lag.
+ * Lag = age of the newest heartbeat row the replica has (the primary writes one every heartbeat-ms).
+ * Works the same for MySQL replication and for a plain second DB in tests (no SHOW REPLICA STATUS).
+ */
+public class ReplicaSet implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSet.class);
+
+    private final JdbcTemplate primary;
+    private final Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+    private final long maxLagMs;
+
+    // name → last measured lag (missing = unreachable / no heartbeat yet)
+    private final Map<String, Long> lagMs = new ConcurrentHashMap<>();
+    private volatile List<String> usable = List.of();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSet(DataSource primaryDataSource, ReplicaProperties props) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.maxLagMs = props.getMaxLagMs();
+        int i = 0;
+        for (ReplicaProperties.Replica r : props.getReplicas()) {
+            HikariDataSource ds = new HikariDataSource();
+            ds.setPoolName("replica-" + i);
+            ds.setJdbcUrl(r.getUrl());
+            ds.setUsername(r.getUsername());
+            ds.setPassword(r.getPassword());
+            ds.setMaximumPoolSize(r.getMaxPoolSize());
+            ds.setReadOnly(true);
+            // don't fail startup when a replica is down; it just stays unusable
+            ds.setInitializationFailTimeout(-1);
+            pools.put("replica-" + i++, ds);
+        }
+        primary.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_ms BIGINT NOT NULL)");
+    }
+
+    public Map<String, DataSource> pools() { return new LinkedHashMap<>(pools); }
+
+    // Round robin over replicas that are within maxLag; null → use the primary
+    public String pick() {
+        List<String> u = usable;
+        return u.isEmpty() ? null : u.get(Math.floorMod(next.getAndIncrement(), u.size()));
+    }
+
+    public Map<String, Long> lag() { return Map.copyOf(lagMs); }
+
+    // Replicas join after the first beat (initial delay = one period)
+    @Scheduled(fixedDelayString = "${bank.db.heartbeat-ms:1000}", initialDelayString = "${bank.db.heartbeat-ms:1000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        try {
+            primary.update("INSERT INTO replica_heartbeat (id, beat_ms) VALUES (1, ?) "
+                    + "ON DUPLICATE KEY UPDATE beat_ms = VALUES(beat_ms)", now);
+        } catch (DataAccessException ex) {
+            log.warn("heartbeat write failed: {}", ex.getMessage());
+        }
+
+        List<String> ok = new ArrayList<>();
+        for (Map.Entry<String, HikariDataSource> e : pools.entrySet()) {
+            String name = e.getKey();
+            try {
+                Long beat = new JdbcTemplate(e.getValue())
+                        .queryForObject("SELECT beat_ms FROM replica_heartbeat WHERE id = 1", Long.class);
+                long lag = Math.max(0, now - beat);
+                lagMs.put(name, lag);
+                if (lag <= maxLagMs) ok.add(name);
+            } catch (DataAccessException ex) { // down, or no heartbeat replicated yet
+                lagMs.remove(name);
+            }
+        }
+        if (!ok.equals(usable)) {
+            log.info("usable replicas: {} (lag ms: {})", ok, lagMs);
+        }
+        usable = List.copyOf(ok);
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
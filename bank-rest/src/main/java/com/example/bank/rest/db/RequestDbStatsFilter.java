@@ -0,0 +1,78 @@
+package com.example.bank.rest.db;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Opens the QueryCounter scope for each request and logs requests over the statement budget
+ * (likely N+1 or a missing join). With serverTiming on (dev/test only: it exposes backend internals)
+ * it also answers with a per-request DB time breakdown,
+ * Server-Timing: db;dur=…;desc="N queries", app;dur=…, serialization;dur=…, total;dur=… (ms).
+ * db = statement time on the request thread, serialization = writing the body (from SerializationStartAdvice
+ * to the end of the chain), app = the rest. Only then is the body buffered, so the header can follow it.
+ */
+public class RequestDbStatsFilter extends OncePerRequestFilter {
+
+    static final String SERIALIZATION_START = RequestDbStatsFilter.class.getName() + ".serializationStart";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestDbStatsFilter.class);
+
+    private final int budget; // 0 = no budget warnings
+    private final boolean serverTiming;
+
+    public RequestDbStatsFilter(int budget, boolean serverTiming) {
+        this.budget = budget;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse resp, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        ContentCachingResponseWrapper buffered = serverTiming ? new ContentCachingResponseWrapper(resp) : null;
+        QueryCounter.Scope scope = QueryCounter.open(() -> label(req));
+        try {
+            chain.doFilter(req, buffered != null ? buffered : resp);
+        } finally {
+            scope.close();
+            if (buffered != null) {
+                long ended = System.nanoTime();
+                if (!resp.isCommitted()) { // sendError() commits; nothing to add then
+                    Object serializationStart = req.getAttribute(SERIALIZATION_START);
+                    long serialization = serializationStart instanceof Long s ? ended - s : 0;
+                    resp.setHeader("Server-Timing", serverTiming(scope.count(), scope.dbNanos(), serialization, ended - started));
+                }
+                buffered.copyBodyToResponse();
+            }
+            if (budget > 0 && scope.count() > budget) {
+                log.warn("{} ran {} SQL statements (budget {})", label(req), scope.count(), budget);
+            }
+        }
+    }
+
+    // "POST /api/customers/{customerId}/accounts/{accountId}/deposit": the mapping, not the ids in the URI
+    static String label(HttpServletRequest req) {
+        Object pattern = req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return req.getMethod() + " " + (pattern != null ? pattern : "(no handler)");
+    }
+
+    // app can't go negative: lazy loads while serializing are counted in both db and serialization
+    static String serverTiming(long count, long dbNanos, long serializationNanos, long totalNanos) {
+        long app = Math.max(0, totalNanos - dbNanos - serializationNanos);
+        return String.format(Locale.ROOT,
+                "db;dur=%.1f;desc=\"%d queries\", app;dur=%.1f, serialization;dur=%.1f, total;dur=%.1f",
+                ms(dbNanos), count, ms(app), ms(serializationNanos), ms(totalNanos));
+    }
+
+    private static double ms(long nanos) { return nanos / 1e6; }
+}
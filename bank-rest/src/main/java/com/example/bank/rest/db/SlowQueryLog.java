@@ -0,0 +1,51 @@
+package com.example.bank.rest.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Statements slower than bank.db.slow-query-ms, logged to category "bank.slow-query"
+ * (route it to its own file if needed). Never logs values: the request is its handler pattern
+ * (/api/customers/{customerId}/…, not the ids), literals in the SQL become ?, bind parameters
+ * are shown by type only ("long, decimal, string").
+ */
+final class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger("bank.slow-query");
+
+    private static final Pattern STRING = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final long thresholdNanos;
+
+    SlowQueryLog(long thresholdMs) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    // params: bind types in index order
+    void statement(String sql, Collection<String> params, int batch, long nanos) {
+        if (nanos < thresholdNanos || !log.isWarnEnabled()) return;
+        String request = QueryCounter.label();
+        log.warn("{} ms{} | {} | params [{}]{}",
+                String.format(Locale.ROOT, "%.1f", nanos / 1e6),
+                request != null ? " | " + request : "",
+                sql != null ? normalize(sql) : "(unknown sql)",
+                String.join(", ", params),
+                batch > 0 ? " x " + batch + " batched" : "");
+    }
+
+    // Same statement shape → same text: literals → ?, IN lists of any length → (?, ...), one-line whitespace
+    static String normalize(String sql) {
+        String s = STRING.matcher(sql).replaceAll("?");
+        s = NUMBER.matcher(s).replaceAll("?");
+        s = IN_LIST.matcher(s).replaceAll("(?, ...)");
+        return SPACES.matcher(s).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.bank.rest.metrics;
+
+import com.example.bank.rest.db.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Usage gauges for the replica pools (bank.db.routing.enabled=true).
+ * The primary pool, Tomcat threads and the analytics executor are beans, so Spring Boot
+ * already publishes hikaricp_*, tomcat_threads_* and executor_*; replica pools live inside
+ * ReplicaSet and are bound here under the same hikaricp names (tag pool=replica-N).
+ */
+@Component
+public class ReplicaPoolMetrics implements MeterBinder {
+
+    private final ObjectProvider<ReplicaSet> replicas;
+
+    public ReplicaPoolMetrics(ObjectProvider<ReplicaSet> replicas) {
+        this.replicas = replicas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ReplicaSet set = replicas.getIfAvailable();
+        if (set == null) return; // routing off
+        set.pools().forEach((name, ds) -> {
+            HikariDataSource pool = (HikariDataSource) ds;
+            gauge(registry, "hikaricp.connections.active", name, pool, HikariPoolMXBean::getActiveConnections);
+            gauge(registry, "hikaricp.connections.idle", name, pool, HikariPoolMXBean::getIdleConnections);
+            gauge(registry, "hikaricp.connections.pending", name, pool, HikariPoolMXBean::getThreadsAwaitingConnection);
+            Gauge.builder("hikaricp.connections.max", pool, p -> p.getMaximumPoolSize())
+                    .tag("pool", name).register(registry);
+        });
+    }
+
+    // Pool MXBean is null until the pool starts (first connection) → NaN until then
+    private static void gauge(MeterRegistry registry, String meter, String name, HikariDataSource pool,
+                              ToIntFunction<HikariPoolMXBean> value) {
+        Gauge.builder(meter, pool, p -> {
+                    HikariPoolMXBean mx = p.getHikariPoolMXBean();
+                    return mx == null ? Double.NaN : value.applyAsInt(mx);
+                })
+                .tag("pool", name)
+                .register(registry);
+    }
+}
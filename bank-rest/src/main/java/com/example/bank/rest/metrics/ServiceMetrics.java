@@ -0,0 +1,82 @@
+package com.example.bank.rest.metrics;
+
+import com.example.bank.rest.transaction.TransactionEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Service-level meters (Prometheus names in brackets):
+ * - bank.service timer [bank_service_seconds_*]: tags operation (account.transfer, customer.create, …)
+ *   and outcome (ok, insufficient_funds, not_found, conflict, rejected, error), with histogram buckets
+ * - bank.money.volume counter [bank_money_volume_total]: committed amounts per currency and transaction type
+ */
+@Component
+public class ServiceMetrics {
+
+    static final String TIMER = "bank.service";
+    static final String VOLUME = "bank.money.volume";
+
+    private final MeterRegistry registry;
+
+    public ServiceMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // Meters are cached by the registry: builder.register() on a known (name, tags) returns the same one
+    public Timer timer(String operation, String outcome) {
+        return Timer.builder(TIMER)
+                .description("AccountService / CustomerService calls, incl. DB, lock wait and commit")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    // Called inside the money op's transaction; counted once it commits (rollback → not moved)
+    public void moneyMoved(TransactionEntity t) {
+        Counter c = Counter.builder(VOLUME)
+                .description("Committed money volume (transfers count as transfer_out + transfer_in)")
+                .tag("currency", t.getAccount().getCurrency())
+                .tag("type", t.getType().name().toLowerCase(Locale.ROOT))
+                .register(registry);
+        double amount = t.getAmount().doubleValue();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            c.increment(amount);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() { c.increment(amount); }
+        });
+    }
+
+    // Outcome tag from how the call ended (services signal business errors with ResponseStatusException)
+    static String outcome(Throwable ex) {
+        if (ex == null) return "ok";
+        if (ex instanceof ResponseStatusException rse) {
+            if ("insufficient funds".equals(rse.getReason())) return "insufficient_funds";
+            return switch (rse.getStatusCode().value()) {
+                case 404 -> "not_found";
+                case 409 -> "conflict";
+                case 400 -> "rejected";
+                default -> "error";
+            };
+        }
+        if (ex instanceof OptimisticLockingFailureException || ex instanceof DataIntegrityViolationException) {
+            return "conflict";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bank.rest.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public AccountService / CustomerService method.
+ * Ordered before @Transactional, so the time includes getting a connection, lock waits and the commit,
+ * and a failed commit (optimistic lock, constraint) is counted under its real outcome.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceTimingAspect {
+
+    private final ServiceMetrics metrics;
+
+    public ServiceTimingAspect(ServiceMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Around("execution(public * com.example.bank.rest.account.AccountService.*(..))"
+            + " || execution(public * com.example.bank.rest.customer.CustomerService.*(..))")
+    public Object time(ProceedingJoinPoint pjp) throws Throwable {
+        String operation = operation(pjp);
+        long started = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return pjp.proceed();
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            metrics.timer(operation, ServiceMetrics.outcome(failure))
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // AccountService.transfer → account.transfer
+    static String operation(ProceedingJoinPoint pjp) {
+        String type = pjp.getSignature().getDeclaringType().getSimpleName().replace("Service", "");
+        return type.toLowerCase(Locale.ROOT) + "." + pjp.getSignature().getName();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.bank.rest.overview;
+
+import com.example.bank.rest.overview.dto.CustomerOverviewDto;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Read endpoint for the MVC customers list (no per-customer account calls).
+ * GET /api/customers/overview?page=&size=
+ */
+@RestController
+@RequestMapping("/api/customers/overview")
+public class CustomerOverviewController {
+
+    private final CustomerOverviewService service;
+
+    public CustomerOverviewController(CustomerOverviewService service) { this.service = service; }
+
+    // Customers ordered by id, page by page
+    @GetMapping
+    public List<CustomerOverviewDto> overview(@RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "50") int size) {
+        return service.page(page, size);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.bank.rest.overview;
+
+import com.example.bank.rest.overview.dto.CustomerOverviewDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Customers list with account counts and balances per currency.
+ * One grouped query per page: the page of customers is a derived table,
+ * accounts are left-joined and grouped by (customer, currency).
+ */
+@Service
+public class CustomerOverviewService {
+
+    // Largest page we answer in one call
+    static final int MAX_PAGE_SIZE = 200;
+
+    // Row = one (customer, currency) group; currency is null for a customer without accounts
+    private static final String PAGE_SQL = """
+            select c.id, c.name, c.last_name, c.email, a.currency, count(a.id) as accounts, sum(a.balance) as total
+            from (select id, name, last_name, email from customers order by id limit ? offset ?) c
+            left join accounts a on a.customer_id = c.id
+            group by c.id, c.name, c.last_name, c.email, a.currency
+            order by c.id, a.currency
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public CustomerOverviewService(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerOverviewDto> page(int page, int size) {
+        if (page < 0) {
+            throw new ResponseStatusException(BAD_REQUEST, "page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(BAD_REQUEST, "size must be 1.." + MAX_PAGE_SIZE);
+        }
+
+        List<CustomerOverviewDto> result = new ArrayList<>();
+        jdbc.query(PAGE_SQL, rs -> {
+            long id = rs.getLong("id");
+            CustomerOverviewDto row = result.isEmpty() ? null : result.get(result.size() - 1);
+            if (row == null || row.getId() != id) { // rows come grouped by customer
+                row = new CustomerOverviewDto();
+                row.setId(id);
+                row.setFirstName(rs.getString("name"));
+                row.setLastName(rs.getString("last_name"));
+                row.setEmail(rs.getString("email"));
+                result.add(row);
+            }
+            String currency = rs.getString("currency");
+            if (currency != null) {
+                row.setAccountCount(row.getAccountCount() + rs.getInt("accounts"));
+                row.getBalances().add(new CustomerOverviewDto.Balance(currency, rs.getBigDecimal("total")));
+            }
+        }, size, (long) page * size);
+        return result;
+    }
+}
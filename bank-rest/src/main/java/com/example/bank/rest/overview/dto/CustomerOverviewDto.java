@@ -0,0 +1,41 @@
+package com.example.bank.rest.overview.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// One row of the customers list page: customer + number of accounts + balance per currency
+public class CustomerOverviewDto {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private int accountCount;
+    private List<Balance> balances = new ArrayList<>(); // by currency code, only currencies held
+
+    public static class Balance {
+        private String currency;
+        private BigDecimal total;
+
+        public Balance() { }
+        public Balance(String currency, BigDecimal total) { this.currency = currency; this.total = total; }
+
+        public String getCurrency() { return currency; }
+        public void setCurrency(String currency) { this.currency = currency; }
+        public BigDecimal getTotal() { return total; }
+        public void setTotal(BigDecimal total) { this.total = total; }
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    public int getAccountCount() { return accountCount; }
+    public void setAccountCount(int accountCount) { this.accountCount = accountCount; }
+    public List<Balance> getBalances() { return balances; }
+    public void setBalances(List<Balance> balances) { this.balances = balances; }
+}
@@ -0,0 +1,26 @@
+package com.example.bank.rest.search;
+
+import com.example.bank.rest.search.dto.TransactionSearchResultDto;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Search a customer's transaction descriptions (e.g. "refund", invoice numbers).
+ * GET /api/customers/{customerId}/transactions/search?q=&page=0&size=20
+ */
+@RestController
+@RequestMapping("/api/customers/{customerId}/transactions/search")
+public class TransactionSearchController {
+
+    private final TransactionSearchService service;
+
+    public TransactionSearchController(TransactionSearchService service) { this.service = service; }
+
+    // q: words that must all appear in the description (case-insensitive)
+    @GetMapping
+    public TransactionSearchResultDto search(@PathVariable long customerId,
+                                             @RequestParam String q,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "20") int size) {
+        return service.search(customerId, q, page, size);
+    }
+}
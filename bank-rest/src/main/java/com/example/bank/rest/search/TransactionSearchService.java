@@ -0,0 +1,130 @@
+package com.example.bank.rest.search;
+
+import com.example.bank.rest.account.AccountService;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.search.dto.TransactionSearchResultDto;
+import com.example.bank.rest.transaction.TransactionBackfill;
+import com.example.bank.rest.transaction.TransactionEntity;
+import com.example.bank.rest.transaction.TransactionRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Word search over transaction descriptions, backed by an inverted index table (transaction_terms).
+ * - index(): called by AccountService for every saved transaction, same DB transaction
+ * - search(): all query words must match (AND), newest first, paged
+ * - older history: backfilled once at startup, before requests are served
+ * Tokens: lowercase runs of letters/digits, so "INV-2024/17" → inv, 2024, 17.
+ */
+@Service
+public class TransactionSearchService implements SmartInitializingSingleton {
+
+    static final int MAX_TERM_LENGTH = 64;
+    static final int MAX_QUERY_TERMS = 8;
+    static final int MAX_PAGE_SIZE = 100;
+    static final String BACKFILL_NAME = "transaction_terms";
+    private static final int BACKFILL_BATCH = 500;
+
+    private final TransactionTermRepository repo;
+    private final TransactionRepository trxRepo;
+    private final CustomerRepository customerRepo;
+    private final TransactionBackfill backfill;
+
+    public TransactionSearchService(TransactionTermRepository repo,
+                                    TransactionRepository trxRepo,
+                                    CustomerRepository customerRepo,
+                                    TransactionBackfill backfill) {
+        this.repo = repo;
+        this.trxRepo = trxRepo;
+        this.customerRepo = customerRepo;
+        this.backfill = backfill;
+    }
+
+    // Split free text into distinct normalized terms (order kept)
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) return terms;
+        for (String raw : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (raw.isEmpty()) continue;
+            terms.add(raw.length() > MAX_TERM_LENGTH ? raw.substring(0, MAX_TERM_LENGTH) : raw);
+        }
+        return terms;
+    }
+
+    // Add postings for one saved transaction.
+    // MANDATORY: must join the money op's transaction, never run on its own.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void index(TransactionEntity t) {
+        Set<String> terms = tokenize(t.getDescription());
+        if (terms.isEmpty()) return;
+        List<TransactionTermEntity> rows = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            rows.add(new TransactionTermEntity(term, t.getId(), t.getAccount().getId(), t.getAccount().getCustomerId()));
+        }
+        repo.saveAll(rows);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteByAccount(long accountId) {
+        repo.deleteByAccountId(accountId);
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionSearchResultDto search(long customerId, String q, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(BAD_REQUEST, "page must be >= 0 and size 1.." + MAX_PAGE_SIZE);
+        }
+        Set<String> terms = tokenize(q);
+        if (terms.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "q must contain at least one word");
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            throw new ResponseStatusException(BAD_REQUEST, "too many words in q (max " + MAX_QUERY_TERMS + ")");
+        }
+        if (!customerRepo.existsById(customerId)) {
+            throw new ResponseStatusException(NOT_FOUND, "customer not found");
+        }
+
+        Page<TransactionEntity> hits = repo.searchAllTerms(customerId, terms, terms.size(), PageRequest.of(page, size));
+
+        TransactionSearchResultDto result = new TransactionSearchResultDto();
+        result.setQuery(q);
+        result.setPage(page);
+        result.setSize(size);
+        result.setTotal(hits.getTotalElements());
+        result.setItems(hits.stream().map(AccountService::toDto).toList());
+        return result;
+    }
+
+    // Indexes history written before the index existed, before the web server takes requests
+    // (resumable, each transaction once; see TransactionBackfill).
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill.run(BACKFILL_NAME, this::backfillBatch);
+    }
+
+    // Insert-if-absent: a rerun over a committed posting, or one written live, is not an error
+    private long backfillBatch(long afterId, long targetId) {
+        List<TransactionEntity> batch = trxRepo.findDescribedAfter(afterId, targetId, PageRequest.of(0, BACKFILL_BATCH));
+        for (TransactionEntity t : batch) {
+            for (String term : tokenize(t.getDescription())) {
+                repo.insertIfAbsent(term, t.getId(), t.getAccount().getId(), t.getAccount().getCustomerId());
+            }
+        }
+        return batch.size() < BACKFILL_BATCH ? targetId : batch.get(batch.size() - 1).getId();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.bank.rest.search;
+
+import jakarta.persistence.*;
+
+// Inverted index posting: one row per (term, transaction).
+// Maintained by AccountService money ops (see TransactionSearchService.index).
+@Entity
+@Table(name = "transaction_terms",
+        indexes = {
+                // lookup path of every search: customer + exact term
+                @Index(name = "idx_terms_customer_term", columnList = "customer_id, term"),
+                @Index(name = "idx_terms_account", columnList = "account_id")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_terms_trx_term", columnNames = {"transaction_id", "term"})
+        })
+public class TransactionTermEntity {
+
+    // PK (auto-increment)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Normalized token (lowercase, letters/digits only)
+    @Column(nullable = false, length = TransactionSearchService.MAX_TERM_LENGTH)
+    private String term;
+
+    // Ids kept as simple Longs (denormalized so a search never touches accounts)
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    public TransactionTermEntity() {}
+
+    public TransactionTermEntity(String term, Long transactionId, Long accountId, Long customerId) {
+        this.term = term;
+        this.transactionId = transactionId;
+        this.accountId = accountId;
+        this.customerId = customerId;
+    }
+
+    // Getters/Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTerm() { return term; }
+    public void setTerm(String term) { this.term = term; }
+
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+}
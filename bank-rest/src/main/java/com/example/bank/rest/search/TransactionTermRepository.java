@@ -0,0 +1,59 @@
+package com.example.bank.rest.search;
+
+import com.example.bank.rest.transaction.TransactionEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+// Spring Data JPA repo for the description index
+public interface TransactionTermRepository extends JpaRepository<TransactionTermEntity, Long> {
+
+    // Transactions of a customer that contain ALL given terms (newest first).
+    // Only index rows are scanned for matching; transactions are loaded for the page only.
+    @Query(value = """
+            select t from TransactionEntity t join fetch t.account
+            where t.id in (
+                select p.transactionId from TransactionTermEntity p
+                where p.customerId = :customerId and p.term in :terms
+                group by p.transactionId
+                having count(p.term) = :termCount)
+            order by t.createdAt desc, t.id desc
+            """,
+            countQuery = """
+            select count(t) from TransactionEntity t
+            where t.id in (
+                select p.transactionId from TransactionTermEntity p
+                where p.customerId = :customerId and p.term in :terms
+                group by p.transactionId
+                having count(p.term) = :termCount)
+            """)
+    Page<TransactionEntity> searchAllTerms(@Param("customerId") long customerId,
+                                           @Param("terms") Collection<String> terms,
+                                           @Param("termCount") long termCount,
+                                           Pageable pageable);
+
+    // Backfill insert: a posting that already exists (e.g. written live) is left as is.
+    // MySQL syntax; H2 supports it in MODE=MySQL. Own query space like the other native writes.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "transaction_terms"))
+    @Query(value = """
+            INSERT INTO transaction_terms (term, transaction_id, account_id, customer_id)
+            VALUES (:term, :transactionId, :accountId, :customerId)
+            ON DUPLICATE KEY UPDATE term = term
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("term") String term,
+                        @Param("transactionId") long transactionId,
+                        @Param("accountId") long accountId,
+                        @Param("customerId") long customerId);
+
+    @Modifying
+    long deleteByAccountId(Long accountId);
+}
@@ -0,0 +1,25 @@
+package com.example.bank.rest.search.dto;
+
+import com.example.bank.rest.account.dto.TransactionDto;
+
+import java.util.List;
+
+// One page of search hits (newest first) + paging info
+public class TransactionSearchResultDto {
+    private String query;
+    private int page;                    // 0-based
+    private int size;
+    private long total;                  // hits across all pages
+    private List<TransactionDto> items;
+
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    public List<TransactionDto> getItems() { return items; }
+    public void setItems(List<TransactionDto> items) { this.items = items; }
+}
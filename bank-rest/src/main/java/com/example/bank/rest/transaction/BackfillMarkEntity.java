@@ -0,0 +1,34 @@
+package com.example.bank.rest.transaction;
+
+import jakarta.persistence.*;
+
+// Progress of one backfill over transaction history (see TransactionBackfill)
+@Entity
+@Table(name = "backfill_marks")
+public class BackfillMarkEntity {
+
+    // Backfill name, e.g. "daily_account_totals"
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    // Newest transaction id when the backfill was first started; later ones are handled live
+    @Column(name = "target_id", nullable = false)
+    private long targetId;
+
+    // History covered up to this id (inclusive); == targetId → done
+    @Column(name = "done_id", nullable = false)
+    private long doneId;
+
+    public BackfillMarkEntity() {}
+
+    public BackfillMarkEntity(String name, long targetId) {
+        this.name = name;
+        this.targetId = targetId;
+    }
+
+    public String getName() { return name; }
+    public long getTargetId() { return targetId; }
+    public long getDoneId() { return doneId; }
+    public void setDoneId(long doneId) { this.doneId = doneId; }
+}
@@ -0,0 +1,18 @@
+package com.example.bank.rest.transaction;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+// Spring Data JPA repo for backfill progress markers
+public interface BackfillMarkRepository extends JpaRepository<BackfillMarkEntity, String> {
+
+    // Row lock for one batch: two instances starting together take turns instead of doubling a batch
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from BackfillMarkEntity m where m.name = :name")
+    Optional<BackfillMarkEntity> findForUpdate(@Param("name") String name);
+}
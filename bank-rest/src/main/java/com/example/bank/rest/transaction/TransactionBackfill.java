@@ -0,0 +1,68 @@
+package com.example.bank.rest.transaction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One-off build of a table derived from transaction history (daily rollup, search index).
+ * - the first run pins the target: the newest transaction id at that moment; newer ones are added
+ *   live by the money ops, so the backfill never sees them
+ * - every batch commits together with its marker (backfill_marks): a restart resumes after the last
+ *   committed batch and no transaction is handled twice
+ * Callers run it before the web server takes requests.
+ */
+@Component
+public class TransactionBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionBackfill.class);
+
+    // One batch of history after afterId (at most up to targetId), in the caller's transaction.
+    // Returns the id up to which (afterId, targetId] is covered now; targetId once nothing is left.
+    public interface Batch {
+        long run(long afterId, long targetId);
+    }
+
+    private final BackfillMarkRepository marks;
+    private final TransactionRepository trxRepo;
+    private final TransactionTemplate tx;
+
+    public TransactionBackfill(BackfillMarkRepository marks, TransactionRepository trxRepo,
+                               PlatformTransactionManager txManager) {
+        this.marks = marks;
+        this.trxRepo = trxRepo;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    public void run(String name, Batch batch) {
+        if (!marks.existsById(name)) {
+            try {
+                tx.executeWithoutResult(s -> marks.saveAndFlush(new BackfillMarkEntity(name, trxRepo.maxId())));
+            } catch (DataIntegrityViolationException raced) {
+                // another instance created it first: same target, continue with its marker
+            }
+        }
+        long started = System.nanoTime();
+        int batches = 0;
+        long target;
+        while (true) {
+            BackfillMarkEntity m = tx.execute(s -> {
+                BackfillMarkEntity mark = marks.findForUpdate(name).orElseThrow();
+                if (mark.getDoneId() < mark.getTargetId()) {
+                    mark.setDoneId(Math.min(batch.run(mark.getDoneId(), mark.getTargetId()), mark.getTargetId()));
+                }
+                return mark;
+            });
+            target = m.getTargetId();
+            if (m.getDoneId() >= target) break;
+            batches++;
+        }
+        if (batches > 0) {
+            log.info("{} backfilled from history up to transaction {} in {} ms", name, target,
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.bank.rest.transaction;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 // Spring Data JPA repo for transactions
@@ -14,6 +19,54 @@ public interface TransactionRepository extends JpaRepository<TransactionEntity,
     // All transactions for account (newest first)
     List<TransactionEntity> findByAccount_IdOrderByCreatedAtDesc(Long accountId);
 
+    // Newest N transactions for account (N = page size)
+    List<TransactionEntity> findByAccount_IdOrderByCreatedAtDesc(Long accountId, Pageable pageable);
+
+    // Keyset pages of an account's history, newest first (id order = insert order):
+    // first page, then "older than the last id seen"
+    List<TransactionEntity> findByAccount_IdOrderByIdDesc(Long accountId, Pageable pageable);
+
+    List<TransactionEntity> findByAccount_IdAndIdLessThanOrderByIdDesc(Long accountId, Long beforeId, Pageable pageable);
+
+    // Newest N transactions across several accounts (e.g. all accounts of a customer)
+    List<TransactionEntity> findByAccount_IdInOrderByCreatedAtDesc(Collection<Long> accountIds, Pageable pageable);
+
+    // Count + sum per type for all accounts of a customer in [from, to)
+    // Row = {TransactionType type, Long count, BigDecimal total}
+    @Query("""
+            select t.type, count(t), sum(t.amount)
+            from TransactionEntity t
+            where t.account.customerId = :customerId
+              and t.createdAt >= :from and t.createdAt < :to
+            group by t.type
+            """)
+    List<Object[]> sumByTypeForCustomer(@Param("customerId") long customerId,
+                                        @Param("from") Instant from,
+                                        @Param("to") Instant to);
+
+    // Keyset batch of transactions that have a description (index backfill): ids in (afterId, uptoId]
+    @Query("""
+            select t from TransactionEntity t join fetch t.account
+            where t.id > :afterId and t.id <= :uptoId and t.description is not null
+            order by t.id
+            """)
+    List<TransactionEntity> findDescribedAfter(@Param("afterId") long afterId, @Param("uptoId") long uptoId,
+                                               Pageable pageable);
+
+    // Keyset batch of raw history for the daily rollup backfill: ids in (afterId, uptoId]
+    // Row = {Long id, Long accountId, TransactionType type, BigDecimal amount, Instant createdAt}
+    @Query("""
+            select t.id, t.account.id, t.type, t.amount, t.createdAt
+            from TransactionEntity t
+            where t.id > :afterId and t.id <= :uptoId
+            order by t.id
+            """)
+    List<Object[]> findRollupRowsAfter(@Param("afterId") long afterId, @Param("uptoId") long uptoId, Pageable pageable);
+
+    // Newest id (0 = no history); where a backfill stops, newer rows are handled live
+    @Query("select coalesce(max(t.id), 0) from TransactionEntity t")
+    long maxId();
+
     @Modifying
     long deleteByAccount_Id(Long accountId); // junior: returns number of deleted rows
 }
@@ -13,12 +13,15 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.UUID;
 
+import static com.example.bank.rest.db.SqlStatements.assertStatements;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -165,6 +168,34 @@ class AccountsControllerIT {
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    void transactions_page_keyset_newest_first() throws Exception {
+        long cid = makeCustomer("page+" + UUID.randomUUID() + "@x");
+        var a = makeAccount(cid, "P-" + UUID.randomUUID(), "PLN", "0.00");
+        for (int i = 1; i <= 5; i++) {
+            mvc.perform(post("/api/customers/{cid}/accounts/{aid}/deposit", cid, a.getId())
+                            .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"amount\":" + i + ".00,\"description\":\"d" + i + "\"}"))
+                    .andExpect(status().isOk());
+        }
+
+        String first = mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions/page", cid, a.getId())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].description", contains("d5", "d4")))
+                .andReturn().getResponse().getContentAsString();
+        long lastId = new ObjectMapper().readTree(first).get(1).get("id").asLong();
+
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions/page", cid, a.getId())
+                        .param("size", "2").param("before", String.valueOf(lastId)))
+                .andExpect(jsonPath("$[*].description", contains("d3", "d2")));
+
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions/page", cid, a.getId())
+                        .param("size", "201"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void withdraw_insufficient_funds_400() throws Exception {
         long cid = makeCustomer("no$+" + UUID.randomUUID() + "@x");
@@ -231,6 +262,76 @@ class AccountsControllerIT {
         assertThat(inTypes).contains(TransactionType.TRANSFER_IN);
     }
 
+    @Test
+    void transfer_quote_reports_without_writing() throws Exception {
+        long cid = makeCustomer("quote+" + UUID.randomUUID() + "@x");
+        var from = makeAccount(cid, "Q-" + UUID.randomUUID(), "PLN", "50.00");
+        var to = makeAccount(makeCustomer("qto+" + UUID.randomUUID() + "@x"), "Q-" + UUID.randomUUID(), "PLN", "0.00");
+        var usd = makeAccount(cid, "Q-" + UUID.randomUUID(), "USD", "0.00");
+        var own = makeAccount(cid, "Q-" + UUID.randomUUID(), "PLN", "0.00");
+        String url = "/api/customers/{cid}/accounts/{aid}/transfer/quote";
+
+        mvc.perform(post(url, cid, from.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"toAccountId\":" + to.getId() + ",\"amount\":20.00}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allowed").value(true))
+                .andExpect(jsonPath("$.reason").doesNotExist())
+                .andExpect(jsonPath("$.currencyMatch").value(true))
+                .andExpect(jsonPath("$.availableBalance").value(50.00))
+                .andExpect(jsonPath("$.fee").value(0.00))
+                .andExpect(jsonPath("$.total").value(20.00));
+
+        mvc.perform(post(url, cid, from.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"toAccountId\":" + usd.getId() + ",\"amount\":20.00}"))
+                .andExpect(jsonPath("$.allowed").value(false))
+                .andExpect(jsonPath("$.currencyMatch").value(false))
+                .andExpect(jsonPath("$.toCurrency").value("USD"))
+                .andExpect(jsonPath("$.reason").value("currencies must match"));
+
+        mvc.perform(post(url, cid, from.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"toAccountId\":" + to.getId() + ",\"amount\":80.00}"))
+                .andExpect(jsonPath("$.allowed").value(false))
+                .andExpect(jsonPath("$.reason").value("insufficient funds"));
+
+        mvc.perform(post(url, cid, from.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"toAccountId\":9999999,\"amount\":1.00}"))
+                .andExpect(jsonPath("$.allowed").value(false))
+                .andExpect(jsonPath("$.reason").value("to account not found"));
+
+        // internal quote: a target of another customer (like `to`) is as good as unknown
+        mvc.perform(post(url + "?internal=true", cid, from.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"toAccountId\":" + to.getId() + ",\"amount\":1.00}"))
+                .andExpect(jsonPath("$.allowed").value(false))
+                .andExpect(jsonPath("$.toCurrency").doesNotExist())
+                .andExpect(jsonPath("$.reason").value("to account not found"));
+        mvc.perform(post(url + "?internal=true", cid, from.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"toAccountId\":" + own.getId() + ",\"amount\":1.00}"))
+                .andExpect(jsonPath("$.allowed").value(true));
+
+        // source of another customer → 404, as for the transfer itself
+        mvc.perform(post(url, cid, to.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"toAccountId\":" + from.getId() + ",\"amount\":1.00}"))
+                .andExpect(status().isNotFound());
+
+        // nothing moved
+        assertThat(accountRepo.findById(from.getId()).orElseThrow().getBalance()).isEqualByComparingTo("50.00");
+        assertThat(trxRepo.count()).isZero();
+    }
+
     @Test
     void delete_non_zero_balance_409() throws Exception {
         long cid = makeCustomer("del409+" + UUID.randomUUID() + "@x");
@@ -298,10 +399,173 @@ class AccountsControllerIT {
                 .andExpect(jsonPath("$.message").value("account not found"));
     }
 
+    @Test
+    void query_counts_per_endpoint_do_not_grow_with_history() throws Exception {
+        long cid = makeCustomer("sql+" + UUID.randomUUID() + "@x");
+        long aid = makeAccount(cid, "SQL-" + UUID.randomUUID(), "PLN", "100.00").getId();
+        long other = makeAccount(cid, "SQL-" + UUID.randomUUID(), "PLN", "0.00").getId();
+
+        var deposit = post("/api/customers/{cid}/accounts/{aid}/deposit", cid, aid)
+                .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\":1.00,\"description\":\"coffee\"}");
+        var transfer = post("/api/customers/{cid}/accounts/{aid}/transfer", cid, aid)
+                .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"toAccountId\":" + other + ",\"amount\":1.00,\"description\":\"rent\"}");
+
+        // pinned counts: a change here means a new query per request, look before updating the number
+        // deposit: account, trx insert, daily rollup upsert, search term insert, version bump, account update
+        assertStatements(6, () -> mvc.perform(deposit).andExpect(status().isOk()));
+        // transfer: both accounts, two trx rows with their rollups and terms, two version bumps, two account updates
+        assertStatements(12, () -> mvc.perform(transfer).andExpect(status().isOk()));
+        // Server-Timing is opt-in (bank.db.stats.server-timing), off here
+        assertStatements(1, () -> mvc.perform(get("/api/customers/{cid}/accounts", cid))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing")));
+        // version for the ETag + the account
+        assertStatements(2, () -> mvc.perform(get("/api/customers/{cid}/accounts/{aid}", cid, aid)).andExpect(status().isOk()));
+        assertStatements(2, () -> mvc.perform(get("/api/accounts/{id}", aid)).andExpect(status().isOk()));
+        assertStatements(1, () -> mvc.perform(get("/api/accounts").param("ids", aid + "," + other)).andExpect(status().isOk()));
+
+        // history: same count with 2 rows and with 22 (no per-row account load)
+        for (int rows = 0; rows < 2; rows++) {
+            // ETag version + ownership + rows
+            assertStatements(3, () -> mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions", cid, aid))
+                    .andExpect(status().isOk()));
+            // first keyset page: ETag version + ownership + one page
+            assertStatements(3, () -> mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions/page", cid, aid))
+                    .andExpect(status().isOk()));
+            for (int i = 0; i < 20; i++) mvc.perform(deposit).andExpect(status().isOk());
+        }
+    }
+
     @Test
     void public_account_not_found_404() throws Exception {
         mvc.perform(get("/api/accounts/{id}", 9_999_999))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("account not found"));
     }
+
+    @Test
+    void multi_get_keeps_input_order_and_marks_missing() throws Exception {
+        long cid = makeCustomer("multi+" + UUID.randomUUID() + "@x");
+        long a = makeAccount(cid, "MG-" + UUID.randomUUID(), "PLN", "1.00").getId();
+        long b = makeAccount(cid, "MG-" + UUID.randomUUID(), "EUR", "2.00").getId();
+
+        mvc.perform(get("/api/accounts").param("ids", b + ",9999999," + a + "," + b))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].id").value((int) b))
+                .andExpect(jsonPath("$[0].account.currency").value("EUR"))
+                .andExpect(jsonPath("$[1].id").value(9999999))
+                .andExpect(jsonPath("$[1].found").value(false))
+                .andExpect(jsonPath("$[1].account").doesNotExist())
+                .andExpect(jsonPath("$[2].account.id").value((int) a))
+                .andExpect(jsonPath("$[3].found").value(true));
+
+        // POST form for long lists: same answer
+        mvc.perform(post("/api/accounts/lookup")
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + a + "," + b + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].account.currency", contains("PLN", "EUR")));
+
+        // over the batch limit (default 200)
+        String tooMany = java.util.stream.LongStream.rangeClosed(1, 201)
+                .mapToObj(Long::toString).collect(java.util.stream.Collectors.joining(",", "[", "]"));
+        mvc.perform(post("/api/accounts/lookup")
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(tooMany))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("too many ids (max 200)"));
+    }
+
+    @Test
+    void conditional_get_304_until_money_op_changes_version() throws Exception {
+        long cid = makeCustomer("etag+" + UUID.randomUUID() + "@x");
+        var acc = makeAccount(cid, "ET-" + UUID.randomUUID(), "PLN", "10.00");
+        long aid = acc.getId();
+
+        String accTag = mvc.perform(get("/api/customers/{cid}/accounts/{aid}", cid, aid))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String trxTag = mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions", cid, aid))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String pubTag = mvc.perform(get("/api/accounts/{id}", aid))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String pageTag = mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions/page", cid, aid))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // later pages are plain (no tag)
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions/page", cid, aid).param("before", "100"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        // unchanged → 304, empty body
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}", cid, aid).header(HttpHeaders.IF_NONE_MATCH, accTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions", cid, aid).header(HttpHeaders.IF_NONE_MATCH, trxTag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/api/accounts/{id}", aid).header(HttpHeaders.IF_NONE_MATCH, pubTag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions/page", cid, aid).header(HttpHeaders.IF_NONE_MATCH, pageTag))
+                .andExpect(status().isNotModified());
+
+        // foreign customer never gets a 304 for someone else's tag
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}", cid + 1000, aid).header(HttpHeaders.IF_NONE_MATCH, accTag))
+                .andExpect(status().isNotFound());
+
+        // money op bumps the version → old validators no longer match
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/deposit", cid, aid)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":5.00}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}", cid, aid).header(HttpHeaders.IF_NONE_MATCH, accTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(accTag)))
+                .andExpect(jsonPath("$.balance").value(15.00));
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions", cid, aid).header(HttpHeaders.IF_NONE_MATCH, trxTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        mvc.perform(get("/api/accounts/{id}", aid).header(HttpHeaders.IF_NONE_MATCH, pubTag))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/transactions/page", cid, aid).header(HttpHeaders.IF_NONE_MATCH, pageTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        assertThat(accountRepo.findById(aid).orElseThrow().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void cbor_on_request_json_by_default_and_errors_always_json() throws Exception {
+        long cid = makeCustomer("cbor+" + UUID.randomUUID() + "@x");
+        var acc = makeAccount(cid, "CB-" + UUID.randomUUID(), "PLN", "10.00");
+        MediaType cbor = MediaType.parseMediaType("application/cbor");
+
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}", cid, acc.getId()))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        byte[] body = mvc.perform(get("/api/customers/{cid}/accounts/{aid}", cid, acc.getId())
+                        .accept(cbor, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(cbor))
+                .andReturn().getResponse().getContentAsByteArray();
+        var decoded = new ObjectMapper(new CBORFactory())
+                .readTree(body);
+        assertThat(decoded.get("balance").decimalValue()).isEqualByComparingTo("10.00");
+
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}", cid, acc.getId() + 1000).accept(cbor))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("account not found"));
+    }
 }
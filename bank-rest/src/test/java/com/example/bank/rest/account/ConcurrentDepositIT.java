@@ -0,0 +1,126 @@
+package com.example.bank.rest.account;
+
+import com.example.bank.rest.account.dto.AmountRequest;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.search.TransactionTermRepository;
+import com.example.bank.rest.transaction.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Money ops from many threads at once (what the load test does over HTTP). */
+@ActiveProfiles("test")
+@SpringBootTest
+class ConcurrentDepositIT {
+
+    private static final int THREADS = 8;
+    private static final int DEPOSITS = 25;
+
+    @Autowired AccountService service;
+    @Autowired AccountRepository accountRepo;
+    @Autowired TransactionRepository trxRepo;
+    @Autowired TransactionTermRepository termRepo;
+    @Autowired CustomerRepository customerRepo;
+
+    @BeforeEach
+    void cleanDatabase() {
+        termRepo.deleteAll();
+        trxRepo.deleteAll();
+        accountRepo.deleteAll();
+        customerRepo.deleteAll();
+    }
+
+    private AccountEntity makeAccount(long cid) {
+        var a = new AccountEntity();
+        a.setCustomerId(cid);
+        a.setNumber("CD-" + UUID.randomUUID());
+        a.setCurrency("PLN");
+        a.setBalance(BigDecimal.ZERO);
+        return accountRepo.save(a);
+    }
+
+    @Test
+    void concurrent_deposits_on_different_accounts_all_succeed() throws Exception {
+        var c = new CustomerEntity();
+        c.setFirstName("C");
+        c.setEmail("conc+" + UUID.randomUUID() + "@x");
+        long cid = customerRepo.save(c).getId();
+        List<AccountEntity> accounts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) accounts.add(makeAccount(cid));
+
+        // all threads start together, so inserts into the same tables interleave
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (AccountEntity a : accounts) {
+                done.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < DEPOSITS; i++) {
+                        var r = new AmountRequest();
+                        r.setAmount(new BigDecimal("1.00"));
+                        r.setDescription("Invoice INV-" + i + " coffee");
+                        service.deposit(cid, a.getId(), r);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : done) f.get(); // rethrows the first failure
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (AccountEntity a : accounts) {
+            assertThat(accountRepo.findById(a.getId()).orElseThrow().getBalance()).isEqualByComparingTo("25.00");
+        }
+        assertThat(trxRepo.count()).isEqualTo(THREADS * DEPOSITS);
+        assertThat(termRepo.count()).isEqualTo(THREADS * DEPOSITS * 4L); // invoice, inv, i, coffee
+    }
+
+    @Test
+    void concurrent_deposits_on_one_account_all_succeed_and_none_is_lost() throws Exception {
+        var c = new CustomerEntity();
+        c.setFirstName("C");
+        c.setEmail("conc1+" + UUID.randomUUID() + "@x");
+        long cid = customerRepo.save(c).getId();
+        long aid = makeAccount(cid).getId();
+
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                done.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < DEPOSITS; i++) {
+                        var r = new AmountRequest();
+                        r.setAmount(new BigDecimal("1.00"));
+                        r.setDescription("Invoice INV-" + i + " coffee");
+                        service.deposit(cid, aid, r);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : done) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(accountRepo.findById(aid).orElseThrow().getBalance()).isEqualByComparingTo("200.00");
+        assertThat(trxRepo.count()).isEqualTo(THREADS * DEPOSITS);
+    }
+}
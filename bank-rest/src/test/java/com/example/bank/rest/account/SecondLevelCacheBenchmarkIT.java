@@ -0,0 +1,90 @@
+package com.example.bank.rest.account;
+
+import com.example.bank.BankRestApplication;
+import com.example.bank.rest.account.dto.AmountRequest;
+import com.example.bank.rest.account.dto.NewAccountRequest;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read latency gain / write overhead of profile=cache. Same workload on two contexts:
+ * "test" (no L2) and "test,cache". Only with -Dbench=true:
+ *   mvn -pl bank-rest -am test -Dtest=SecondLevelCacheBenchmarkIT -Dbench=true -Dsurefire.failIfNoSpecifiedTests=false
+ * H2 in-memory has no network hop, so against MySQL the read gain is larger.
+ */
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class SecondLevelCacheBenchmarkIT {
+
+    private static final int READS = 20_000;
+    private static final int WRITES = 5_000;
+
+    private record Result(long readNanos, long writeNanos, long l2Hits, BigDecimal balance) { }
+
+    @Test
+    void compare_without_and_with_cache() {
+        Result plain = run("no cache", "test");
+        Result cached = run("L2 cache", "test,cache");
+
+        // same end state; only the cache profile serves reads from L2, and it makes them cheaper
+        BigDecimal deposited = BigDecimal.valueOf(WRITES / 5 + WRITES);
+        assertThat(plain.balance()).isEqualByComparingTo(deposited);
+        assertThat(cached.balance()).isEqualByComparingTo(deposited);
+        assertThat(plain.l2Hits()).isZero();
+        assertThat(cached.l2Hits()).isGreaterThanOrEqualTo(READS);
+        assertThat(cached.readNanos()).isLessThan(plain.readNanos());
+    }
+
+    private Result run(String name, String profiles) {
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(BankRestApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=" + profiles,
+                        "--spring.datasource.url=jdbc:h2:mem:l2bench_" + UUID.randomUUID() + ";MODE=MySQL",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--logging.level.root=WARN")) {
+            AccountService service = ctx.getBean(AccountService.class);
+
+            var c = new CustomerEntity();
+            c.setFirstName("B");
+            c.setEmail("bench@x");
+            long cid = ctx.getBean(CustomerRepository.class).save(c).getId();
+            var req = new NewAccountRequest();
+            req.setNumber("BENCH-1");
+            req.setCurrency("PLN");
+            req.setBalance(BigDecimal.ZERO);
+            long aid = service.create(cid, req).getId();
+            var amount = new AmountRequest();
+            amount.setAmount(BigDecimal.ONE);
+
+            for (int i = 0; i < READS; i++) service.getByCustomer(cid, aid); // warm-up
+            for (int i = 0; i < WRITES / 5; i++) service.deposit(cid, aid, amount);
+
+            Statistics stats = ctx.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            stats.clear();
+            long t = System.nanoTime();
+            for (int i = 0; i < READS; i++) service.getByCustomer(cid, aid);
+            long read = (System.nanoTime() - t) / READS;
+            long hits = stats.getSecondLevelCacheHitCount();
+
+            t = System.nanoTime();
+            for (int i = 0; i < WRITES; i++) service.deposit(cid, aid, amount);
+            long write = (System.nanoTime() - t) / WRITES;
+
+            // the whole class only runs with -Dbench=true
+            System.out.printf("%-8s: read %d us, deposit %d us, %d L2 hits%n", name, read / 1000, write / 1000, hits);
+            return new Result(read, write, hits, service.getByCustomer(cid, aid).getBalance());
+        }
+    }
+}
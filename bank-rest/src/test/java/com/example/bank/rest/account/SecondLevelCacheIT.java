@@ -0,0 +1,127 @@
+package com.example.bank.rest.account;
+
+import com.example.bank.rest.account.dto.AmountRequest;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.transaction.TransactionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** profile=cache: account/customer reads come from the second-level cache, money ops keep it correct. */
+@ActiveProfiles({"test", "cache"})
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheIT {
+
+    @Autowired AccountService service;
+    @Autowired AccountRepository accountRepo;
+    @Autowired TransactionRepository trxRepo;
+    @Autowired CustomerRepository customerRepo;
+    @Autowired EntityManagerFactory emf;
+    @Autowired JdbcTemplate jdbc;
+
+    private Statistics stats;
+    private long cid;
+    private long aid;
+
+    @BeforeEach
+    void setUp() {
+        trxRepo.deleteAll();
+        accountRepo.deleteAll();
+        customerRepo.deleteAll();
+
+        var c = new CustomerEntity();
+        c.setFirstName("C");
+        c.setEmail("l2+" + UUID.randomUUID() + "@x");
+        cid = customerRepo.save(c).getId();
+
+        var a = new AccountEntity();
+        a.setCustomerId(cid);
+        a.setNumber("L2-" + UUID.randomUUID());
+        a.setCurrency("PLN");
+        a.setBalance(new BigDecimal("10.00"));
+        aid = accountRepo.save(a).getId();
+
+        emf.unwrap(SessionFactory.class).getCache().evictAll();
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    private static AmountRequest amount(String v) {
+        var r = new AmountRequest();
+        r.setAmount(new BigDecimal(v));
+        return r;
+    }
+
+    @Test
+    void public_account_read_hits_cache_after_first_load() {
+        service.getPublic(aid);
+        service.getPublic(aid);
+        service.getPublic(aid);
+
+        var region = stats.getDomainDataRegionStatistics("accounts");
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getHitCount()).isEqualTo(2);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void money_op_updates_cached_account_and_invalidates_customer_accounts_query() {
+        service.listByCustomer(cid);
+        service.listByCustomer(cid);
+        assertThat(stats.getQueryCacheHitCount()).isEqualTo(1);
+
+        service.deposit(cid, aid, amount("5.00"));
+
+        // cached entity carries the new balance + version (no DB read needed)
+        long selectsBefore = stats.getPrepareStatementCount();
+        assertThat(service.getPublic(aid).getBalance()).isEqualByComparingTo("15.00");
+        assertThat(accountRepo.findById(aid).orElseThrow().getVersion()).isEqualTo(1L);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(selectsBefore);
+
+        // accounts table changed → the cached customer→accounts result is stale and not used
+        assertThat(service.listByCustomer(cid).get(0).getBalance()).isEqualByComparingTo("15.00");
+        assertThat(stats.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(accountRepo.findVersion(aid, cid)).contains(1L);
+    }
+
+    @Test
+    void money_ops_build_on_the_db_row_not_a_stale_cache_entry() {
+        service.getPublic(aid); // cached with balance 10.00
+        // another instance moved money: this instance's cache doesn't know
+        jdbc.update("UPDATE accounts SET balance = 100.00 WHERE id = ?", aid);
+
+        service.deposit(cid, aid, amount("5.00"));
+        assertThat(service.getPublic(aid).getBalance()).isEqualByComparingTo("105.00");
+    }
+
+    @Test
+    void owner_checked_read_hits_cache_too() {
+        service.getByCustomer(cid, aid);
+        service.getByCustomer(cid, aid);
+
+        assertThat(stats.getDomainDataRegionStatistics("accounts").getHitCount()).isEqualTo(1);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void foreign_customer_still_404() {
+        service.getPublic(aid);
+        assertThat(accountRepo.findByIdAndCustomerId(aid, cid + 1)).isEmpty();
+        assertThatThrownBy(() -> service.getByCustomer(cid + 1, aid))
+                .isInstanceOf(ResponseStatusException.class).hasMessageContaining("404");
+    }
+}
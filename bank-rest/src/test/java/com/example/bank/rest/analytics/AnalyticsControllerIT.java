@@ -0,0 +1,267 @@
+package com.example.bank.rest.analytics;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.account.AccountRepository;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.transaction.BackfillMarkRepository;
+import com.example.bank.rest.transaction.TransactionEntity;
+import com.example.bank.rest.transaction.TransactionRepository;
+import com.example.bank.rest.transaction.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** Full-stack IT: money ops maintain daily_account_totals, /totals reads it; /analytics/monthly. */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class AnalyticsControllerIT {
+
+    @Autowired MockMvc mvc;
+    @Autowired CustomerRepository customerRepo;
+    @Autowired AccountRepository accountRepo;
+    @Autowired TransactionRepository trxRepo;
+    @Autowired DailyAccountTotalRepository totalsRepo;
+    @Autowired DailyTotalsService dailyTotals;
+    @Autowired BackfillMarkRepository marks;
+
+    private static String basicAuth() {
+        return "Basic " + Base64.getEncoder().encodeToString("api:secret".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        totalsRepo.deleteAll();
+        trxRepo.deleteAll();
+        accountRepo.deleteAll();
+        customerRepo.deleteAll();
+    }
+
+    private long makeCustomer() {
+        var c = new CustomerEntity();
+        c.setFirstName("T");
+        c.setEmail("totals+" + UUID.randomUUID() + "@x");
+        return customerRepo.save(c).getId();
+    }
+
+    private AccountEntity makeAccount(long cid, String balance) {
+        var a = new AccountEntity();
+        a.setCustomerId(cid);
+        a.setNumber("T-" + UUID.randomUUID());
+        a.setCurrency("PLN");
+        a.setBalance(new BigDecimal(balance));
+        return accountRepo.save(a);
+    }
+
+    private void money(String op, long cid, long aid, String json) throws Exception {
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/" + op, cid, aid)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void money_ops_update_rollup_and_totals_endpoint_sums_it() throws Exception {
+        long cid = makeCustomer();
+        var a = makeAccount(cid, "100.00");
+        var b = makeAccount(cid, "0.00");
+
+        money("deposit", cid, a.getId(), "{\"amount\":20.00}");
+        money("withdraw", cid, a.getId(), "{\"amount\":5.00}");
+        money("transfer", cid, a.getId(), "{\"toAccountId\":%d,\"amount\":15.00}".formatted(b.getId()));
+
+        String today = LocalDate.now(ZoneOffset.UTC).toString();
+
+        // account A: in 20, out 5 + 15, 3 operations → one rollup row
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/totals", cid, a.getId())
+                        .param("from", today).param("to", today))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inflow").value(20.00))
+                .andExpect(jsonPath("$.outflow").value(20.00))
+                .andExpect(jsonPath("$.net").value(0.00))
+                .andExpect(jsonPath("$.trxCount").value(3))
+                .andExpect(jsonPath("$.months", hasSize(1)));
+
+        // account B: the incoming transfer only
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/totals", cid, b.getId())
+                        .param("from", today).param("to", today))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inflow").value(15.00))
+                .andExpect(jsonPath("$.trxCount").value(1));
+    }
+
+    @Test
+    void backfill_builds_rollup_from_existing_history() throws Exception {
+        long cid = makeCustomer();
+        var a = makeAccount(cid, "0.00");
+        // raw history written without the service (as before the rollup existed);
+        // 23:30Z is still March in UTC (the day record() would use), April east of UTC
+        for (String at : new String[]{"2024-03-01T12:00:00Z", "2024-03-31T23:30:00Z", "2024-04-10T12:00:00Z"}) {
+            var t = new TransactionEntity();
+            t.setAccount(a);
+            t.setType(TransactionType.DEPOSIT);
+            t.setAmount(new BigDecimal("2.50"));
+            t.setCreatedAt(Instant.parse(at));
+            trxRepo.save(t);
+        }
+
+        // as on the first start with the rollup: no marker yet, history up to now is "before"
+        marks.deleteById(DailyTotalsService.BACKFILL_NAME);
+        dailyTotals.afterSingletonsInstantiated();
+
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/totals", cid, a.getId())
+                        .param("from", "2024-01-01").param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inflow").value(7.50))
+                .andExpect(jsonPath("$.trxCount").value(3))
+                .andExpect(jsonPath("$.months", hasSize(2)))
+                .andExpect(jsonPath("$.months[0].period").value("2024-03"))
+                .andExpect(jsonPath("$.months[0].trxCount").value(2));
+    }
+
+    @Test
+    void backfill_runs_once_and_leaves_live_ops_to_record() throws Exception {
+        long cid = makeCustomer();
+        var a = makeAccount(cid, "0.00");
+        var t = new TransactionEntity();
+        t.setAccount(a);
+        t.setType(TransactionType.DEPOSIT);
+        t.setAmount(new BigDecimal("2.50"));
+        trxRepo.save(t);
+        marks.deleteById(DailyTotalsService.BACKFILL_NAME);
+        dailyTotals.afterSingletonsInstantiated();
+
+        // a live op after the target id, then a restart: neither is counted twice
+        money("deposit", cid, a.getId(), "{\"amount\":1.00}");
+        dailyTotals.afterSingletonsInstantiated();
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/totals", cid, a.getId())
+                        .param("from", today.minusDays(1).toString()).param("to", today.plusDays(1).toString()))
+                .andExpect(jsonPath("$.inflow").value(3.50))
+                .andExpect(jsonPath("$.trxCount").value(2));
+    }
+
+    @Test
+    void totals_bad_range_400_and_foreign_account_404() throws Exception {
+        long cid = makeCustomer();
+        var a = makeAccount(cid, "1.00");
+
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/totals", cid, a.getId())
+                        .param("from", "2024-02-01").param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("from must not be after to"));
+
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}/totals", cid + 1, a.getId())
+                        .param("from", "2024-01-01").param("to", "2024-12-31"))
+                .andExpect(status().isNotFound());
+    }
+
+    private void rawTrx(AccountEntity a, TransactionType type, String amount, String at) {
+        var t = new TransactionEntity();
+        t.setAccount(a);
+        t.setType(type);
+        t.setAmount(new BigDecimal(amount));
+        t.setCreatedAt(Instant.parse(at));
+        trxRepo.save(t);
+    }
+
+    @Test
+    void monthly_groups_by_month_and_type_across_accounts() throws Exception {
+        long cid = makeCustomer();
+        var a = makeAccount(cid, "0.00");
+        var b = makeAccount(cid, "0.00");
+        rawTrx(a, TransactionType.DEPOSIT, "10.00", "2024-01-05T10:00:00Z");
+        rawTrx(b, TransactionType.DEPOSIT, "5.00", "2024-01-20T10:00:00Z");
+        rawTrx(a, TransactionType.WITHDRAW, "3.00", "2024-01-31T23:59:59Z");
+        rawTrx(b, TransactionType.WITHDRAW, "1.00", "2024-03-01T00:00:00Z");
+
+        mvc.perform(get("/api/customers/{cid}/analytics/monthly", cid)
+                        .param("from", "2024-01").param("to", "2024-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].month").value("2024-01"))
+                .andExpect(jsonPath("$[0].type").value("DEPOSIT"))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].total").value(15.00))
+                .andExpect(jsonPath("$[1].type").value("WITHDRAW"))
+                .andExpect(jsonPath("$[1].total").value(3.00))
+                .andExpect(jsonPath("$[2].month").value("2024-03"));
+    }
+
+    @Test
+    void monthly_closed_month_is_cached_until_account_delete() throws Exception {
+        long cid = makeCustomer();
+        var a = makeAccount(cid, "0.00");
+        rawTrx(a, TransactionType.DEPOSIT, "1.00", "2023-06-10T10:00:00Z");
+
+        mvc.perform(get("/api/customers/{cid}/analytics/monthly", cid)
+                        .param("from", "2023-06").param("to", "2023-06"))
+                .andExpect(jsonPath("$[0].count").value(1));
+
+        // written behind the service's back → closed month is answered from cache
+        rawTrx(a, TransactionType.DEPOSIT, "1.00", "2023-06-11T10:00:00Z");
+        mvc.perform(get("/api/customers/{cid}/analytics/monthly", cid)
+                        .param("from", "2023-06").param("to", "2023-06"))
+                .andExpect(jsonPath("$[0].count").value(1));
+
+        // account delete evicts the customer's cached months
+        mvc.perform(delete("/api/customers/{cid}/accounts/{aid}", cid, a.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth()))
+                .andExpect(status().is2xxSuccessful());
+        mvc.perform(get("/api/customers/{cid}/analytics/monthly", cid)
+                        .param("from", "2023-06").param("to", "2023-06"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void month_is_cached_only_once_the_grace_after_its_end_is_over() {
+        YearMonth june = YearMonth.of(2023, 6);
+        Duration grace = Duration.ofSeconds(60);
+
+        assertThat(SpendingAnalyticsService.settled(june, Instant.parse("2023-06-30T23:59:59Z"), grace)).isFalse();
+        // ended, but a transfer stamped 23:59:59 may still be waiting on a row lock
+        assertThat(SpendingAnalyticsService.settled(june, Instant.parse("2023-07-01T00:00:30Z"), grace)).isFalse();
+        assertThat(SpendingAnalyticsService.settled(june, Instant.parse("2023-07-01T00:01:00Z"), grace)).isTrue();
+    }
+
+    @Test
+    void monthly_bad_range_400_and_unknown_customer_404() throws Exception {
+        long cid = makeCustomer();
+
+        mvc.perform(get("/api/customers/{cid}/analytics/monthly", cid)
+                        .param("from", "2024-05").param("to", "2024-01"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/customers/{cid}/analytics/monthly", cid)
+                        .param("from", "2000-01").param("to", "2024-01"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/customers/{cid}/analytics/monthly", cid + 1000)
+                        .param("from", "2024-01").param("to", "2024-01"))
+                .andExpect(status().isNotFound());
+    }
+}
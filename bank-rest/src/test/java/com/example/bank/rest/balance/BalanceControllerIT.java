@@ -0,0 +1,219 @@
+package com.example.bank.rest.balance;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.account.AccountRepository;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.search.TransactionTermRepository;
+import com.example.bank.rest.transaction.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** Full-stack IT: money ops update the balance read model after commit; startup rebuild reads `accounts`. */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class BalanceControllerIT {
+
+    @Autowired MockMvc mvc;
+    @Autowired CustomerRepository customerRepo;
+    @Autowired AccountRepository accountRepo;
+    @Autowired TransactionRepository trxRepo;
+    @Autowired TransactionTermRepository termRepo;
+    @Autowired BalanceReadModel balances;
+    @Autowired JdbcTemplate jdbc;
+
+    private static String basicAuth() {
+        return "Basic " + Base64.getEncoder().encodeToString("api:secret".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        termRepo.deleteAll();
+        trxRepo.deleteAll();
+        accountRepo.deleteAll();
+        customerRepo.deleteAll();
+    }
+
+    private long makeCustomer() {
+        var c = new CustomerEntity();
+        c.setFirstName("B");
+        c.setEmail("balance+" + UUID.randomUUID() + "@x");
+        return customerRepo.save(c).getId();
+    }
+
+    private long createAccount(long cid, String balance) throws Exception {
+        String body = mvc.perform(post("/api/customers/{cid}/accounts", cid)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"number\":\"B-" + UUID.randomUUID() + "\",\"currency\":\"PLN\",\"balance\":" + balance + "}"))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(body.replaceAll(".*\"id\":(\\d+).*", "$1"));
+    }
+
+    @Test
+    void money_ops_are_visible_after_commit() throws Exception {
+        long cid = makeCustomer();
+        long a = createAccount(cid, "100.00");
+        long b = createAccount(cid, "0");
+
+        mvc.perform(get("/api/accounts/{id}/balance", a))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.minorUnits").value(10000))
+                .andExpect(jsonPath("$.currency").value("PLN"))
+                .andExpect(jsonPath("$.version").value(0));
+
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/transfer", cid, a)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"toAccountId\":" + b + ",\"amount\":25.50}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/accounts/{id}/balance", a))
+                .andExpect(jsonPath("$.balance").value(74.50))
+                .andExpect(jsonPath("$.version").value(1));
+        mvc.perform(get("/api/accounts/{id}/balance", b))
+                .andExpect(jsonPath("$.minorUnits").value(2550));
+
+        // Rolled back op (insufficient funds) leaves the model untouched
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/withdraw", cid, b)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":1000}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/accounts/{id}/balance", b))
+                .andExpect(jsonPath("$.minorUnits").value(2550));
+    }
+
+    @Test
+    void sub_cent_amounts_are_rejected_before_anything_commits() throws Exception {
+        long cid = makeCustomer();
+        long a = createAccount(cid, "10.00");
+
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/deposit", cid, a)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":0.005}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("amount"));
+        mvc.perform(post("/api/customers/{cid}/accounts", cid)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"number\":\"B-x\",\"currency\":\"PLN\",\"balance\":10.555}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/deposit", cid, a)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":1.5}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/accounts/{id}/balance", a))
+                .andExpect(jsonPath("$.minorUnits").value(1150));
+        // what the DB would store, never an exception in an after-commit callback
+        assertThat(BalanceReadModel.toMinor(new BigDecimal("10.555"))).isEqualTo(1056);
+    }
+
+    @Test
+    void deleted_account_is_gone_and_unknown_is_404() throws Exception {
+        long cid = makeCustomer();
+        long a = createAccount(cid, "0");
+
+        mvc.perform(delete("/api/customers/{cid}/accounts/{aid}", cid, a)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth()))
+                .andExpect(status().is2xxSuccessful());
+
+        mvc.perform(get("/api/accounts/{id}/balance", a)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rebuild_loads_accounts_written_outside_the_service() throws Exception {
+        long cid = makeCustomer();
+        var e = new AccountEntity();
+        e.setCustomerId(cid);
+        e.setNumber("B-" + UUID.randomUUID());
+        e.setCurrency("EUR");
+        e.setBalance(new BigDecimal("12.34"));
+        long id = accountRepo.save(e).getId();
+
+        mvc.perform(get("/api/accounts/{id}/balance", id)).andExpect(status().isNotFound());
+
+        balances.rebuild();
+
+        mvc.perform(get("/api/accounts/{id}/balance", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.minorUnits").value(1234))
+                .andExpect(jsonPath("$.currency").value("EUR"));
+    }
+
+    @Test
+    void rebuild_does_not_bring_back_an_account_deleted_meanwhile() {
+        long cid = makeCustomer();
+        var e = new AccountEntity();
+        e.setCustomerId(cid);
+        e.setNumber("B-" + UUID.randomUUID());
+        e.setCurrency("PLN");
+        e.setBalance(BigDecimal.ZERO);
+        long id = accountRepo.save(e).getId();
+
+        // the delete commits after rebuild() started: its snapshot still has the row
+        BalanceReadModel[] model = new BalanceReadModel[1];
+        JdbcTemplate racing = new JdbcTemplate(jdbc.getDataSource()) {
+            @Override
+            public void query(PreparedStatementCreator psc, RowCallbackHandler rch) {
+                model[0].deleted(id);
+                super.query(psc, rch);
+            }
+        };
+        model[0] = new BalanceReadModel(racing, 16);
+        model[0].rebuild();
+
+        assertThatThrownBy(() -> model[0].get(id)).isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void a_miss_while_rebuilding_is_503_not_404() {
+        BalanceReadModel[] model = new BalanceReadModel[1];
+        Throwable[] during = new Throwable[1];
+        JdbcTemplate observing = new JdbcTemplate(jdbc.getDataSource()) {
+            @Override
+            public void query(PreparedStatementCreator psc, RowCallbackHandler rch) {
+                try {
+                    model[0].get(424242L);
+                } catch (ResponseStatusException e) {
+                    during[0] = e;
+                }
+                super.query(psc, rch);
+            }
+        };
+        model[0] = new BalanceReadModel(observing, 16);
+        model[0].rebuild();
+
+        assertThat(((ResponseStatusException) during[0]).getStatusCode().value()).isEqualTo(503);
+        assertThatThrownBy(() -> model[0].get(424242L))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(e.getStatusCode().value()).isEqualTo(404));
+    }
+}
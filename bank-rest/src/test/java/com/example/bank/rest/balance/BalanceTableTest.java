@@ -0,0 +1,144 @@
+package com.example.bank.rest.balance;
+
+import com.example.bank.rest.account.AccountEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primitive hash table behind the balance read model.
+ * Footprint/GC comparison at 10M accounts only with -Dbench=true (needs a big heap):
+ *   mvn -pl bank-rest -am test -Dtest=BalanceTableTest -Dbench=true -DargLine=-Xmx6g -Dsurefire.failIfNoSpecifiedTests=false
+ */
+class BalanceTableTest {
+
+    @Test
+    void put_get_overwrite_and_resize() {
+        BalanceTable t = new BalanceTable(4);
+        for (long id = 1; id <= 10_000; id++) t.put(id, id * 100, id % 2 == 0 ? "PLN" : "USD", 0);
+
+        BalanceTable.Slot s = new BalanceTable.Slot();
+        assertThat(t.size()).isEqualTo(10_000);
+        assertThat(t.get(4321, s)).isTrue();
+        assertThat(s.minorUnits).isEqualTo(432_100);
+        assertThat(s.currency).isEqualTo("USD");
+        assertThat(t.get(10_001, s)).isFalse();
+
+        t.put(4321, 5, "USD", 1);
+        assertThat(t.get(4321, s)).isTrue();
+        assertThat(s.minorUnits).isEqualTo(5);
+        assertThat(s.version).isEqualTo(1);
+        assertThat(t.size()).isEqualTo(10_000);
+    }
+
+    @Test
+    void older_version_never_replaces_newer() {
+        BalanceTable t = new BalanceTable(16);
+        t.put(7, 900, "EUR", 3);
+        t.put(7, 100, "EUR", 2); // late after-commit callback of an earlier op
+
+        BalanceTable.Slot s = new BalanceTable.Slot();
+        t.get(7, s);
+        assertThat(s.minorUnits).isEqualTo(900);
+        assertThat(s.version).isEqualTo(3);
+    }
+
+    @Test
+    void remove_keeps_probe_chains_intact() {
+        BalanceTable t = new BalanceTable(16);
+        for (long id = 1; id <= 2_000; id++) t.put(id, id, "PLN", 0);
+        for (long id = 1; id <= 2_000; id += 3) t.remove(id);
+
+        BalanceTable.Slot s = new BalanceTable.Slot();
+        for (long id = 1; id <= 2_000; id++) {
+            boolean removed = (id - 1) % 3 == 0;
+            assertThat(t.get(id, s)).as("id %d", id).isEqualTo(!removed);
+            if (!removed) assertThat(s.minorUnits).isEqualTo(id);
+        }
+        assertThat(t.size()).isEqualTo(2_000 - 667);
+    }
+
+    // ---------- 10M accounts: primitive table vs Map<Long, AccountEntity> ----------
+
+    private static final int ACCOUNTS = 10_000_000;
+
+    @Test
+    @EnabledIfSystemProperty(named = "bench", matches = "true")
+    void footprint_and_gc_at_10M_accounts() {
+        long base = usedHeap();
+        BalanceTable table = new BalanceTable(ACCOUNTS);
+        for (long id = 1; id <= ACCOUNTS; id++) table.put(id, id * 7, id % 3 == 0 ? "USD" : "PLN", 1);
+        long tableBytes = usedHeap() - base;
+        GcSample tableGc = lookups(() -> {
+            BalanceTable.Slot s = new BalanceTable.Slot();
+            long sum = 0;
+            for (long i = 0; i < ACCOUNTS; i++) if (table.get(randomId(i), s)) sum += s.minorUnits;
+            return sum;
+        });
+        System.out.printf("primitive table : %,d MB retained, %,d lookups -> %d GCs / %d ms, %d ms total%n",
+                tableBytes >> 20, ACCOUNTS, tableGc.count, tableGc.gcMillis, tableGc.wallMillis);
+        table.remove(1); // keep the table reachable until here
+
+        base = usedHeap();
+        Map<Long, AccountEntity> map = new HashMap<>(ACCOUNTS * 4 / 3 + 1);
+        for (long id = 1; id <= ACCOUNTS; id++) {
+            AccountEntity e = new AccountEntity();
+            e.setId(id);
+            e.setCurrency(id % 3 == 0 ? "USD" : "PLN");
+            e.setBalance(BigDecimal.valueOf(id * 7, 2));
+            map.put(id, e);
+        }
+        long mapBytes = usedHeap() - base;
+        GcSample mapGc = lookups(() -> {
+            long sum = 0;
+            for (long i = 0; i < ACCOUNTS; i++) {
+                AccountEntity e = map.get(randomId(i));
+                if (e != null) sum += e.getBalance().movePointRight(2).longValue();
+            }
+            return sum;
+        });
+        System.out.printf("HashMap<entity> : %,d MB retained, %,d lookups -> %d GCs / %d ms, %d ms total%n",
+                mapBytes >> 20, ACCOUNTS, mapGc.count, mapGc.gcMillis, mapGc.wallMillis);
+
+        assertThat(map).hasSize(ACCOUNTS);
+        assertThat(tableBytes).isLessThan(mapBytes);
+    }
+
+    // Visits every id once in a scattered order (sequential ids would favour HashMap's identity hash)
+    private static long randomId(long i) {
+        return i * 7_368_787L % ACCOUNTS + 1;
+    }
+
+    record GcSample(long count, long gcMillis, long wallMillis) { }
+
+    // Second pass is measured (first one warms up the JIT)
+    private static GcSample lookups(java.util.function.LongSupplier loop) {
+        loop.getAsLong();
+        long c0 = gcCount(), t0 = gcMillis(), w0 = System.nanoTime();
+        long sink = loop.getAsLong();
+        long wall = (System.nanoTime() - w0) / 1_000_000;
+        assertThat(sink).isPositive();
+        return new GcSample(gcCount() - c0, gcMillis() - t0, wall);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
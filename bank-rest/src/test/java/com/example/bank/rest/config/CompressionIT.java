@@ -0,0 +1,108 @@
+package com.example.bank.rest.config;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.account.AccountRepository;
+import com.example.bank.rest.account.AccountService;
+import com.example.bank.rest.account.dto.AmountRequest;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.search.TransactionTermRepository;
+import com.example.bank.rest.transaction.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * server.compression on a real Tomcat (MockMvc doesn't compress): the ETagged history read is gzipped
+ * (weak ETag; Tomcat refuses strong ones) and varies on Accept, since JSON and CBOR share the tag.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CompressionIT {
+
+    @LocalServerPort int port;
+    @Autowired AccountService service;
+    @Autowired AccountRepository accountRepo;
+    @Autowired TransactionRepository trxRepo;
+    @Autowired TransactionTermRepository termRepo;
+    @Autowired CustomerRepository customerRepo;
+
+    private final HttpClient http = HttpClient.newHttpClient(); // never decompresses: we see the wire bytes
+
+    private long cid;
+    private long aid;
+
+    @BeforeEach
+    void setUp() {
+        termRepo.deleteAll();
+        trxRepo.deleteAll();
+        accountRepo.deleteAll();
+        customerRepo.deleteAll();
+
+        var c = new CustomerEntity();
+        c.setFirstName("Gz");
+        c.setEmail("gzip+" + UUID.randomUUID() + "@x");
+        cid = customerRepo.save(c).getId();
+        var a = new AccountEntity();
+        a.setCustomerId(cid);
+        a.setNumber("GZ-" + UUID.randomUUID());
+        a.setCurrency("PLN");
+        a.setBalance(BigDecimal.ZERO);
+        aid = accountRepo.save(a).getId();
+
+        // ~60 rows of history: well over server.compression.min-response-size (2KB)
+        for (int i = 0; i < 60; i++) {
+            var r = new AmountRequest();
+            r.setAmount(new BigDecimal("12.34"));
+            r.setDescription("Invoice INV-2024/" + i);
+            service.deposit(cid, aid, r);
+        }
+    }
+
+    private HttpResponse<byte[]> get(String accept, String ifNoneMatch) throws IOException, InterruptedException {
+        var req = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/api/customers/" + cid + "/accounts/" + aid + "/transactions"))
+                .header("Accept", accept)
+                .header("Accept-Encoding", "gzip");
+        if (ifNoneMatch != null) req.header("If-None-Match", ifNoneMatch);
+        return http.send(req.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    void etagged_history_is_gzipped_and_varies_on_accept() throws Exception {
+        var resp = get("application/json", null);
+
+        assertThat(resp.statusCode()).isEqualTo(200);
+        assertThat(resp.headers().firstValue("Content-Encoding")).contains("gzip");
+        String etag = resp.headers().firstValue("ETag").orElseThrow();
+        assertThat(etag).startsWith("W/\"");
+        assertThat(String.join(",", resp.headers().allValues("Vary")).toLowerCase())
+                .contains("accept", "accept-encoding");
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(resp.body()))) {
+            String json = new String(in.readAllBytes());
+            assertThat(json).startsWith("[").contains("INV-2024/59");
+            assertThat(resp.body().length).isLessThan(json.length() / 3);
+        }
+
+        // CBOR body is gzipped too, and the weak tag still validates
+        assertThat(get("application/cbor", null).headers().firstValue("Content-Encoding")).contains("gzip");
+        var notModified = get("application/json", etag);
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        assertThat(String.join(",", notModified.headers().allValues("Vary")).toLowerCase()).contains("accept");
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.bank.rest.config;
+
+import com.example.bank.rest.account.dto.TransactionDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JSON vs CBOR for the MVC "transactions table" payload (100 rows).
+ * Size check always runs; timings (printed) only with -Dbench=true:
+ *   mvn -pl bank-rest -am test -Dtest=WireFormatBenchmarkTest -Dbench=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+class WireFormatBenchmarkTest {
+
+    private static final int ROWS = 100;
+
+    // JSON as Boot configures it (ISO date strings)
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final ObjectMapper cbor = WireFormatConfig.cborMapper(Jackson2ObjectMapperBuilder.json());
+
+    private static List<TransactionDto> rows() {
+        List<TransactionDto> list = new ArrayList<>();
+        OffsetDateTime t0 = OffsetDateTime.of(2024, 3, 1, 12, 0, 0, 123_456_000, ZoneOffset.UTC);
+        for (int i = 0; i < ROWS; i++) {
+            var d = new TransactionDto(1000L + i % 3, i % 2 == 0 ? "DEPOSIT" : "WITHDRAW",
+                    new BigDecimal("1234.56").add(BigDecimal.valueOf(i, 2)), "Invoice INV-2024/" + i);
+            d.setCreatedAt(t0.plusMinutes(i));
+            list.add(d);
+        }
+        return list;
+    }
+
+    private static int gzipSize(byte[] bytes) throws IOException {
+        var out = new ByteArrayOutputStream();
+        try (var gz = new GZIPOutputStream(out)) { gz.write(bytes); }
+        return out.size();
+    }
+
+    @Test
+    void cbor_is_smaller_and_round_trips() throws Exception {
+        byte[] j = json.writeValueAsBytes(rows());
+        byte[] c = cbor.writeValueAsBytes(rows());
+
+        // 100 rows: json ~14.1 kB, cbor ~10.1 kB; gzipped (server.compression) both ~1-1.5 kB, json the smaller
+        assertThat(c.length).isLessThan(j.length * 3 / 4);
+        assertThat(gzipSize(j)).isLessThan(j.length / 5);
+        assertThat(gzipSize(c)).isLessThan(c.length / 5);
+
+        TransactionDto[] back = cbor.readValue(c, TransactionDto[].class);
+        assertThat(back).hasSize(ROWS);
+        assertThat(back[7].getAmount()).isEqualByComparingTo("1234.63");
+        assertThat(back[7].getCreatedAt().toInstant()).isEqualTo(rows().get(7).getCreatedAt().toInstant());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "bench", matches = "true")
+    void encode_decode_timings() throws Exception {
+        List<TransactionDto> data = rows();
+        for (ObjectMapper m : List.of(json, cbor)) {
+            String name = m == json ? "json" : "cbor";
+            byte[] bytes = m.writeValueAsBytes(data);
+            assertThat(m.readValue(bytes, TransactionDto[].class)).hasSize(ROWS);
+            int warmup = 20_000, iters = 50_000;
+            for (int i = 0; i < warmup; i++) m.readValue(m.writeValueAsBytes(data), TransactionDto[].class);
+
+            long t = System.nanoTime();
+            for (int i = 0; i < iters; i++) m.writeValueAsBytes(data);
+            long enc = (System.nanoTime() - t) / iters;
+
+            t = System.nanoTime();
+            for (int i = 0; i < iters; i++) m.readValue(bytes, TransactionDto[].class);
+            long dec = (System.nanoTime() - t) / iters;
+
+            System.out.printf("%s: encode %d us, decode %d us per 100 rows%n", name, enc / 1000, dec / 1000);
+        }
+    }
+}
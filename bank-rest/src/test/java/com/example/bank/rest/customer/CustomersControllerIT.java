@@ -14,6 +14,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.UUID;
 
+import static com.example.bank.rest.db.SqlStatements.assertStatements;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -127,4 +128,49 @@ class CustomersControllerIT {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("customer not found"));
     }
+
+    @Test
+    void query_counts_per_endpoint() throws Exception {
+        saveCustomers("q", 3);
+        String email = "qc+" + UUID.randomUUID() + "@example.com";
+
+        // pinned counts: a change here means a new query per request, look before updating the number
+        // email check + insert
+        assertStatements(2, () -> mvc.perform(post("/api/customers")
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Q\",\"lastName\":\"C\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isCreated()));
+        Long id = repo.findByEmail(email).orElseThrow().getId();
+
+        assertStatements(1, () -> mvc.perform(get("/api/customers/{id}", id)).andExpect(status().isOk()));
+        assertStatements(2, () -> mvc.perform(put("/api/customers/{id}", id)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Q\",\"lastName\":\"New\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk()));
+
+        // list and search: one query with 4 customers and with 14; search adds the count query only
+        // once the first page is full (Spring Data skips it when the page tells the total)
+        assertStatements(1, () -> mvc.perform(get("/api/customers")).andExpect(status().isOk()));
+        assertStatements(1, () -> mvc.perform(get("/api/customers/search").param("q", "count")).andExpect(status().isOk()));
+        saveCustomers("r", 10);
+        assertStatements(1, () -> mvc.perform(get("/api/customers")).andExpect(status().isOk()));
+        assertStatements(2, () -> mvc.perform(get("/api/customers/search").param("q", "count")).andExpect(status().isOk()));
+
+        // exists + load + delete
+        assertStatements(3, () -> mvc.perform(delete("/api/customers/{id}", id)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth()))
+                .andExpect(status().isNoContent()));
+    }
+
+    private void saveCustomers(String prefix, int n) {
+        for (int i = 0; i < n; i++) {
+            var c = new CustomerEntity();
+            c.setFirstName(prefix + i);
+            c.setLastName("Count");
+            c.setEmail(prefix + i + "+" + UUID.randomUUID() + "@example.com");
+            repo.save(c);
+        }
+    }
 }
@@ -0,0 +1,115 @@
+package com.example.bank.rest.dashboard;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.account.AccountRepository;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.transaction.TransactionEntity;
+import com.example.bank.rest.transaction.TransactionRepository;
+import com.example.bank.rest.transaction.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** Full-stack IT for GET /api/customers/{cid}/dashboard. */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class DashboardControllerIT {
+
+    @Autowired MockMvc mvc;
+    @Autowired CustomerRepository customerRepo;
+    @Autowired AccountRepository accountRepo;
+    @Autowired TransactionRepository trxRepo;
+
+    private long cid;
+    private AccountEntity pln;
+    private AccountEntity usd;
+
+    // Clean DB (FK order) and seed: 1 customer, 2 accounts, 3 transactions
+    @BeforeEach
+    void seed() {
+        trxRepo.deleteAll();
+        accountRepo.deleteAll();
+        customerRepo.deleteAll();
+
+        var c = new CustomerEntity();
+        c.setFirstName("Dash");
+        c.setLastName("Board");
+        c.setEmail("dash+" + UUID.randomUUID() + "@x");
+        cid = customerRepo.save(c).getId();
+
+        pln = makeAccount("PLN");
+        usd = makeAccount("USD");
+
+        makeTrx(pln, TransactionType.DEPOSIT, "10.00", Instant.parse("2024-01-01T10:00:00Z"));
+        makeTrx(pln, TransactionType.WITHDRAW, "3.00", Instant.parse("2024-01-02T10:00:00Z"));
+        makeTrx(usd, TransactionType.DEPOSIT, "7.00", Instant.parse("2024-01-03T10:00:00Z"));
+    }
+
+    private AccountEntity makeAccount(String currency) {
+        var a = new AccountEntity();
+        a.setCustomerId(cid);
+        a.setNumber(currency + "-" + UUID.randomUUID());
+        a.setCurrency(currency);
+        a.setBalance(new BigDecimal("100.00"));
+        return accountRepo.save(a);
+    }
+
+    private void makeTrx(AccountEntity a, TransactionType type, String amount, Instant at) {
+        var t = new TransactionEntity();
+        t.setAccount(a);
+        t.setType(type);
+        t.setAmount(new BigDecimal(amount));
+        t.setCreatedAt(at);
+        trxRepo.save(t);
+    }
+
+    @Test
+    void dashboard_for_one_account() throws Exception {
+        mvc.perform(get("/api/customers/{cid}/dashboard", cid)
+                        .param("account", String.valueOf(pln.getId()))
+                        .param("trx", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customer.id").value((int) cid))
+                .andExpect(jsonPath("$.accounts", hasSize(2)))
+                .andExpect(jsonPath("$.accountId").value(pln.getId().intValue()))
+                .andExpect(jsonPath("$.transactions", hasSize(2)))
+                .andExpect(jsonPath("$.transactions[0].type").value("WITHDRAW")); // newest first
+    }
+
+    @Test
+    void dashboard_all_accounts_respects_trx_limit() throws Exception {
+        mvc.perform(get("/api/customers/{cid}/dashboard", cid).param("trx", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountId").doesNotExist())
+                .andExpect(jsonPath("$.transactions", hasSize(2)))
+                .andExpect(jsonPath("$.transactions[0].accountId").value(usd.getId().intValue()));
+    }
+
+    @Test
+    void dashboard_foreign_account_404() throws Exception {
+        mvc.perform(get("/api/customers/{cid}/dashboard", cid).param("account", "9999999"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("account not found"));
+    }
+
+    @Test
+    void dashboard_unknown_customer_404() throws Exception {
+        mvc.perform(get("/api/customers/{cid}/dashboard", 9_999_999))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("customer not found"));
+    }
+}
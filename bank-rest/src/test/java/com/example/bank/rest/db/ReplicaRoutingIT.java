@@ -0,0 +1,113 @@
+package com.example.bank.rest.db;
+
+import com.example.bank.rest.customer.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Routing IT with two H2 instances: "primary" (schema by JPA) and "replica" (tiny schema made here).
+ * No real replication: the replica holds a customer the primary doesn't have, so every
+ * response shows which database served it. Lag is simulated via the replica's heartbeat row.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bank_rw_primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.open-in-view=false",
+        "bank.db.routing.enabled=true",
+        "bank.db.replicas[0].url=" + ReplicaRoutingIT.REPLICA_URL,
+        "bank.db.replicas[0].username=sa",
+        "bank.db.heartbeat-ms=3600000",   // the test drives refresh() itself
+        "bank.db.max-lag-ms=3000"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingIT {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:bank_rw_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired MockMvc mvc;
+    @Autowired CustomerRepository customerRepo;
+    @Autowired ReplicaSet replicaSet;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private static String basicAuth() {
+        return "Basic " + Base64.getEncoder().encodeToString("api:secret".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @BeforeEach
+    void setUp() {
+        customerRepo.deleteAll();
+        replica.execute("CREATE TABLE IF NOT EXISTS customers (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "name VARCHAR(255) NOT NULL, last_name VARCHAR(255), email VARCHAR(255) NOT NULL UNIQUE)");
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_ms BIGINT NOT NULL)");
+        replica.update("DELETE FROM customers");
+        replica.update("INSERT INTO customers (name, email) VALUES ('ReplicaOnly', 'replica@x')");
+    }
+
+    private void replicaLag(long lagMs) {
+        replica.update("DELETE FROM replica_heartbeat");
+        replica.update("INSERT INTO replica_heartbeat (id, beat_ms) VALUES (1, ?)", System.currentTimeMillis() - lagMs);
+        replicaSet.refresh();
+    }
+
+    @Test
+    void read_only_goes_to_fresh_replica_and_falls_back_when_lagging() throws Exception {
+        replicaLag(0);
+        mvc.perform(get("/api/customers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].firstName", hasItem("ReplicaOnly")));
+
+        // too far behind → primary
+        replicaLag(60_000);
+        assertThat(replicaSet.pick()).isNull();
+        mvc.perform(get("/api/customers"))
+                .andExpect(jsonPath("$[*].firstName", not(hasItem("ReplicaOnly"))));
+
+        // unreachable / no heartbeat → primary
+        replica.update("DELETE FROM replica_heartbeat");
+        replicaSet.refresh();
+        assertThat(replicaSet.lag()).isEmpty();
+        mvc.perform(get("/api/customers"))
+                .andExpect(jsonPath("$[*].firstName", not(hasItem("ReplicaOnly"))));
+    }
+
+    @Test
+    void writer_session_reads_its_write_from_primary_others_use_replica() throws Exception {
+        replicaLag(0);
+
+        mvc.perform(post("/api/customers")
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .header(ReadYourWrites.HEADER, "s1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Written\",\"lastName\":\"Now\",\"email\":\"w@x\"}"))
+                .andExpect(status().isCreated());
+
+        // same session → primary (sees its write)
+        mvc.perform(get("/api/customers").header(ReadYourWrites.HEADER, "s1"))
+                .andExpect(jsonPath("$[*].firstName", hasItem("Written")))
+                .andExpect(jsonPath("$[*].firstName", not(hasItem("ReplicaOnly"))));
+
+        // another session → replica
+        mvc.perform(get("/api/customers").header(ReadYourWrites.HEADER, "s2"))
+                .andExpect(jsonPath("$[*].firstName", hasItem("ReplicaOnly")));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.bank.rest.db;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.account.AccountRepository;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.transaction.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** Server-Timing breakdown and the slow-query log (threshold 0 here, so every statement is "slow"). */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"bank.db.slow-query-ms=0", "bank.db.stats.server-timing=true"})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class RequestDbStatsIT {
+
+    private static final String TIMING =
+            "db;dur=[\\d.]+;desc=\"%d queries\", app;dur=[\\d.]+, serialization;dur=[\\d.]+, total;dur=[\\d.]+";
+
+    @Autowired MockMvc mvc;
+    @Autowired AccountRepository accountRepo;
+    @Autowired TransactionRepository trxRepo;
+    @Autowired CustomerRepository customerRepo;
+
+    private static String basicAuth() {
+        return "Basic " + Base64.getEncoder().encodeToString("api:secret".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        trxRepo.deleteAll();
+        accountRepo.deleteAll();
+        customerRepo.deleteAll();
+    }
+
+    private AccountEntity makeAccount() {
+        var c = new CustomerEntity();
+        c.setFirstName("T");
+        c.setLastName("User");
+        c.setEmail("private.person@example.org");
+        long cid = customerRepo.save(c).getId();
+        var a = new AccountEntity();
+        a.setCustomerId(cid);
+        a.setNumber("ST-1");
+        a.setCurrency("PLN");
+        a.setBalance(new BigDecimal("10.00"));
+        return accountRepo.save(a);
+    }
+
+    @Test
+    void server_timing_on_reads_and_writes() throws Exception {
+        var a = makeAccount();
+
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/deposit", a.getCustomerId(), a.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":15.00,\"description\":\"topup\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("DEPOSIT"))  // body survives the buffering
+                .andExpect(header().string("Server-Timing", matchesPattern(TIMING.formatted(6))));
+
+        mvc.perform(get("/api/accounts/{id}", a.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", matchesPattern(TIMING.formatted(2))));
+
+        // errors go through the same path
+        mvc.perform(get("/api/accounts/{id}", a.getId() + 1000))
+                .andExpect(status().isNotFound())
+                .andExpect(header().exists("Server-Timing"));
+    }
+
+    @Test
+    void slow_query_log_has_request_shape_and_no_values(CapturedOutput out) throws Exception {
+        var a = makeAccount();
+
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/deposit", a.getCustomerId(), a.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":987.65,\"description\":\"secret-note\"}"))
+                .andExpect(status().isOk());
+
+        String log = out.getOut();
+        assertThat(log).contains("POST /api/customers/{customerId}/accounts/{accountId}/deposit");
+        assertThat(log).containsPattern("insert into account_transactions .*params \\[[a-z, ]*decimal");
+        assertThat(log).doesNotContain("987.65", "secret-note", "private.person",
+                "/api/customers/" + a.getCustomerId() + "/");
+    }
+
+    @Test
+    void normalize_hides_literals_and_folds_in_lists() {
+        assertThat(SlowQueryLog.normalize("select a1_0.id  from accounts a1_0\n where a1_0.id in (?, ?, ?) and a1_0.number = 'X-1' and a1_0.balance > -10.50"))
+                .isEqualTo("select a1_0.id from accounts a1_0 where a1_0.id in (?, ...) and a1_0.number = ? and a1_0.balance > ?");
+        assertThat(SlowQueryLog.normalize("select * from t where name = 'O''Brien' limit 20"))
+                .isEqualTo("select * from t where name = ? limit ?");
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.bank.rest.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins how many SQL statements a piece of work runs (QueryCounter, on in the test profile).
+ * A lazy association walked per row shows up here as a count that grows with the data.
+ */
+public final class SqlStatements {
+
+    public interface Work { void run() throws Exception; }
+
+    private SqlStatements() { }
+
+    public static long count(Work work) throws Exception {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            work.run();
+            return scope.count();
+        }
+    }
+
+    public static void assertStatements(long expected, Work work) throws Exception {
+        assertThat(count(work)).as("SQL statements").isEqualTo(expected);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.bank.rest.metrics;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.account.AccountRepository;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.search.TransactionTermRepository;
+import com.example.bank.rest.transaction.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Service timers (operation + outcome) and money volume as scraped from /actuator/prometheus. */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false) // metrics export is off in tests unless asked for
+class ServiceMetricsIT {
+
+    @Autowired MockMvc mvc;
+    @Autowired CustomerRepository customerRepo;
+    @Autowired AccountRepository accountRepo;
+    @Autowired TransactionRepository trxRepo;
+    @Autowired TransactionTermRepository termRepo;
+
+    private long cid;
+    private long aid;
+
+    @BeforeEach
+    void seed() {
+        termRepo.deleteAll();
+        trxRepo.deleteAll();
+        accountRepo.deleteAll();
+        customerRepo.deleteAll();
+
+        var c = new CustomerEntity();
+        c.setFirstName("Met");
+        c.setLastName("Rics");
+        c.setEmail("metrics+" + UUID.randomUUID() + "@x");
+        cid = customerRepo.save(c).getId();
+
+        var a = new AccountEntity();
+        a.setCustomerId(cid);
+        a.setNumber("MX-" + UUID.randomUUID());
+        a.setCurrency("CHF");
+        a.setBalance(new BigDecimal("10.00"));
+        aid = accountRepo.save(a).getId();
+    }
+
+    private static String basicAuth() {
+        return "Basic " + Base64.getEncoder().encodeToString("api:secret".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void outcomes_and_volume_are_scraped() throws Exception {
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/deposit", cid, aid)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":2.50}"))
+                .andExpect(status().isOk());
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/withdraw", cid, aid)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":999}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/customers/{cid}/accounts/{aid}", cid, 9_999_999))
+                .andExpect(status().isNotFound());
+
+        mvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, basicAuth()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "bank_service_seconds_count{application=\"bank-rest\",operation=\"account.deposit\",outcome=\"ok\"} 1")))
+                .andExpect(content().string(containsString(
+                        "operation=\"account.withdraw\",outcome=\"insufficient_funds\"} 1")))
+                .andExpect(content().string(containsString(
+                        "operation=\"account.getByCustomer\",outcome=\"not_found\"} 1")))
+                .andExpect(content().string(containsString("bank_service_seconds_bucket{")))
+                .andExpect(content().string(containsString(
+                        "bank_money_volume_total{application=\"bank-rest\",currency=\"CHF\",type=\"deposit\"} 2.5")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+
+    @Test
+    void prometheus_needs_auth() throws Exception {
+        mvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+    }
+}
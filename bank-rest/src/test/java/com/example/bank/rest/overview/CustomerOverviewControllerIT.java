@@ -0,0 +1,103 @@
+package com.example.bank.rest.overview;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.account.AccountRepository;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.search.TransactionTermRepository;
+import com.example.bank.rest.transaction.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** Full-stack IT for GET /api/customers/overview. */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class CustomerOverviewControllerIT {
+
+    @Autowired MockMvc mvc;
+    @Autowired CustomerRepository customerRepo;
+    @Autowired AccountRepository accountRepo;
+    @Autowired TransactionRepository trxRepo;
+    @Autowired TransactionTermRepository termRepo;
+
+    private long ann;
+    private long bob;
+    private long cid; // no accounts
+
+    // Clean DB (FK order) and seed: Ann 2×PLN + 1×USD, Bob 1×EUR, Cid none
+    @BeforeEach
+    void seed() {
+        termRepo.deleteAll();
+        trxRepo.deleteAll();
+        accountRepo.deleteAll();
+        customerRepo.deleteAll();
+
+        ann = makeCustomer("Ann");
+        bob = makeCustomer("Bob");
+        cid = makeCustomer("Cid");
+        makeAccount(ann, "PLN", "10.50");
+        makeAccount(ann, "PLN", "4.50");
+        makeAccount(ann, "USD", "7.00");
+        makeAccount(bob, "EUR", "1.00");
+    }
+
+    private long makeCustomer(String name) {
+        var c = new CustomerEntity();
+        c.setFirstName(name);
+        c.setLastName("Test");
+        c.setEmail(name + "+" + UUID.randomUUID() + "@x");
+        return customerRepo.save(c).getId();
+    }
+
+    private void makeAccount(long customerId, String currency, String balance) {
+        var a = new AccountEntity();
+        a.setCustomerId(customerId);
+        a.setNumber("OV-" + UUID.randomUUID());
+        a.setCurrency(currency);
+        a.setBalance(new BigDecimal(balance));
+        accountRepo.save(a);
+    }
+
+    @Test
+    void counts_and_totals_per_currency() throws Exception {
+        mvc.perform(get("/api/customers/overview"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].id").value(ann))
+                .andExpect(jsonPath("$[0].firstName").value("Ann"))
+                .andExpect(jsonPath("$[0].accountCount").value(3))
+                .andExpect(jsonPath("$[0].balances[*].currency", contains("PLN", "USD")))
+                .andExpect(jsonPath("$[0].balances[0].total").value(15.00))
+                .andExpect(jsonPath("$[1].id").value(bob))
+                .andExpect(jsonPath("$[1].accountCount").value(1))
+                .andExpect(jsonPath("$[2].id").value(cid))
+                .andExpect(jsonPath("$[2].accountCount").value(0))
+                .andExpect(jsonPath("$[2].balances", hasSize(0)));
+    }
+
+    @Test
+    void pages_by_customer_not_by_row() throws Exception {
+        // Ann has 2 currency rows, still one customer of the page
+        mvc.perform(get("/api/customers/overview").param("page", "0").param("size", "1"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(ann));
+        mvc.perform(get("/api/customers/overview").param("page", "1").param("size", "2"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(cid));
+        mvc.perform(get("/api/customers/overview").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.bank.rest.search;
+
+import com.example.bank.rest.account.AccountEntity;
+import com.example.bank.rest.account.AccountRepository;
+import com.example.bank.rest.customer.CustomerEntity;
+import com.example.bank.rest.customer.CustomerRepository;
+import com.example.bank.rest.transaction.BackfillMarkRepository;
+import com.example.bank.rest.transaction.TransactionEntity;
+import com.example.bank.rest.transaction.TransactionRepository;
+import com.example.bank.rest.transaction.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** Full-stack IT: money ops index descriptions, /transactions/search reads the index. */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionSearchControllerIT {
+
+    @Autowired MockMvc mvc;
+    @Autowired CustomerRepository customerRepo;
+    @Autowired AccountRepository accountRepo;
+    @Autowired TransactionRepository trxRepo;
+    @Autowired TransactionTermRepository termRepo;
+    @Autowired TransactionSearchService searchService;
+    @Autowired BackfillMarkRepository marks;
+
+    private static String basicAuth() {
+        return "Basic " + Base64.getEncoder().encodeToString("api:secret".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        termRepo.deleteAll();
+        trxRepo.deleteAll();
+        accountRepo.deleteAll();
+        customerRepo.deleteAll();
+    }
+
+    private long makeCustomer() {
+        var c = new CustomerEntity();
+        c.setFirstName("S");
+        c.setEmail("search+" + UUID.randomUUID() + "@x");
+        return customerRepo.save(c).getId();
+    }
+
+    private AccountEntity makeAccount(long cid, String balance) {
+        var a = new AccountEntity();
+        a.setCustomerId(cid);
+        a.setNumber("S-" + UUID.randomUUID());
+        a.setCurrency("PLN");
+        a.setBalance(new BigDecimal(balance));
+        return accountRepo.save(a);
+    }
+
+    private void deposit(long cid, long aid, String description) throws Exception {
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/deposit", cid, aid)
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":1.00,\"description\":\"" + description + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void search_matches_all_words_case_insensitive_and_pages() throws Exception {
+        long cid = makeCustomer();
+        var a = makeAccount(cid, "0.00");
+        deposit(cid, a.getId(), "Refund INV-2024/17");
+        deposit(cid, a.getId(), "refund for INV-2024/18");
+        deposit(cid, a.getId(), "salary");
+
+        mvc.perform(get("/api/customers/{cid}/transactions/search", cid).param("q", "REFUND"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].description").value("refund for INV-2024/18"));
+
+        // all words must match
+        mvc.perform(get("/api/customers/{cid}/transactions/search", cid).param("q", "refund 17"))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.items[0].description").value("Refund INV-2024/17"));
+
+        // second page of size 1
+        mvc.perform(get("/api/customers/{cid}/transactions/search", cid)
+                        .param("q", "inv 2024").param("page", "1").param("size", "1"))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].description").value("Refund INV-2024/17"));
+    }
+
+    @Test
+    void search_is_scoped_to_customer_and_cleaned_on_account_delete() throws Exception {
+        long c1 = makeCustomer();
+        long c2 = makeCustomer();
+        var a1 = makeAccount(c1, "0.00");
+        var a2 = makeAccount(c2, "0.00");
+        deposit(c1, a1.getId(), "refund");
+        deposit(c2, a2.getId(), "refund");
+
+        mvc.perform(get("/api/customers/{cid}/transactions/search", c1).param("q", "refund"))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.items[0].accountId").value(a1.getId()));
+
+        // withdraw to zero, then delete → postings are gone with the history
+        mvc.perform(post("/api/customers/{cid}/accounts/{aid}/withdraw", c1, a1.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":1.00}"))
+                .andExpect(status().isOk());
+        mvc.perform(delete("/api/customers/{cid}/accounts/{aid}", c1, a1.getId())
+                        .header(HttpHeaders.AUTHORIZATION, basicAuth()))
+                .andExpect(status().is2xxSuccessful());
+
+        mvc.perform(get("/api/customers/{cid}/transactions/search", c1).param("q", "refund"))
+                .andExpect(jsonPath("$.total").value(0));
+        assertEquals(1, termRepo.count());
+    }
+
+    @Test
+    void backfill_indexes_existing_history() throws Exception {
+        long cid = makeCustomer();
+        var a = makeAccount(cid, "0.00");
+        // raw history written without the service (as before the index existed)
+        var t = new TransactionEntity();
+        t.setAccount(a);
+        t.setType(TransactionType.DEPOSIT);
+        t.setAmount(new BigDecimal("3.00"));
+        t.setDescription("Invoice 555");
+        trxRepo.save(t);
+        // indexed live, inside the range the backfill covers: skipped, not a unique-key error
+        deposit(cid, a.getId(), "Invoice 777");
+
+        // as on the first start with the index: no marker yet, history up to now is "before"
+        marks.deleteById(TransactionSearchService.BACKFILL_NAME);
+        searchService.afterSingletonsInstantiated();
+        searchService.afterSingletonsInstantiated(); // restart: marker says done
+
+        mvc.perform(get("/api/customers/{cid}/transactions/search", cid).param("q", "invoice 555"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1));
+        mvc.perform(get("/api/customers/{cid}/transactions/search", cid).param("q", "invoice"))
+                .andExpect(jsonPath("$.total").value(2));
+        assertThat(termRepo.count()).isEqualTo(4);
+    }
+
+    @Test
+    void search_validation_400_and_unknown_customer_404() throws Exception {
+        long cid = makeCustomer();
+
+        mvc.perform(get("/api/customers/{cid}/transactions/search", cid).param("q", " - / "))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/customers/{cid}/transactions/search", cid).param("q", "x").param("size", "1000"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/customers/{cid}/transactions/search", cid + 1000).param("q", "refund"))
+                .andExpect(status().isNotFound());
+    }
+}